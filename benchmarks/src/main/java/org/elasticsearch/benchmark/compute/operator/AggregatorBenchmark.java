@@ -37,6 +37,7 @@ import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.AggregationOperator;
 import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.HashAggregationOperator;
+import org.elasticsearch.compute.operator.MultiKeyOrdinalsGroupingOperator;
 import org.elasticsearch.compute.operator.Operator;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -76,6 +77,13 @@ public class AggregatorBenchmark {
     private static final String TWO_LONGS = "two_" + LONGS;
     private static final String LONGS_AND_BYTES_REFS = LONGS + "_and_" + BYTES_REFS;
     private static final String TWO_LONGS_AND_BYTES_REFS = "two_" + LONGS + "_and_" + BYTES_REFS;
+    private static final String TWO_BYTES_REFS = "two_" + BYTES_REFS;
+    /**
+     * Groups on the segment ordinals of two {@code keyword} fields like
+     * {@link MultiKeyOrdinalsGroupingOperator} does. Compare with {@link #TWO_BYTES_REFS}
+     * which hashes the values of the same fields.
+     */
+    private static final String TWO_ORDINALS = "two_ordinals";
 
     private static final String VECTOR_DOUBLES = "vector_doubles";
     private static final String HALF_NULL_DOUBLES = "half_null_doubles";
@@ -107,7 +115,21 @@ public class AggregatorBenchmark {
         }
     }
 
-    @Param({ NONE, LONGS, INTS, DOUBLES, BOOLEANS, BYTES_REFS, TWO_LONGS, LONGS_AND_BYTES_REFS, TWO_LONGS_AND_BYTES_REFS })
+    @Param(
+        {
+            NONE,
+            LONGS,
+            INTS,
+            DOUBLES,
+            BOOLEANS,
+            BYTES_REFS,
+            TWO_LONGS,
+            LONGS_AND_BYTES_REFS,
+            TWO_LONGS_AND_BYTES_REFS,
+            TWO_BYTES_REFS,
+            TWO_ORDINALS
+        }
+    )
     public String grouping;
 
     @Param({ COUNT, COUNT_DISTINCT, MIN, MAX, SUM })
@@ -143,6 +165,14 @@ public class AggregatorBenchmark {
                 new HashAggregationOperator.GroupSpec(1, ElementType.LONG),
                 new HashAggregationOperator.GroupSpec(2, ElementType.BYTES_REF)
             );
+            case TWO_BYTES_REFS -> List.of(
+                new HashAggregationOperator.GroupSpec(0, ElementType.BYTES_REF),
+                new HashAggregationOperator.GroupSpec(1, ElementType.BYTES_REF)
+            );
+            case TWO_ORDINALS -> List.of(
+                new HashAggregationOperator.GroupSpec(0, ElementType.INT),
+                new HashAggregationOperator.GroupSpec(1, ElementType.INT)
+            );
             default -> throw new IllegalArgumentException("unsupported grouping [" + grouping + "]");
         };
         return new HashAggregationOperator(
@@ -203,6 +233,14 @@ public class AggregatorBenchmark {
                 checkGroupingBlock(prefix, LONGS, page.getBlock(1));
                 checkGroupingBlock(prefix, BYTES_REFS, page.getBlock(2));
             }
+            case TWO_BYTES_REFS -> {
+                checkGroupingBlock(prefix, BYTES_REFS, page.getBlock(0));
+                checkGroupingBlock(prefix, BYTES_REFS, page.getBlock(1));
+            }
+            case TWO_ORDINALS -> {
+                checkGroupingBlock(prefix, INTS, page.getBlock(0));
+                checkGroupingBlock(prefix, INTS, page.getBlock(1));
+            }
             default -> checkGroupingBlock(prefix, grouping, page.getBlock(0));
         }
         Block values = page.getBlock(page.getBlockCount() - 1);
@@ -490,6 +528,8 @@ public class AggregatorBenchmark {
                 groupingBlock(LONGS, blockType),
                 groupingBlock(BYTES_REFS, blockType)
             );
+            case TWO_BYTES_REFS -> List.of(groupingBlock(BYTES_REFS, blockType), groupingBlock(BYTES_REFS, blockType));
+            case TWO_ORDINALS -> List.of(groupingBlock(INTS, blockType), groupingBlock(INTS, blockType));
             default -> List.of(groupingBlock(grouping, blockType));
         };
     }
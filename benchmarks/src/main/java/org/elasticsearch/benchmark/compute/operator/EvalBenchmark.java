@@ -57,7 +57,8 @@ import java.util.concurrent.TimeUnit;
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 @State(Scope.Thread)
-@Fork(1)
+// Like the default jvm.options so the evaluators can use SimdOperations. Drop it to compare with the scalar path.
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
 public class EvalBenchmark {
     private static final int BLOCK_LENGTH = 8 * 1024;
 
@@ -103,7 +103,12 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            // large clusters, 100k+ shard copies
+            "    10000|      5|        1|   100",
+            "    50000|      1|        1|   100",
+            "     5000|     10|        1|   200" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.search.aggregations;
+
+import org.apache.lucene.util.hppc.BitMixer;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.search.aggregations.metrics.AbstractHyperLogLogPlusPlus;
+import org.elasticsearch.search.aggregations.metrics.HyperLogLogPlusPlus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the collect and reduce paths of {@link HyperLogLogPlusPlus}
+ * when many buckets have been upgraded to HyperLogLog, like the
+ * {@code cardinality} aggregation under a fine grained {@code date_histogram}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class HyperLogLogPlusPlusBenchmark {
+    private static final BigArrays BIG_ARRAYS = BigArrays.NON_RECYCLING_INSTANCE;
+
+    @Param({ "14" })
+    private int precision;
+
+    @Param({ "100" })
+    private int buckets;
+
+    @Param({ "1000000" })
+    private int hashes;
+
+    private long[] hashValues;
+    private long[] bucketOrds;
+    private HyperLogLogPlusPlus shard;
+    private BytesStreamOutput serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(0);
+        hashValues = new long[hashes];
+        bucketOrds = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            hashValues[i] = BitMixer.mix64(random.nextLong());
+            bucketOrds[i] = random.nextInt(buckets);
+        }
+        shard = new HyperLogLogPlusPlus(precision, BIG_ARRAYS, buckets);
+        for (int i = 0; i < hashes; i++) {
+            shard.collect(bucketOrds[i], hashValues[i]);
+        }
+        serialized = new BytesStreamOutput();
+        for (long b = 0; b < buckets; b++) {
+            shard.writeTo(b, serialized);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        shard.close();
+        serialized.close();
+    }
+
+    @Benchmark
+    public long collect() {
+        try (HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(precision, BIG_ARRAYS, buckets)) {
+            for (int i = 0; i < hashes; i++) {
+                counts.collect(bucketOrds[i], hashValues[i]);
+            }
+            return counts.cardinality(0);
+        }
+    }
+
+    /**
+     * Merge every bucket into a single bucket, the way reducing the
+     * {@code cardinality} results of many shards does.
+     */
+    @Benchmark
+    public long merge() {
+        try (HyperLogLogPlusPlus reduced = new HyperLogLogPlusPlus(precision, BIG_ARRAYS, 1)) {
+            for (long b = 0; b < buckets; b++) {
+                reduced.merge(0, shard, b);
+            }
+            return reduced.cardinality(0);
+        }
+    }
+
+    @Benchmark
+    public void serialize(Blackhole bh) throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            for (long b = 0; b < buckets; b++) {
+                shard.writeTo(b, out);
+            }
+            bh.consume(out.size());
+        }
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole bh) throws IOException {
+        try (StreamInput in = serialized.bytes().streamInput()) {
+            for (long b = 0; b < buckets; b++) {
+                try (AbstractHyperLogLogPlusPlus counts = AbstractHyperLogLogPlusPlus.readFrom(in, BIG_ARRAYS)) {
+                    bh.consume(counts.cardinality(0));
+                }
+            }
+        }
+    }
+}
@@ -98,8 +98,9 @@ public class GlobalCheckpointSyncIT extends ESIntegTestCase {
                         .addSendBehavior(
                             MockTransportService.getInstance(other.getName()),
                             (connection, requestId, action, request, options) -> {
-                                if ("indices:admin/seq_no/global_checkpoint_sync[r]".equals(action)) {
-                                    throw new IllegalStateException("blocking indices:admin/seq_no/global_checkpoint_sync[r]");
+                                // replica requests may be sent on their own or in a batch with the other shards on the same node
+                                if (action.startsWith("indices:admin/seq_no/global_checkpoint_sync[r]")) {
+                                    throw new IllegalStateException("blocking " + action);
                                 } else {
                                     connection.sendRequest(requestId, action, request, options);
                                 }
@@ -80,6 +80,7 @@ public class AggregationProfilerIT extends ESIntegTestCase {
     private static final String HAS_FILTER = "has_filter";
     private static final String SEGMENTS_WITH_SINGLE = "segments_with_single_valued_ords";
     private static final String SEGMENTS_WITH_MULTI = "segments_with_multi_valued_ords";
+    private static final String SEGMENTS_COUNTED_FROM_TERMS_DICTIONARY = "segments_counted_from_terms_dictionary";
 
     private static final String NUMBER_FIELD = "number";
     private static final String TAG_FIELD = "tag";
@@ -235,7 +236,8 @@ public class AggregationProfilerIT extends ESIntegTestCase {
             .entry(RESULT_STRAT, "terms")
             .entry(HAS_FILTER, false)
             .entry(SEGMENTS_WITH_SINGLE, greaterThan(0))
-            .entry(SEGMENTS_WITH_MULTI, 0);
+            .entry(SEGMENTS_WITH_MULTI, 0)
+            .entry(SEGMENTS_COUNTED_FROM_TERMS_DICTIONARY, 0);
         if (deferredAggregators.length > 0) {
             matcher = matcher.entry(DEFERRED, List.of(deferredAggregators));
         }
@@ -163,6 +163,12 @@ public class TransportVersions {
     public static final TransportVersion DEPRECATED_COMPONENT_TEMPLATES_ADDED = def(8_532_00_0);
     public static final TransportVersion UPDATE_NON_DYNAMIC_SETTINGS_ADDED = def(8_533_00_0);
     public static final TransportVersion REPO_ANALYSIS_REGISTER_OP_COUNT_ADDED = def(8_534_00_0);
+    public static final TransportVersion ESQL_ASYNC_QUERY = def(8_535_00_0);
+    public static final TransportVersion ESQL_ZERO_COPY_VECTORS = def(8_536_00_0);
+    public static final TransportVersion CLUSTER_STATE_SERIALIZATION_TIME = def(8_537_00_0);
+    public static final TransportVersion BATCHED_REPLICA_REQUESTS = def(8_538_00_0);
+    public static final TransportVersion TRANSPORT_COMPRESSION_STATS = def(8_539_00_0);
+    public static final TransportVersion ESQL_CLUSTER_COMPUTE = def(8_540_00_0);
     /*
      * STOP! READ THIS FIRST! No, really,
      *        ____ _____ ___  ____  _        ____  _____    _    ____    _____ _   _ ___ ____    _____ ___ ____  ____ _____ _
@@ -0,0 +1,254 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.support.replication;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.ContextPreservingActionListener;
+import org.elasticsearch.action.support.replication.TransportReplicationAction.ConcreteReplicaRequest;
+import org.elasticsearch.action.support.replication.TransportReplicationAction.ReplicaResponse;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.RemoteTransportException;
+import org.elasticsearch.transport.TransportException;
+import org.elasticsearch.transport.TransportRequest;
+import org.elasticsearch.transport.TransportRequestOptions;
+import org.elasticsearch.transport.TransportResponse;
+import org.elasticsearch.transport.TransportResponseHandler;
+import org.elasticsearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends the replica requests of a {@link TransportReplicationAction} to each node in batches, so that maintenance actions which run
+ * periodically on every shard, such as the global checkpoint sync, send one transport message per node rather than one per shard copy.
+ * <p>
+ * The first request queued for a node forks a flush to the generic pool, and every request queued for that node before the flush runs goes
+ * out in the same batch. A batch never waits for earlier batches to complete, so if one shard's replica operation is blocked, for instance
+ * while its primary is relocating, only the requests which share its batch wait for it. Batches are sent in the system context, so only
+ * actions which already send their replica requests in the system context should use this.
+ */
+final class ReplicaRequestBatcher<R extends TransportRequest> {
+
+    /**
+     * The maximum number of replica requests in a single batch.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final TransportService transportService;
+    private final String action;
+    private final TransportRequestOptions transportOptions;
+    private final Map<String, NodeQueue> queues = ConcurrentCollections.newConcurrentMap();
+
+    ReplicaRequestBatcher(TransportService transportService, String action, TransportRequestOptions transportOptions) {
+        this.transportService = transportService;
+        this.action = action;
+        this.transportOptions = transportOptions;
+    }
+
+    void send(DiscoveryNode node, ConcreteReplicaRequest<R> request, ActionListener<ReplicationOperation.ReplicaResponse> listener) {
+        final ThreadContext threadContext = transportService.getThreadPool().getThreadContext();
+        final Entry<R> entry = new Entry<>(request, ContextPreservingActionListener.wrapPreservingContext(listener, threadContext));
+        queues.computeIfAbsent(node.getEphemeralId(), k -> new NodeQueue(node)).add(entry);
+    }
+
+    private record Entry<R extends TransportRequest>(
+        ConcreteReplicaRequest<R> request,
+        ActionListener<ReplicationOperation.ReplicaResponse> listener
+    ) {}
+
+    private final class NodeQueue {
+        private final DiscoveryNode node;
+        private final ArrayDeque<Entry<R>> pending = new ArrayDeque<>(); // guarded by this
+        private boolean flushScheduled; // guarded by this
+
+        NodeQueue(DiscoveryNode node) {
+            this.node = node;
+        }
+
+        void add(Entry<R> entry) {
+            synchronized (this) {
+                pending.add(entry);
+                if (flushScheduled) {
+                    return;
+                }
+                flushScheduled = true;
+            }
+            transportService.getThreadPool().generic().execute(new AbstractRunnable() {
+                @Override
+                protected void doRun() {
+                    flush();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    failPending(e);
+                }
+            });
+        }
+
+        private void flush() {
+            while (true) {
+                final List<Entry<R>> batch;
+                synchronized (this) {
+                    assert flushScheduled;
+                    if (pending.isEmpty()) {
+                        flushScheduled = false;
+                        // a concurrent send may still find this queue and restart it, which is harmless
+                        queues.remove(node.getEphemeralId(), this);
+                        return;
+                    }
+                    batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+                    while (batch.size() < MAX_BATCH_SIZE && pending.isEmpty() == false) {
+                        batch.add(pending.poll());
+                    }
+                }
+                sendBatch(batch);
+            }
+        }
+
+        private void failPending(Exception e) {
+            final List<Entry<R>> failed;
+            synchronized (this) {
+                failed = new ArrayList<>(pending);
+                pending.clear();
+                flushScheduled = false;
+                queues.remove(node.getEphemeralId(), this);
+            }
+            for (Entry<R> entry : failed) {
+                entry.listener().onFailure(e);
+            }
+        }
+
+        private void sendBatch(List<Entry<R>> batch) {
+            final List<ConcreteReplicaRequest<R>> requests = new ArrayList<>(batch.size());
+            for (Entry<R> entry : batch) {
+                requests.add(entry.request());
+            }
+            final ThreadContext threadContext = transportService.getThreadPool().getThreadContext();
+            try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+                threadContext.markAsSystemContext();
+                transportService.sendRequest(
+                    node,
+                    action,
+                    new BatchRequest<>(requests),
+                    transportOptions,
+                    new TransportResponseHandler<BatchResponse>() {
+                        @Override
+                        public BatchResponse read(StreamInput in) throws IOException {
+                            return new BatchResponse(in);
+                        }
+
+                        @Override
+                        public Executor executor(ThreadPool threadPool) {
+                            return TransportResponseHandler.TRANSPORT_WORKER;
+                        }
+
+                        @Override
+                        public void handleResponse(BatchResponse response) {
+                            assert response.responses().size() == batch.size() : response.responses().size() + " vs " + batch.size();
+                            for (int i = 0; i < batch.size(); i++) {
+                                final Exception failure = response.failures().get(i);
+                                if (failure == null) {
+                                    batch.get(i).listener().onResponse(response.responses().get(i));
+                                } else {
+                                    batch.get(i)
+                                        .listener()
+                                        .onFailure(new RemoteTransportException(node.getName(), node.getAddress(), action, failure));
+                                }
+                            }
+                        }
+
+                        @Override
+                        public void handleException(TransportException exp) {
+                            for (Entry<R> entry : batch) {
+                                entry.listener().onFailure(exp);
+                            }
+                        }
+                    }
+                );
+            }
+        }
+    }
+
+    /**
+     * The replica requests of a single action for shard copies on the same node.
+     */
+    static final class BatchRequest<R extends TransportRequest> extends TransportRequest {
+        private final List<ConcreteReplicaRequest<R>> requests;
+
+        BatchRequest(List<ConcreteReplicaRequest<R>> requests) {
+            this.requests = requests;
+        }
+
+        BatchRequest(Writeable.Reader<R> requestReader, StreamInput in) throws IOException {
+            super(in);
+            this.requests = in.readCollectionAsList(i -> new ConcreteReplicaRequest<>(requestReader, i));
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeCollection(requests);
+        }
+
+        List<ConcreteReplicaRequest<R>> requests() {
+            return requests;
+        }
+
+        @Override
+        public String getDescription() {
+            return "batch of [" + requests.size() + "] replica requests";
+        }
+    }
+
+    /**
+     * The outcome of each request in a {@link BatchRequest}, in the same order: either a response or a failure.
+     */
+    static final class BatchResponse extends TransportResponse {
+        private final List<ReplicaResponse> responses;
+        private final List<Exception> failures;
+
+        BatchResponse(List<ReplicaResponse> responses, List<Exception> failures) {
+            assert responses.size() == failures.size() : responses.size() + " vs " + failures.size();
+            this.responses = responses;
+            this.failures = failures;
+        }
+
+        BatchResponse(StreamInput in) throws IOException {
+            super(in);
+            this.responses = in.readCollectionAsList(i -> i.readOptionalWriteable(ReplicaResponse::new));
+            this.failures = in.readCollectionAsList(StreamInput::readException);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeCollection(responses, StreamOutput::writeOptionalWriteable);
+            out.writeCollection(failures, StreamOutput::writeException);
+        }
+
+        List<ReplicaResponse> responses() {
+            return responses;
+        }
+
+        List<Exception> failures() {
+            return failures;
+        }
+    }
+}
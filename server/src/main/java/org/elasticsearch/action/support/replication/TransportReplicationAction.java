@@ -11,6 +11,7 @@ package org.elasticsearch.action.support.replication;
 import org.apache.lucene.store.AlreadyClosedException;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionListenerResponseHandler;
 import org.elasticsearch.action.ActionResponse;
@@ -18,6 +19,7 @@ import org.elasticsearch.action.UnavailableShardsException;
 import org.elasticsearch.action.support.ActionFilters;
 import org.elasticsearch.action.support.ActiveShardCount;
 import org.elasticsearch.action.support.ChannelActionListener;
+import org.elasticsearch.action.support.RefCountingRunnable;
 import org.elasticsearch.action.support.TransportAction;
 import org.elasticsearch.action.support.TransportActions;
 import org.elasticsearch.client.internal.transport.NoNodeAvailableException;
@@ -69,6 +71,7 @@ import org.elasticsearch.transport.TransportResponseHandler;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Executor;
@@ -125,6 +128,8 @@ public abstract class TransportReplicationAction<
     protected final String transportPrimaryAction;
 
     private final boolean syncGlobalCheckpointAfterOperation;
+    @Nullable // if replica requests are not batched
+    private final ReplicaRequestBatcher<ReplicaRequest> replicaRequestBatcher;
     private volatile TimeValue initialRetryBackoffBound;
     private volatile TimeValue retryTimeout;
 
@@ -217,6 +222,19 @@ public abstract class TransportReplicationAction<
 
         this.transportOptions = transportOptions();
 
+        if (batchReplicaRequests()) {
+            final String transportBatchedReplicaAction = transportReplicaAction + "[batch]";
+            transportService.registerRequestHandler(
+                transportBatchedReplicaAction,
+                EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                in -> new ReplicaRequestBatcher.BatchRequest<>(replicaRequestReader, in),
+                this::handleBatchedReplicaRequest
+            );
+            this.replicaRequestBatcher = new ReplicaRequestBatcher<>(transportService, transportBatchedReplicaAction, transportOptions);
+        } else {
+            this.replicaRequestBatcher = null;
+        }
+
         this.syncGlobalCheckpointAfterOperation = syncGlobalCheckpointAfterOperation;
 
         ClusterSettings clusterSettings = clusterService.getClusterSettings();
@@ -304,6 +322,15 @@ public abstract class TransportReplicationAction<
         return TransportRequestOptions.EMPTY;
     }
 
+    /**
+     * Whether to send the replica requests of this action to each node in batches rather than one at a time. Only suitable for
+     * maintenance actions which run on many shards at once, which send their requests in the system context, and for which waiting for
+     * the slowest request in the same batch is acceptable.
+     */
+    protected boolean batchReplicaRequests() {
+        return false;
+    }
+
     private ClusterBlockException blockExceptions(final ClusterState state, final String indexName) {
         ClusterBlockLevel globalBlockLevel = globalBlockLevel();
         if (globalBlockLevel != null) {
@@ -590,9 +617,17 @@ public abstract class TransportReplicationAction<
         final ConcreteReplicaRequest<ReplicaRequest> replicaRequest,
         final TransportChannel channel,
         final Task task
+    ) {
+        handleReplicaRequest(replicaRequest, new ChannelActionListener<>(channel), task);
+    }
+
+    private void handleReplicaRequest(
+        final ConcreteReplicaRequest<ReplicaRequest> replicaRequest,
+        final ActionListener<ReplicaResponse> replicaListener,
+        final Task task
     ) {
         Releasable releasable = checkReplicaLimits(replicaRequest.getRequest());
-        ActionListener<ReplicaResponse> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        ActionListener<ReplicaResponse> listener = ActionListener.runBefore(replicaListener, releasable::close);
 
         try {
             new AsyncReplicaAction(replicaRequest, listener, (ReplicationTask) task).run();
@@ -601,6 +636,55 @@ public abstract class TransportReplicationAction<
         }
     }
 
+    private void handleBatchedReplicaRequest(
+        final ReplicaRequestBatcher.BatchRequest<ReplicaRequest> batchRequest,
+        final TransportChannel channel,
+        final Task task
+    ) {
+        final int size = batchRequest.requests().size();
+        final ReplicaResponse[] responses = new ReplicaResponse[size];
+        final Exception[] failures = new Exception[size];
+        try (
+            var refs = new RefCountingRunnable(
+                () -> ActionListener.completeWith(
+                    new ChannelActionListener<>(channel),
+                    () -> new ReplicaRequestBatcher.BatchResponse(Arrays.asList(responses), Arrays.asList(failures))
+                )
+            )
+        ) {
+            for (int i = 0; i < size; i++) {
+                final int index = i;
+                final ConcreteReplicaRequest<ReplicaRequest> replicaRequest = batchRequest.requests().get(i);
+                final ActionListener<ReplicaResponse> listener = ActionListener.releaseAfter(
+                    ActionListener.wrap(response -> responses[index] = response, e -> failures[index] = e),
+                    refs.acquire()
+                );
+                // each replica request runs as its own task on the executor of the action, just as if it had been sent on its own
+                executor.execute(new AbstractRunnable() {
+                    @Override
+                    public void onFailure(Exception e) {
+                        listener.onFailure(e);
+                    }
+
+                    @Override
+                    protected void doRun() {
+                        final Task replicaTask = taskManager.register("transport", transportReplicaAction, replicaRequest);
+                        handleReplicaRequest(
+                            replicaRequest,
+                            ActionListener.runBefore(listener, () -> taskManager.unregister(replicaTask)),
+                            replicaTask
+                        );
+                    }
+
+                    @Override
+                    public boolean isForceExecution() {
+                        return true;
+                    }
+                });
+            }
+        }
+    }
+
     protected Releasable checkReplicaLimits(final ReplicaRequest request) {
         return () -> {};
     }
@@ -1263,6 +1347,11 @@ public abstract class TransportReplicationAction<
                 globalCheckpoint,
                 maxSeqNoOfUpdatesOrDeletes
             );
+            if (replicaRequestBatcher != null
+                && clusterService.state().getMinTransportVersion().onOrAfter(TransportVersions.BATCHED_REPLICA_REQUESTS)) {
+                replicaRequestBatcher.send(node, replicaRequest, listener);
+                return;
+            }
             final ActionListenerResponseHandler<ReplicaResponse> handler = new ActionListenerResponseHandler<>(
                 listener,
                 ReplicaResponse::new,
@@ -12,36 +12,45 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 
+import static org.elasticsearch.TransportVersions.CLUSTER_STATE_SERIALIZATION_TIME;
+
 public class ClusterStateSerializationStats implements Writeable, ToXContentObject {
 
-    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L);
+    public static final ClusterStateSerializationStats EMPTY = new ClusterStateSerializationStats(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
     private final long fullStateCount;
     private final long totalUncompressedFullStateBytes;
     private final long totalCompressedFullStateBytes;
+    private final long totalFullStateSerializationTimeNanos;
     private final long diffCount;
     private final long totalUncompressedDiffBytes;
     private final long totalCompressedDiffBytes;
+    private final long totalDiffSerializationTimeNanos;
 
     public ClusterStateSerializationStats(
         long fullStateCount,
         long totalUncompressedFullStateBytes,
         long totalCompressedFullStateBytes,
+        long totalFullStateSerializationTimeNanos,
         long diffCount,
         long totalUncompressedDiffBytes,
-        long totalCompressedDiffBytes
+        long totalCompressedDiffBytes,
+        long totalDiffSerializationTimeNanos
     ) {
         this.fullStateCount = fullStateCount;
         this.totalUncompressedFullStateBytes = totalUncompressedFullStateBytes;
         this.totalCompressedFullStateBytes = totalCompressedFullStateBytes;
+        this.totalFullStateSerializationTimeNanos = totalFullStateSerializationTimeNanos;
         this.diffCount = diffCount;
         this.totalUncompressedDiffBytes = totalUncompressedDiffBytes;
         this.totalCompressedDiffBytes = totalCompressedDiffBytes;
+        this.totalDiffSerializationTimeNanos = totalDiffSerializationTimeNanos;
     }
 
     public ClusterStateSerializationStats(StreamInput in) throws IOException {
@@ -51,6 +60,13 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         this.diffCount = in.readVLong();
         this.totalUncompressedDiffBytes = in.readVLong();
         this.totalCompressedDiffBytes = in.readVLong();
+        if (in.getTransportVersion().onOrAfter(CLUSTER_STATE_SERIALIZATION_TIME)) {
+            this.totalFullStateSerializationTimeNanos = in.readVLong();
+            this.totalDiffSerializationTimeNanos = in.readVLong();
+        } else {
+            this.totalFullStateSerializationTimeNanos = 0L;
+            this.totalDiffSerializationTimeNanos = 0L;
+        }
     }
 
     public long getFullStateCount() {
@@ -65,6 +81,13 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedFullStateBytes;
     }
 
+    /**
+     * Total time spent serializing and compressing full cluster states, in nanoseconds.
+     */
+    public long getTotalFullStateSerializationTimeNanos() {
+        return totalFullStateSerializationTimeNanos;
+    }
+
     public long getDiffCount() {
         return diffCount;
     }
@@ -77,6 +100,13 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         return totalCompressedDiffBytes;
     }
 
+    /**
+     * Total time spent serializing and compressing cluster state diffs, in nanoseconds.
+     */
+    public long getTotalDiffSerializationTimeNanos() {
+        return totalDiffSerializationTimeNanos;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
@@ -88,11 +118,21 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
             ByteSizeValue.ofBytes(totalUncompressedFullStateBytes)
         );
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(totalCompressedFullStateBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueNanos(totalFullStateSerializationTimeNanos)
+        );
         builder.endObject();
         builder.startObject("diffs");
         builder.field("count", diffCount);
         builder.humanReadableField("uncompressed_size_in_bytes", "uncompressed_size", ByteSizeValue.ofBytes(totalUncompressedDiffBytes));
         builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(totalCompressedDiffBytes));
+        builder.humanReadableField(
+            "serialization_time_millis",
+            "serialization_time",
+            TimeValue.timeValueNanos(totalDiffSerializationTimeNanos)
+        );
         builder.endObject();
         builder.endObject();
         return builder;
@@ -106,6 +146,10 @@ public class ClusterStateSerializationStats implements Writeable, ToXContentObje
         out.writeVLong(diffCount);
         out.writeVLong(totalUncompressedDiffBytes);
         out.writeVLong(totalCompressedDiffBytes);
+        if (out.getTransportVersion().onOrAfter(CLUSTER_STATE_SERIALIZATION_TIME)) {
+            out.writeVLong(totalFullStateSerializationTimeNanos);
+            out.writeVLong(totalDiffSerializationTimeNanos);
+        }
     }
 
 }
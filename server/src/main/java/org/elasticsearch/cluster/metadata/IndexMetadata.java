@@ -1797,6 +1797,12 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         private IndexMetadataStats stats = null;
         private Double indexWriteLoadForecast = null;
         private Long shardSizeInBytesForecast = null;
+        /**
+         * The instance this builder was copied from, if any. When the settings haven't changed we reuse everything
+         * it parsed from them rather than parsing them again, see {@link #build(boolean)}.
+         */
+        @Nullable
+        private final IndexMetadata previous;
 
         public Builder(String index) {
             this.index = index;
@@ -1805,6 +1811,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.inSyncAllocationIds = new HashMap<>();
             this.rolloverInfos = ImmutableOpenMap.builder();
             this.isSystem = false;
+            this.previous = null;
         }
 
         public Builder(IndexMetadata indexMetadata) {
@@ -1828,6 +1835,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
             this.stats = indexMetadata.stats;
             this.indexWriteLoadForecast = indexMetadata.writeLoadForecast;
             this.shardSizeInBytesForecast = indexMetadata.shardSizeInBytesForecast;
+            this.previous = indexMetadata;
         }
 
         public Builder index(String index) {
@@ -2098,33 +2106,45 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                 Set<String> allocIds = inSyncAllocationIds.getOrDefault(i, Set.of());
                 denseInSyncAllocationIds[i] = Map.entry(i, allocIds);
             }
-            var requireMap = INDEX_ROUTING_REQUIRE_GROUP_SETTING.getAsMap(settings);
+            /*
+             * Most updates to an index, like changes to its in-sync allocation ids or primary terms, don't touch its settings. Settings
+             * are immutable so if we still have the same instance we can share everything the previous instance parsed from them.
+             */
+            final IndexMetadata sameSettings = previous != null && previous.settings == settings ? previous : null;
             final DiscoveryNodeFilters requireFilters;
-            if (requireMap.isEmpty()) {
-                requireFilters = null;
-            } else {
-                requireFilters = DiscoveryNodeFilters.buildFromKeyValues(AND, requireMap);
-            }
-            var includeMap = INDEX_ROUTING_INCLUDE_GROUP_SETTING.getAsMap(settings);
             final DiscoveryNodeFilters includeFilters;
-            if (includeMap.isEmpty()) {
-                includeFilters = null;
-            } else {
-                includeFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, includeMap);
-            }
-            var excludeMap = INDEX_ROUTING_EXCLUDE_GROUP_SETTING.getAsMap(settings);
             final DiscoveryNodeFilters excludeFilters;
-            if (excludeMap.isEmpty()) {
-                excludeFilters = null;
-            } else {
-                excludeFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, excludeMap);
-            }
-            var initialRecoveryMap = INDEX_ROUTING_INITIAL_RECOVERY_GROUP_SETTING.getAsMap(settings);
             final DiscoveryNodeFilters initialRecoveryFilters;
-            if (initialRecoveryMap.isEmpty()) {
-                initialRecoveryFilters = null;
+            if (sameSettings != null) {
+                requireFilters = sameSettings.requireFilters;
+                includeFilters = sameSettings.includeFilters;
+                excludeFilters = sameSettings.excludeFilters;
+                initialRecoveryFilters = sameSettings.initialRecoveryFilters;
             } else {
-                initialRecoveryFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, initialRecoveryMap);
+                var requireMap = INDEX_ROUTING_REQUIRE_GROUP_SETTING.getAsMap(settings);
+                if (requireMap.isEmpty()) {
+                    requireFilters = null;
+                } else {
+                    requireFilters = DiscoveryNodeFilters.buildFromKeyValues(AND, requireMap);
+                }
+                var includeMap = INDEX_ROUTING_INCLUDE_GROUP_SETTING.getAsMap(settings);
+                if (includeMap.isEmpty()) {
+                    includeFilters = null;
+                } else {
+                    includeFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, includeMap);
+                }
+                var excludeMap = INDEX_ROUTING_EXCLUDE_GROUP_SETTING.getAsMap(settings);
+                if (excludeMap.isEmpty()) {
+                    excludeFilters = null;
+                } else {
+                    excludeFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, excludeMap);
+                }
+                var initialRecoveryMap = INDEX_ROUTING_INITIAL_RECOVERY_GROUP_SETTING.getAsMap(settings);
+                if (initialRecoveryMap.isEmpty()) {
+                    initialRecoveryFilters = null;
+                } else {
+                    initialRecoveryFilters = DiscoveryNodeFilters.buildFromKeyValues(OR, initialRecoveryMap);
+                }
             }
             IndexVersion indexCreatedVersion = indexCreatedVersion(settings);
 
@@ -2154,19 +2174,23 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
                 );
             }
 
-            final List<String> routingPaths = INDEX_ROUTING_PATH.get(settings);
+            final List<String> routingPaths = sameSettings != null ? sameSettings.routingPaths : INDEX_ROUTING_PATH.get(settings);
 
             final String uuid = settings.get(SETTING_INDEX_UUID, INDEX_UUID_NA_VALUE);
 
             List<String> tierPreference;
-            try {
-                tierPreference = DataTier.parseTierList(DataTier.TIER_PREFERENCE_SETTING.get(settings));
-            } catch (Exception e) {
-                assert e instanceof IllegalArgumentException : e;
-                // BwC hack: the setting failed validation but it will be fixed in
-                // #IndexMetadataVerifier#convertSharedCacheTierPreference(IndexMetadata)} later so we just store a null
-                // to be able to build a temporary instance
-                tierPreference = null;
+            if (sameSettings != null) {
+                tierPreference = sameSettings.tierPreference;
+            } else {
+                try {
+                    tierPreference = DataTier.parseTierList(DataTier.TIER_PREFERENCE_SETTING.get(settings));
+                } catch (Exception e) {
+                    assert e instanceof IllegalArgumentException : e;
+                    // BwC hack: the setting failed validation but it will be fixed in
+                    // #IndexMetadataVerifier#convertSharedCacheTierPreference(IndexMetadata)} later so we just store a null
+                    // to be able to build a temporary instance
+                    tierPreference = null;
+                }
             }
 
             ImmutableOpenMap<String, DiffableStringMap> newCustomMetadata = customMetadata.build();
@@ -100,6 +100,13 @@ public interface RoutingChangesObserver {
             }
         }
 
+        @Override
+        public void relocationFailureInfoUpdated(ShardRouting relocatedShard, RelocationFailureInfo relocationFailureInfo) {
+            for (RoutingChangesObserver routingChangesObserver : routingChangesObservers) {
+                routingChangesObserver.relocationFailureInfoUpdated(relocatedShard, relocationFailureInfo);
+            }
+        }
+
         @Override
         public void shardFailed(ShardRouting activeShard, UnassignedInfo unassignedInfo) {
             for (RoutingChangesObserver routingChangesObserver : routingChangesObservers) {
@@ -1333,6 +1333,7 @@ public class RoutingNodes implements Iterable<RoutingNode> {
                 routingNode.update(original, updated);
                 assignedShardsRemove(original);
                 assignedShardsAdd(updated);
+                routingChangesObserver.relocationFailureInfoUpdated(original, RelocationFailureInfo.NO_FAILURES);
             }
         }
     }
@@ -433,6 +433,65 @@ public class RoutingTable implements Iterable<IndexRoutingTable>, Diffable<Routi
         return new RoutingTable(version, indicesRouting.build());
     }
 
+    /**
+     * Builds the routing table for the given {@link RoutingNodes}, which must have been created from {@code previous} and then only
+     * modified in the shards of {@code changedIndices}. Reuses the {@link IndexRoutingTable} of every other index so that the cost of
+     * building the new table, and of diffing it against the previous one, is proportional to the number of changed indices rather than
+     * to the number of shards in the cluster.
+     */
+    public static RoutingTable of(RoutingTable previous, RoutingNodes routingNodes, Set<Index> changedIndices) {
+        if (changedIndices.isEmpty()) {
+            return previous;
+        }
+        Map<String, IndexRoutingTable.Builder> indexRoutingTableBuilders = new HashMap<>(changedIndices.size());
+        for (Index index : changedIndices) {
+            IndexRoutingTable previousIndexRoutingTable = previous.index(index);
+            assert previousIndexRoutingTable != null : "index " + index + " is missing from the previous routing table";
+            for (int shard = 0; shard < previousIndexRoutingTable.size(); shard++) {
+                for (ShardRouting shardRouting : routingNodes.assignedShards(previousIndexRoutingTable.shard(shard).shardId())) {
+                    // every relocating shard has a double entry, ignore the target one.
+                    if (shardRouting.isRelocationTarget()) continue;
+                    Builder.addShard(indexRoutingTableBuilders, shardRouting);
+                }
+            }
+        }
+        for (ShardRouting shardRouting : routingNodes.unassigned()) {
+            if (changedIndices.contains(shardRouting.index())) {
+                Builder.addShard(indexRoutingTableBuilders, shardRouting);
+            }
+        }
+        for (ShardRouting shardRouting : routingNodes.unassigned().ignored()) {
+            if (changedIndices.contains(shardRouting.index())) {
+                Builder.addShard(indexRoutingTableBuilders, shardRouting);
+            }
+        }
+
+        ImmutableOpenMap.Builder<String, IndexRoutingTable> indicesRouting = ImmutableOpenMap.builder(previous.indicesRouting);
+        for (IndexRoutingTable.Builder indexBuilder : indexRoutingTableBuilders.values()) {
+            IndexRoutingTable indexRoutingTable = indexBuilder.build();
+            indicesRouting.put(indexRoutingTable.getIndex().getName(), indexRoutingTable);
+        }
+        final RoutingTable routingTable = new RoutingTable(previous.version, indicesRouting.build());
+        assert assertSameShards(routingTable, of(previous.version, routingNodes));
+        return routingTable;
+    }
+
+    private static boolean assertSameShards(RoutingTable routingTable, RoutingTable expected) {
+        assert routingTable.indicesRouting.keySet().equals(expected.indicesRouting.keySet())
+            : "expected indices " + expected.indicesRouting.keySet() + " but got " + routingTable.indicesRouting.keySet();
+        for (IndexRoutingTable expectedIndexRoutingTable : expected) {
+            IndexRoutingTable indexRoutingTable = routingTable.index(expectedIndexRoutingTable.getIndex());
+            assert indexRoutingTable.size() == expectedIndexRoutingTable.size();
+            for (int shard = 0; shard < expectedIndexRoutingTable.size(); shard++) {
+                List<ShardRouting> expectedShards = expectedIndexRoutingTable.shard(shard).allShards().toList();
+                List<ShardRouting> shards = indexRoutingTable.shard(shard).allShards().toList();
+                assert shards.size() == expectedShards.size() && shards.containsAll(expectedShards)
+                    : "expected " + expectedShards + " but got " + shards;
+            }
+        }
+        return true;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -347,6 +347,14 @@ public class RoutingAllocation {
         return nodesChangedObserver.isChanged();
     }
 
+    /**
+     * Returns the routing table for the current state of the routing nodes. Only rebuilds the routing tables of the indices whose
+     * shards changed, reusing the unchanged ones from the cluster state this allocation started from.
+     */
+    public RoutingTable buildRoutingTable() {
+        return RoutingTable.of(clusterState.routingTable(), routingNodes(), nodesChangedObserver.getChangedIndices());
+    }
+
     /**
      * Create a routing decision, including the reason if the debug flag is
      * turned on
@@ -421,7 +429,7 @@ public class RoutingAllocation {
             deciders,
             routingNodesChanged()
                 ? ClusterState.builder(clusterState)
-                    .routingTable(RoutingTable.of(clusterState.routingTable().version(), routingNodes))
+                    .routingTable(buildRoutingTable())
                     .build()
                 : clusterState,
             clusterInfo,
@@ -13,76 +13,87 @@ import org.elasticsearch.cluster.routing.RoutingChangesObserver;
 import org.elasticsearch.cluster.routing.RoutingNodes;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.UnassignedInfo;
+import org.elasticsearch.index.Index;
+
+import java.util.HashSet;
+import java.util.Set;
 
 /**
- * Records if changes were made to {@link RoutingNodes} during an allocation round.
+ * Records if changes were made to {@link RoutingNodes} during an allocation round, and to the shards of which indices.
  */
 public class RoutingNodesChangedObserver implements RoutingChangesObserver {
-    private boolean changed;
+    private final Set<Index> changedIndices = new HashSet<>();
 
     /**
      * Returns whether changes were made
      */
     public boolean isChanged() {
-        return changed;
+        return changedIndices.isEmpty() == false;
+    }
+
+    /**
+     * Returns the indices with at least one changed shard
+     */
+    public Set<Index> getChangedIndices() {
+        return changedIndices;
     }
 
     @Override
     public void shardInitialized(ShardRouting unassignedShard, ShardRouting initializedShard) {
         assert unassignedShard.unassigned() : "expected unassigned shard " + unassignedShard;
         assert initializedShard.initializing() : "expected initializing shard " + initializedShard;
-        setChanged();
+        setChanged(unassignedShard);
     }
 
     @Override
     public void shardStarted(ShardRouting initializingShard, ShardRouting startedShard) {
         assert initializingShard.initializing() : "expected initializing shard " + initializingShard;
         assert startedShard.started() : "expected started shard " + startedShard;
-        setChanged();
+        setChanged(initializingShard);
     }
 
     @Override
     public void relocationStarted(ShardRouting startedShard, ShardRouting targetRelocatingShard) {
         assert startedShard.started() : "expected started shard " + startedShard;
         assert targetRelocatingShard.isRelocationTarget() : "expected relocation target shard " + targetRelocatingShard;
-        setChanged();
+        setChanged(startedShard);
     }
 
     @Override
     public void unassignedInfoUpdated(ShardRouting unassignedShard, UnassignedInfo newUnassignedInfo) {
         assert unassignedShard.unassigned() : "expected unassigned shard " + unassignedShard;
-        setChanged();
+        setChanged(unassignedShard);
     }
 
     @Override
     public void relocationFailureInfoUpdated(ShardRouting relocatedShard, RelocationFailureInfo relocationFailureInfo) {
         assert relocatedShard.active() : "expected active shard " + relocatedShard;
-        setChanged();
+        setChanged(relocatedShard);
     }
 
     @Override
     public void shardFailed(ShardRouting failedShard, UnassignedInfo unassignedInfo) {
         assert failedShard.assignedToNode() : "expected assigned shard " + failedShard;
-        setChanged();
+        setChanged(failedShard);
     }
 
     @Override
     public void relocationCompleted(ShardRouting removedRelocationSource) {
         assert removedRelocationSource.relocating() : "expected relocating shard " + removedRelocationSource;
-        setChanged();
+        setChanged(removedRelocationSource);
     }
 
     @Override
     public void relocationSourceRemoved(ShardRouting removedReplicaRelocationSource) {
         assert removedReplicaRelocationSource.primary() == false && removedReplicaRelocationSource.isRelocationTarget()
             : "expected replica relocation target shard " + removedReplicaRelocationSource;
-        setChanged();
+        setChanged(removedReplicaRelocationSource);
     }
 
     @Override
     public void replicaPromoted(ShardRouting replicaShard) {
         assert replicaShard.started() && replicaShard.primary() == false : "expected started replica shard " + replicaShard;
-        setChanged();
+        setChanged(replicaShard);
     }
 
     @Override
@@ -96,13 +107,13 @@ public class RoutingNodesChangedObserver implements RoutingChangesObserver {
                 + " new: "
                 + reinitializedReplica
                 + ")";
-        setChanged();
+        setChanged(oldReplica);
     }
 
     /**
      * Marks the allocation as changed.
      */
-    private void setChanged() {
-        changed = true;
+    private void setChanged(ShardRouting shardRouting) {
+        changedIndices.add(shardRouting.index());
     }
 }
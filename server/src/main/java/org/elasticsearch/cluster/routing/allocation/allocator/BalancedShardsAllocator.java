@@ -331,6 +331,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         private final double avgDiskUsageInBytesPerNode;
         private final Map<String, ModelNode> nodes;
         private final NodeSorter sorter;
+        /**
+         * {@link AllocationDeciders#canRebalance(ShardRouting, RoutingAllocation)} decisions made since the last relocation.
+         * {@link #balanceByWeights} tries the shards on the heaviest node against every lighter node in turn so without
+         * this it asks the deciders about the same shard once per node. Relocating a shard changes what the deciders
+         * see so we clear it whenever we relocate.
+         */
+        private final Map<ShardRouting, Decision> rebalanceDecisions = new HashMap<>();
 
         private Balancer(WriteLoadForecaster writeLoadForecaster, RoutingAllocation allocation, WeightFunction weight, float threshold) {
             this.writeLoadForecaster = writeLoadForecaster;
@@ -1200,7 +1207,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
                 final AllocationDeciders deciders = allocation.deciders();
                 for (ShardRouting shard : shardRoutings) {
-                    final Decision rebalanceDecision = deciders.canRebalance(shard, allocation);
+                    final Decision rebalanceDecision = rebalanceDecisions.computeIfAbsent(shard, s -> deciders.canRebalance(s, allocation));
                     if (rebalanceDecision.type() == Type.NO) {
                         continue;
                     }
@@ -1211,6 +1218,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
                     final Decision decision = new Decision.Multi().add(allocationDecision).add(rebalanceDecision);
 
+                    rebalanceDecisions.clear();
                     maxNode.removeShard(shard);
                     long shardSize = allocation.clusterInfo().getShardSize(shard, ShardRouting.UNAVAILABLE_EXPECTED_SHARD_SIZE);
 
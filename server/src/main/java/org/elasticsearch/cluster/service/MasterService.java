@@ -68,6 +68,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -91,6 +92,18 @@ public class MasterService extends AbstractLifecycleComponent {
         Setting.Property.NodeScope
     );
 
+    /**
+     * Limits how long the master spends computing each batch of tasks from a single queue. The master estimates the cost of each task in a
+     * queue from the computation time of its previous batches and takes no more tasks than fit within this limit, leaving the rest for a
+     * later batch behind any other queues of the same priority. Defaults to {@code 0} which means batches are unlimited.
+     */
+    public static final Setting<TimeValue> MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING = Setting.positiveTimeSetting(
+        "cluster.service.master_service_max_batch_computation_time",
+        TimeValue.ZERO,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     public static final String MASTER_UPDATE_THREAD_NAME = "masterService#updateTask";
 
     public static final String STATE_UPDATE_ACTION_NAME = "publish_cluster_state_update";
@@ -103,6 +116,7 @@ public class MasterService extends AbstractLifecycleComponent {
     private final String nodeName;
 
     private volatile TimeValue slowTaskLoggingThreshold;
+    private volatile TimeValue maxBatchComputationTime;
     private final TimeValue starvationLoggingThreshold;
 
     protected final ThreadPool threadPool;
@@ -125,6 +139,9 @@ public class MasterService extends AbstractLifecycleComponent {
 
         this.starvationLoggingThreshold = MASTER_SERVICE_STARVATION_LOGGING_THRESHOLD_SETTING.get(settings);
 
+        this.maxBatchComputationTime = MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING, this::setMaxBatchComputationTime);
+
         this.threadPool = threadPool;
         this.taskManager = taskManager;
 
@@ -140,6 +157,10 @@ public class MasterService extends AbstractLifecycleComponent {
         this.slowTaskLoggingThreshold = slowTaskLoggingThreshold;
     }
 
+    private void setMaxBatchComputationTime(TimeValue maxBatchComputationTime) {
+        this.maxBatchComputationTime = maxBatchComputationTime;
+    }
+
     public synchronized void setClusterStatePublisher(ClusterStatePublisher publisher) {
         clusterStatePublisher = publisher;
     }
@@ -205,6 +226,7 @@ public class MasterService extends AbstractLifecycleComponent {
         final ClusterStateTaskExecutor<T> executor,
         final List<ExecutionResult<T>> executionResults,
         final BatchSummary summary,
+        final LongConsumer computationTimeListener,
         final ActionListener<Void> listener
     ) {
         if (lifecycle.started() == false) {
@@ -233,6 +255,7 @@ public class MasterService extends AbstractLifecycleComponent {
         );
         final TimeValue computationTime = getTimeSince(computationStartTime);
         logExecutionTime(computationTime, "compute cluster state update", summary);
+        computationTimeListener.accept(computationTime.millis());
 
         if (previousClusterState == newClusterState) {
             final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
@@ -1411,7 +1434,8 @@ public class MasterService extends AbstractLifecycleComponent {
             insertionIndexSupplier,
             queuesByPriority.get(priority),
             executor,
-            threadPool
+            threadPool,
+            () -> maxBatchComputationTime
         );
     }
 
@@ -1421,6 +1445,7 @@ public class MasterService extends AbstractLifecycleComponent {
             ClusterStateTaskExecutor<T> executor,
             List<ExecutionResult<T>> tasks,
             BatchSummary summary,
+            LongConsumer computationTimeListener,
             ActionListener<Void> listener
         );
     }
@@ -1484,7 +1509,9 @@ public class MasterService extends AbstractLifecycleComponent {
      * active processor for each such queue.
      *
      * Works differently from {@link PerPriorityQueue} in that each time the queue is processed it will drain all the pending items at once
-     * and process them in a single batch.
+     * and process them in a single batch. If {@link #MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING} is set then it only drains as many
+     * items as it expects to compute within that time, according to the observed cost of earlier batches, and then puts itself back at the
+     * end of its {@link PerPriorityQueue} so that other queues of the same priority get a turn before it processes the remaining items.
      *
      * Also handles that tasks may time out before being processed.
      */
@@ -1499,15 +1526,23 @@ public class MasterService extends AbstractLifecycleComponent {
         private final PerPriorityQueue perPriorityQueue;
         private final ClusterStateTaskExecutor<T> executor;
         private final ThreadPool threadPool;
+        private final Supplier<TimeValue> maxBatchComputationTimeSupplier;
         private final Batch processor = new Processor();
 
+        /**
+         * Moving average of the computation time of each task in this queue, or {@code -1} if we haven't computed any batches yet. Only
+         * accessed on the master service thread.
+         */
+        private double taskCostMillis = -1;
+
         BatchingTaskQueue(
             String name,
             BatchConsumer<T> batchConsumer,
             LongSupplier insertionIndexSupplier,
             PerPriorityQueue perPriorityQueue,
             ClusterStateTaskExecutor<T> executor,
-            ThreadPool threadPool
+            ThreadPool threadPool,
+            Supplier<TimeValue> maxBatchComputationTimeSupplier
         ) {
             this.name = name;
             this.batchConsumer = batchConsumer;
@@ -1515,6 +1550,7 @@ public class MasterService extends AbstractLifecycleComponent {
             this.perPriorityQueue = perPriorityQueue;
             this.executor = executor;
             this.threadPool = threadPool;
+            this.maxBatchComputationTimeSupplier = maxBatchComputationTimeSupplier;
         }
 
         @Override
@@ -1600,7 +1636,11 @@ public class MasterService extends AbstractLifecycleComponent {
             @Override
             public void run(ActionListener<Void> listener) {
                 assert executing.isEmpty() : executing;
-                final var entryCount = queueSize.getAndSet(0);
+                final var entryCount = maxEntriesPerBatch(queueSize.get());
+                if (queueSize.addAndGet(-entryCount) > 0) {
+                    // leave the remaining entries for later, giving other queues of the same priority a chance to run first
+                    listener = ActionListener.runAfter(listener, () -> perPriorityQueue.execute(processor));
+                }
                 var taskCount = 0;
                 final var tasks = new ArrayList<ExecutionResult<T>>(entryCount);
                 for (int i = 0; i < entryCount; i++) {
@@ -1620,10 +1660,32 @@ public class MasterService extends AbstractLifecycleComponent {
                     return;
                 }
                 final var finalTaskCount = taskCount;
-                ActionListener.run(ActionListener.runBefore(listener, () -> {
-                    assert executing.size() == finalTaskCount;
-                    executing.clear();
-                }), l -> batchConsumer.runBatch(executor, tasks, new BatchSummary(() -> buildTasksDescription(tasks)), l));
+                ActionListener.run(
+                    ActionListener.runBefore(listener, () -> {
+                        assert executing.size() == finalTaskCount;
+                        executing.clear();
+                    }),
+                    l -> batchConsumer.runBatch(
+                        executor,
+                        tasks,
+                        new BatchSummary(() -> buildTasksDescription(tasks)),
+                        computationTimeMillis -> onBatchComputed(computationTimeMillis, finalTaskCount),
+                        l
+                    )
+                );
+            }
+
+            private int maxEntriesPerBatch(int entryCount) {
+                final var maxBatchComputationMillis = maxBatchComputationTimeSupplier.get().millis();
+                if (maxBatchComputationMillis <= 0 || taskCostMillis <= 0) {
+                    return entryCount;
+                }
+                return (int) Math.min(entryCount, Math.max(1L, (long) (maxBatchComputationMillis / taskCostMillis)));
+            }
+
+            private void onBatchComputed(long computationTimeMillis, int taskCount) {
+                final var batchTaskCostMillis = (double) computationTimeMillis / taskCount;
+                taskCostMillis = taskCostMillis < 0 ? batchTaskCostMillis : 0.7 * taskCostMillis + 0.3 * batchTaskCostMillis;
             }
 
             private String buildTasksDescription(List<ExecutionResult<T>> tasks) {
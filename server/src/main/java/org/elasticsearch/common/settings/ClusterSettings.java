@@ -335,6 +335,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         ClusterService.USER_DEFINED_METADATA,
         MasterService.MASTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING,
         MasterService.MASTER_SERVICE_STARVATION_LOGGING_THRESHOLD_SETTING,
+        MasterService.MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING,
         SearchService.DEFAULT_SEARCH_TIMEOUT_SETTING,
         SearchService.DEFAULT_ALLOW_PARTIAL_SEARCH_RESULTS,
         TransportSearchAction.SHARD_COUNT_LIMIT_SETTING,
@@ -371,6 +372,9 @@ public final class ClusterSettings extends AbstractScopedSettings {
         TransportSettings.PUBLISH_PORT_PROFILE,
         TransportSettings.TRANSPORT_COMPRESS,
         TransportSettings.TRANSPORT_COMPRESSION_SCHEME,
+        TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE,
+        TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE_MIN_SIZE,
+        TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE_MAX_RATIO,
         TransportSettings.PING_SCHEDULE,
         TransportSettings.CONNECT_TIMEOUT,
         TransportSettings.DEFAULT_FEATURES_SETTING,
@@ -575,6 +579,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         DataStreamLifecycle.CLUSTER_LIFECYCLE_DEFAULT_ROLLOVER_SETTING,
         IndicesClusterStateService.SHARD_LOCK_RETRY_INTERVAL_SETTING,
         IndicesClusterStateService.SHARD_LOCK_RETRY_TIMEOUT_SETTING,
+        IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING,
         IngestSettings.GROK_WATCHDOG_INTERVAL,
         IngestSettings.GROK_WATCHDOG_MAX_EXECUTION_TIME,
         TDigestExecutionHint.SETTING
@@ -20,6 +20,7 @@ import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BitDocIdSet;
 import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BytesRef;
@@ -251,5 +252,15 @@ public interface IndexFieldData<FD extends LeafFieldData> {
 
         IndexFieldData<FD> loadGlobalDirect(DirectoryReader indexReader) throws Exception;
 
+        /**
+         * Like {@link #loadGlobalDirect(DirectoryReader)} but may reuse parts of
+         * {@code previous}, the global field data most recently built for an
+         * older reader of the same shard. Implementations that can't reuse
+         * anything build from scratch.
+         */
+        default IndexFieldData<FD> loadGlobalDirect(DirectoryReader indexReader, @Nullable Accountable previous) throws Exception {
+            return loadGlobalDirect(indexReader);
+        }
+
     }
 }
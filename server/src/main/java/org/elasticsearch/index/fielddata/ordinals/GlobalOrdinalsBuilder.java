@@ -15,6 +15,7 @@ import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.util.packed.PackedInts;
 import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.fielddata.IndexOrdinalsFieldData;
 import org.elasticsearch.index.fielddata.LeafOrdinalsFieldData;
@@ -40,6 +41,24 @@ public enum GlobalOrdinalsBuilder {
         CircuitBreakerService breakerService,
         Logger logger,
         ToScriptFieldFactory<SortedSetDocValues> toScriptFieldFactory
+    ) throws IOException {
+        return build(indexReader, indexFieldData, breakerService, logger, toScriptFieldFactory, null);
+    }
+
+    /**
+     * Build global ordinals for the provided {@link IndexReader}, reusing the
+     * {@link OrdinalMap} of {@code previous} if it was built on exactly the same
+     * segments. The map only depends on the terms in each segment so a refresh
+     * that only changed deleted docs, like updating or deleting documents with
+     * soft deletes, doesn't need to merge all the terms dictionaries again.
+     */
+    public static IndexOrdinalsFieldData build(
+        final IndexReader indexReader,
+        IndexOrdinalsFieldData indexFieldData,
+        CircuitBreakerService breakerService,
+        Logger logger,
+        ToScriptFieldFactory<SortedSetDocValues> toScriptFieldFactory,
+        @Nullable GlobalOrdinalsIndexFieldData previous
     ) throws IOException {
         assert indexReader.leaves().size() > 1;
         long startTimeNS = System.nanoTime();
@@ -50,13 +69,24 @@ public enum GlobalOrdinalsBuilder {
             atomicFD[i] = indexFieldData.load(indexReader.leaves().get(i));
             subs[i] = atomicFD[i].getOrdinalsValues();
         }
-        final OrdinalMap ordinalMap = OrdinalMap.build(null, subs, PackedInts.DEFAULT);
+        final IndexReader.CacheKey[] segmentKeys = segmentKeys(indexReader);
+        final boolean reused = previous != null
+            && previous.getFieldName().equals(indexFieldData.getFieldName())
+            && previous.builtFrom(segmentKeys);
+        final OrdinalMap ordinalMap = reused ? previous.getOrdinalMap() : OrdinalMap.build(null, subs, PackedInts.DEFAULT);
+        // Shared maps are still accounted for each reader because each cache entry releases its own bytes when it is removed
         final long memorySizeInBytes = ordinalMap.ramBytesUsed();
         breakerService.getBreaker(CircuitBreaker.FIELDDATA).addWithoutBreaking(memorySizeInBytes);
 
         TimeValue took = new TimeValue(System.nanoTime() - startTimeNS, TimeUnit.NANOSECONDS);
         if (logger.isDebugEnabled()) {
-            logger.debug("global-ordinals [{}][{}] took [{}]", indexFieldData.getFieldName(), ordinalMap.getValueCount(), took);
+            logger.debug(
+                "global-ordinals [{}][{}] took [{}]{}",
+                indexFieldData.getFieldName(),
+                ordinalMap.getValueCount(),
+                took,
+                reused ? " reusing the ordinal map of the previous reader" : ""
+            );
         }
         return new GlobalOrdinalsIndexFieldData(
             indexFieldData.getFieldName(),
@@ -65,10 +95,29 @@ public enum GlobalOrdinalsBuilder {
             ordinalMap,
             memorySizeInBytes,
             toScriptFieldFactory,
-            took
+            took,
+            segmentKeys
         );
     }
 
+    /**
+     * The core cache keys of each segment or {@code null} if any segment doesn't
+     * support core caching. Two readers with the same core keys in the same order
+     * have the same terms so they can share the same {@link OrdinalMap}.
+     */
+    @Nullable
+    private static IndexReader.CacheKey[] segmentKeys(IndexReader indexReader) {
+        final IndexReader.CacheKey[] keys = new IndexReader.CacheKey[indexReader.leaves().size()];
+        for (int i = 0; i < keys.length; i++) {
+            IndexReader.CacheHelper cacheHelper = indexReader.leaves().get(i).reader().getCoreCacheHelper();
+            if (cacheHelper == null) {
+                return null;
+            }
+            keys[i] = cacheHelper.getKey();
+        }
+        return keys;
+    }
+
     public static IndexOrdinalsFieldData buildEmpty(
         IndexReader indexReader,
         IndexOrdinalsFieldData indexFieldData,
@@ -105,7 +154,8 @@ public enum GlobalOrdinalsBuilder {
             ordinalMap,
             0,
             toScriptFieldFactory,
-            took
+            took,
+            null
         );
     }
 
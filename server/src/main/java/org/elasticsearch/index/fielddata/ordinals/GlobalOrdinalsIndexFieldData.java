@@ -8,6 +8,7 @@
 package org.elasticsearch.index.fielddata.ordinals;
 
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.SortedSetDocValues;
@@ -30,6 +31,7 @@ import org.elasticsearch.search.sort.SortOrder;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -51,6 +53,12 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
     private final LeafOrdinalsFieldData[] segmentAfd;
     private final ToScriptFieldFactory<SortedSetDocValues> toScriptFieldFactory;
     private final TimeValue took;
+    /**
+     * Core cache keys of the segments the {@link #ordinalMap} was built from
+     * or {@code null} if it can't be reused.
+     */
+    @Nullable
+    private final IndexReader.CacheKey[] segmentKeys;
 
     GlobalOrdinalsIndexFieldData(
         String fieldName,
@@ -59,7 +67,8 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
         OrdinalMap ordinalMap,
         long memorySizeInBytes,
         ToScriptFieldFactory<SortedSetDocValues> toScriptFieldFactory,
-        TimeValue took
+        TimeValue took,
+        @Nullable IndexReader.CacheKey[] segmentKeys
     ) {
         this.fieldName = fieldName;
         this.valuesSourceType = valuesSourceType;
@@ -68,6 +77,14 @@ public final class GlobalOrdinalsIndexFieldData implements IndexOrdinalsFieldDat
         this.segmentAfd = segmentAfd;
         this.toScriptFieldFactory = toScriptFieldFactory;
         this.took = took;
+        this.segmentKeys = segmentKeys;
+    }
+
+    /**
+     * Was this built from segments with exactly these core cache keys?
+     */
+    boolean builtFrom(@Nullable IndexReader.CacheKey[] otherSegmentKeys) {
+        return segmentKeys != null && otherSegmentKeys != null && Arrays.equals(segmentKeys, otherSegmentKeys);
     }
 
     public IndexOrdinalsFieldData newConsumer(DirectoryReader source) {
@@ -15,6 +15,7 @@ import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.fielddata.IndexFieldDataCache;
@@ -139,6 +140,18 @@ public abstract class AbstractIndexOrdinalsFieldData implements IndexOrdinalsFie
         return GlobalOrdinalsBuilder.build(indexReader, this, breakerService, logger, toScriptFieldFactory);
     }
 
+    @Override
+    public IndexOrdinalsFieldData loadGlobalDirect(DirectoryReader indexReader, Accountable previous) throws Exception {
+        return GlobalOrdinalsBuilder.build(
+            indexReader,
+            this,
+            breakerService,
+            logger,
+            toScriptFieldFactory,
+            previous instanceof GlobalOrdinalsIndexFieldData globalOrdinals ? globalOrdinals : null
+        );
+    }
+
     @Override
     public boolean supportsGlobalOrdinalsMapping() {
         return false;
@@ -73,6 +73,12 @@ public class GlobalCheckpointSyncAction extends TransportReplicationAction<
         return new ReplicationResponse(in);
     }
 
+    @Override
+    protected boolean batchReplicaRequests() {
+        // every shard syncs its global checkpoint, so send one request per replica node rather than one per shard copy
+        return true;
+    }
+
     @Override
     protected void shardOperationOnPrimary(
         Request request,
@@ -90,6 +90,12 @@ public class RetentionLeaseBackgroundSyncAction extends TransportReplicationActi
         assert false : "use RetentionLeaseBackgroundSyncAction#backgroundSync";
     }
 
+    @Override
+    protected boolean batchReplicaRequests() {
+        // every shard syncs its retention leases periodically, so send one request per replica node rather than one per shard copy
+        return true;
+    }
+
     final void backgroundSync(ShardId shardId, String primaryAllocationId, long primaryTerm, RetentionLeases retentionLeases) {
         final ThreadContext threadContext = threadPool.getThreadContext();
         try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
@@ -41,6 +41,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
@@ -78,10 +79,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -107,6 +111,17 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
         Setting.Property.NodeScope
     );
 
+    /**
+     * The number of threads, including the cluster applier thread, which parse the mappings of the indices that a cluster state update
+     * allocates to this node for the first time.
+     */
+    public static final Setting<Integer> MAPPING_UPDATE_THREADS_SETTING = new Setting<>(
+        "indices.cluster.mapping_update_threads",
+        (s) -> Integer.toString(Math.min(4, EsExecutors.allocatedProcessors(s))),
+        (s) -> Setting.parseInt(s, 1, "indices.cluster.mapping_update_threads"),
+        Setting.Property.NodeScope
+    );
+
     final AllocatedIndices<? extends Shard, ? extends AllocatedIndex<? extends Shard>> indicesService;
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
@@ -128,6 +143,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
     private final NodeClient client;
     private final TimeValue shardLockRetryInterval;
     private final TimeValue shardLockRetryTimeout;
+    private final int mappingUpdateThreads;
 
     @Inject
     public IndicesClusterStateService(
@@ -191,6 +207,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
         this.client = client;
         this.shardLockRetryInterval = SHARD_LOCK_RETRY_INTERVAL_SETTING.get(settings);
         this.shardLockRetryTimeout = SHARD_LOCK_RETRY_TIMEOUT_SETTING.get(settings);
+        this.mappingUpdateThreads = MAPPING_UPDATE_THREADS_SETTING.get(settings);
     }
 
     @Override
@@ -484,35 +501,89 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             }
         }
 
+        final Map<Index, AllocatedIndex<? extends Shard>> createdIndices = new LinkedHashMap<>();
         for (Map.Entry<Index, List<ShardRouting>> entry : indicesToCreate.entrySet()) {
             final Index index = entry.getKey();
-            final IndexMetadata indexMetadata = state.metadata().index(index);
             logger.debug("[{}] creating index", index);
-
-            AllocatedIndex<? extends Shard> indexService = null;
             try {
-                indexService = indicesService.createIndex(indexMetadata, buildInIndexListener, true);
-                indexService.updateMapping(null, indexMetadata);
+                createdIndices.put(index, indicesService.createIndex(state.metadata().index(index), buildInIndexListener, true));
             } catch (Exception e) {
-                final String failShardReason;
-                if (indexService == null) {
-                    failShardReason = "failed to create index";
-                } else {
-                    failShardReason = "failed to update mapping for index";
-                    indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
-                }
                 for (ShardRouting shardRouting : entry.getValue()) {
-                    sendFailShard(shardRouting, failShardReason, e, state);
+                    sendFailShard(shardRouting, "failed to create index", e, state);
+                }
+            }
+        }
+
+        final Map<Index, Exception> mappingFailures = updateMappings(state, createdIndices);
+        for (Map.Entry<Index, AllocatedIndex<? extends Shard>> entry : createdIndices.entrySet()) {
+            final Index index = entry.getKey();
+            final Exception mappingFailure = mappingFailures.get(index);
+            if (mappingFailure != null) {
+                indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
+                for (ShardRouting shardRouting : indicesToCreate.get(index)) {
+                    sendFailShard(shardRouting, "failed to update mapping for index", mappingFailure, state);
                 }
                 continue;
             }
             // we succeeded in creating the index service, so now we can create the missing shards assigned to this node
-            for (ShardRouting shardRouting : entry.getValue()) {
-                createOrUpdateShard(state, shardRouting, indexService);
+            for (ShardRouting shardRouting : indicesToCreate.get(index)) {
+                createOrUpdateShard(state, shardRouting, entry.getValue());
             }
         }
     }
 
+    /**
+     * Parses the mappings of newly created indices. This is the expensive part of creating an index, and each index has its own
+     * {@link org.elasticsearch.index.mapper.MapperService}, so we spread the indices over up to {@link #MAPPING_UPDATE_THREADS_SETTING}
+     * threads. The applier thread takes part too, so it makes progress even if the generic pool doesn't run the helpers, and then waits
+     * only for the indices which the helpers are already parsing.
+     *
+     * @return the failures by index
+     */
+    private Map<Index, Exception> updateMappings(ClusterState state, Map<Index, AllocatedIndex<? extends Shard>> createdIndices) {
+        final List<Map.Entry<Index, AllocatedIndex<? extends Shard>>> indices = List.copyOf(createdIndices.entrySet());
+        final Map<Index, Exception> failures = ConcurrentCollections.newConcurrentMap();
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final CountDownLatch remaining = new CountDownLatch(indices.size());
+        final Runnable updateMappings = () -> {
+            int i;
+            while ((i = nextIndex.getAndIncrement()) < indices.size()) {
+                final Map.Entry<Index, AllocatedIndex<? extends Shard>> entry = indices.get(i);
+                try {
+                    entry.getValue().updateMapping(null, state.metadata().index(entry.getKey()));
+                } catch (Exception e) {
+                    failures.put(entry.getKey(), e);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        };
+        for (int helper = 1; helper < Math.min(mappingUpdateThreads, indices.size()); helper++) {
+            try {
+                threadPool.generic().execute(updateMappings);
+            } catch (EsRejectedExecutionException e) {
+                // shutting down, the applier thread does the rest of the work itself
+                break;
+            }
+        }
+        updateMappings.run();
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                remaining.await();
+                break;
+            } catch (InterruptedException e) {
+                // the helpers are almost done and we must not process the results until they have finished
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return failures;
+    }
+
     private void createOrUpdateShard(ClusterState state, ShardRouting shardRouting, AllocatedIndex<? extends Shard> indexService) {
         Shard shard = indexService.getShardOrNull(shardRouting.shardId().id());
         if (shard == null) {
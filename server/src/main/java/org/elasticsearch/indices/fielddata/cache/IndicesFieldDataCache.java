@@ -24,6 +24,7 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.index.Index;
@@ -37,6 +38,8 @@ import org.elasticsearch.index.shard.ShardUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.ToLongBiFunction;
 
 public final class IndicesFieldDataCache implements RemovalListener<IndicesFieldDataCache.Key, Accountable>, Releasable {
@@ -111,6 +114,12 @@ public final class IndicesFieldDataCache implements RemovalListener<IndicesField
         final String fieldName;
         private final Cache<Key, Accountable> cache;
         private final Listener[] listeners;
+        /**
+         * The key of the global field data most recently built for each shard.
+         * Building global field data for a new reader may reuse parts of it if
+         * it's still cached.
+         */
+        private final Map<ShardId, Key> lastGlobalKeys = ConcurrentCollections.newConcurrentMap();
 
         IndexFieldCache(final Cache<Key, Accountable> cache, Index index, String fieldName, Listener... listeners) {
             this.listeners = listeners;
@@ -161,7 +170,12 @@ public final class IndicesFieldDataCache implements RemovalListener<IndicesField
             final Accountable accountable = cache.computeIfAbsent(key, k -> {
                 ElasticsearchDirectoryReader.addReaderCloseListener(indexReader, IndexFieldCache.this);
                 Collections.addAll(k.listeners, this.listeners);
-                final IndexFieldData<?> ifd = indexFieldData.loadGlobalDirect(indexReader);
+                final Key previousKey = shardId == null ? null : lastGlobalKeys.get(shardId);
+                final Accountable previous = previousKey == null ? null : cache.get(previousKey);
+                final IndexFieldData<?> ifd = indexFieldData.loadGlobalDirect(indexReader, previous);
+                if (shardId != null) {
+                    lastGlobalKeys.put(shardId, k);
+                }
                 for (Listener listener : k.listeners) {
                     try {
                         listener.onCache(shardId, fieldName, (Accountable) ifd);
@@ -178,14 +192,21 @@ public final class IndicesFieldDataCache implements RemovalListener<IndicesField
             return (IFD) accountable;
         }
 
+        // Visible for testing
+        Set<ShardId> shardsWithLastGlobalKey() {
+            return lastGlobalKeys.keySet();
+        }
+
         @Override
         public void onClose(CacheKey key) {
             cache.invalidate(new Key(this, key, null));
+            lastGlobalKeys.values().removeIf(k -> k.readerKey.equals(key));
             // don't call cache.cleanUp here as it would have bad performance implications
         }
 
         @Override
         public void clear() {
+            lastGlobalKeys.clear();
             for (Key key : cache.keys()) {
                 if (key.indexCache.index.equals(index)) {
                     cache.invalidate(key);
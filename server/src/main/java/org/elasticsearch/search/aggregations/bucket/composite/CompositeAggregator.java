@@ -455,6 +455,13 @@ public final class CompositeAggregator extends BucketsAggregator implements Size
     protected LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
         finishLeaf();
 
+        if (rawAfterKey != null
+            && sourceConfigs[0].hasScript() == false
+            && sources[0].isSegmentBeforeAfter(aggCtx.getLeafReaderContext())) {
+            // Every key in this segment sorts before the after key so it can't contribute to this page.
+            return LeafBucketCollector.NO_OP_COLLECTOR;
+        }
+
         boolean fillDocIdSet = deferredCollectors != NO_OP_BUCKET_COLLECTOR;
 
         Sort indexSortPrefix = buildIndexSortPrefix(aggCtx.getLeafReaderContext());
@@ -628,6 +635,8 @@ public final class CompositeAggregator extends BucketsAggregator implements Size
         super.collectDebugInfo(add);
         if (sources[0] instanceof GlobalOrdinalValuesSource globalOrdinalValuesSource) {
             globalOrdinalValuesSource.collectDebugInfo(Strings.format("sources.%s", sourceConfigs[0].name()), add);
+        } else if (sources[0] instanceof LongValuesSource longValuesSource) {
+            longValuesSource.collectDebugInfo(Strings.format("sources.%s", sourceConfigs[0].name()), add);
         }
     }
 
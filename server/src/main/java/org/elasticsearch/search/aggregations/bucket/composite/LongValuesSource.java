@@ -12,6 +12,7 @@ import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.search.BoostQuery;
 import org.apache.lucene.search.ConstantScoreQuery;
@@ -20,6 +21,7 @@ import org.apache.lucene.search.IndexOrDocValuesQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PointRangeQuery;
 import org.apache.lucene.search.Query;
+import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.BitArray;
 import org.elasticsearch.common.util.LongArray;
@@ -32,6 +34,7 @@ import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
 
 import java.io.IOException;
+import java.util.function.BiConsumer;
 import java.util.function.LongUnaryOperator;
 import java.util.function.ToLongFunction;
 
@@ -47,6 +50,7 @@ class LongValuesSource extends SingleDimensionValuesSource<Long> {
     private LongArray values;
     private long currentValue;
     private boolean missingCurrentValue;
+    private int segmentsSkippedBeforeAfter;
 
     LongValuesSource(
         BigArrays bigArrays,
@@ -251,33 +255,61 @@ class LongValuesSource extends SingleDimensionValuesSource<Long> {
             upperPoint = null;
         }
 
-        if (fieldType instanceof NumberFieldMapper.NumberFieldType ft) {
-            final ToLongFunction<byte[]> toBucketFunction;
-
-            switch (ft.typeName()) {
-                case "long":
-                    toBucketFunction = (value) -> rounding.applyAsLong(LongPoint.decodeDimension(value, 0));
-                    break;
-
-                case "int":
-                case "short":
-                case "byte":
-                    toBucketFunction = (value) -> rounding.applyAsLong(IntPoint.decodeDimension(value, 0));
-                    break;
+        ToLongFunction<byte[]> toBucketFunction = pointToBucketFunction();
+        if (toBucketFunction == null) {
+            return null;
+        }
+        return new PointsSortedDocsProducer(fieldType.name(), toBucketFunction, lowerPoint, upperPoint);
+    }
 
-                default:
-                    return null;
-            }
-            return new PointsSortedDocsProducer(fieldType.name(), toBucketFunction, lowerPoint, upperPoint);
+    /**
+     * Build a function that converts an encoded point of the field into
+     * the bucket value or {@code null} if we can't decode the points.
+     */
+    private ToLongFunction<byte[]> pointToBucketFunction() {
+        if (fieldType instanceof NumberFieldMapper.NumberFieldType ft) {
+            return switch (ft.typeName()) {
+                case "long" -> (value) -> rounding.applyAsLong(LongPoint.decodeDimension(value, 0));
+                case "int", "short", "byte" -> (value) -> rounding.applyAsLong(IntPoint.decodeDimension(value, 0));
+                default -> null;
+            };
         } else if (fieldType instanceof DateFieldMapper.DateFieldType) {
             ToLongFunction<byte[]> decode = ((DateFieldMapper.DateFieldType) fieldType).resolution()::parsePointAsMillis;
-            ToLongFunction<byte[]> toBucketFunction = value -> rounding.applyAsLong(decode.applyAsLong(value));
-            return new PointsSortedDocsProducer(fieldType.name(), toBucketFunction, lowerPoint, upperPoint);
+            return value -> rounding.applyAsLong(decode.applyAsLong(value));
         } else {
             return null;
         }
     }
 
+    @Override
+    boolean isSegmentBeforeAfter(LeafReaderContext context) throws IOException {
+        if (afterValue == null || missingBucket || fieldType == null || fieldType.isIndexed() == false) {
+            return false;
+        }
+        ToLongFunction<byte[]> toBucketFunction = pointToBucketFunction();
+        if (toBucketFunction == null) {
+            return false;
+        }
+        PointValues points = context.reader().getPointValues(fieldType.name());
+        if (points == null) {
+            return false;
+        }
+        /*
+         * Rounding never changes the order of values so the largest point
+         * (smallest if the order is reversed) is the last bucket in the segment.
+         */
+        long last = toBucketFunction.applyAsLong(reverseMul == 1 ? points.getMaxPackedValue() : points.getMinPackedValue());
+        if (compareValues(last, afterValue) < 0) {
+            segmentsSkippedBeforeAfter++;
+            return true;
+        }
+        return false;
+    }
+
+    void collectDebugInfo(String namespace, BiConsumer<String, Object> add) {
+        add.accept(Strings.format("%s.segments_skipped_before_after", namespace), segmentsSkippedBeforeAfter);
+    }
+
     @Override
     public void close() {
         Releasables.close(values, bits);
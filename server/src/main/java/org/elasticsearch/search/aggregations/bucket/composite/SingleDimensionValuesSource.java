@@ -134,6 +134,17 @@ abstract class SingleDimensionValuesSource<T extends Comparable<T>> implements R
     abstract LeafBucketCollector getLeafCollector(Comparable<T> value, LeafReaderContext context, LeafBucketCollector next)
         throws IOException;
 
+    /**
+     * Returns {@code true} if every value this source can produce in the
+     * segment sorts before the {@link #setAfter after value}. Then no
+     * document in the segment can be part of a composite key after the after
+     * key when this is the leading source, so the segment can be skipped.
+     * Sources that can't tell cheaply return {@code false}.
+     */
+    boolean isSegmentBeforeAfter(LeafReaderContext context) throws IOException {
+        return false;
+    }
+
     /**
      * Returns a {@link SortedDocsProducer} or null if this source cannot produce sorted docs.
      */
@@ -203,6 +203,11 @@ public class FilterByFilterAggregator extends FiltersAggregator {
      * perform the count from metadata or had to fall back.
      */
     private int segmentsCounted;
+    /**
+     * Counts all of the filters with a single walk of the points index if
+     * they are all ranges on the same field, {@code null} otherwise.
+     */
+    private final MultiPointRangeCounter multiPointRangeCounter;
 
     /**
      * Build the aggregation. Private to force callers to go through the
@@ -221,6 +226,7 @@ public class FilterByFilterAggregator extends FiltersAggregator {
         Map<String, Object> metadata
     ) throws IOException {
         super(name, factories, filters, keyed, keyedBucket, null, aggCtx, parent, cardinality, metadata);
+        this.multiPointRangeCounter = filters.size() > 1 ? MultiPointRangeCounter.build(filters) : null;
     }
 
     /**
@@ -265,6 +271,16 @@ public class FilterByFilterAggregator extends FiltersAggregator {
      * all opt out of needing any sort of collection.
      */
     private void collectCount(LeafReaderContext ctx, Bits live) throws IOException {
+        if (multiPointRangeCounter != null && live == null && docCountProvider.alwaysOne()) {
+            long[] counts = multiPointRangeCounter.count(ctx.reader());
+            if (counts != null) {
+                for (int filterOrd = 0; filterOrd < filters().size(); filterOrd++) {
+                    incrementBucketDocCount(filterOrd, counts[filterOrd]);
+                    filters().get(filterOrd).segmentsCountedInConstantTime++;
+                }
+                return;
+            }
+        }
         Counter counter = new Counter(docCountProvider);
         for (int filterOrd = 0; filterOrd < filters().size(); filterOrd++) {
             incrementBucketDocCount(filterOrd, filters().get(filterOrd).count(ctx, counter, live));
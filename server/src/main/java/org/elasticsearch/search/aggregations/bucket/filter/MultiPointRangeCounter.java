@@ -0,0 +1,181 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.filter;
+
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.ArrayUtil.ByteArrayComparator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts the documents matching many single dimensional
+ * {@link PointRangeQuery}s on the same field with a single walk of the BKD
+ * tree. Counting each range with {@link org.apache.lucene.search.Weight#count}
+ * walks the tree once per range which adds up when a {@code range} or
+ * {@code date_histogram} aggregation rewrites into dozens of filters.
+ * <p>
+ * Like {@linkplain org.apache.lucene.search.Weight#count} on a
+ * {@linkplain PointRangeQuery} this only works on segments where every
+ * document has at most one point because the tree counts points, not documents.
+ */
+final class MultiPointRangeCounter {
+    /**
+     * Build the counter if all filters are ranges on the same field or
+     * {@code null} if they aren't.
+     */
+    static MultiPointRangeCounter build(List<QueryToFilterAdapter> filters) {
+        String field = null;
+        int bytesPerDim = -1;
+        byte[][] lowers = new byte[filters.size()][];
+        byte[][] uppers = new byte[filters.size()][];
+        for (int i = 0; i < filters.size(); i++) {
+            Query query = QueryToFilterAdapter.unwrap(filters.get(i).query());
+            if (query instanceof MergedPointRangeQuery merged) {
+                // We only count single valued segments so we can use the intersection of the ranges
+                query = merged.delegateForSingleValuedSegments();
+            }
+            if (query instanceof MatchNoDocsQuery) {
+                continue;
+            }
+            if (false == query instanceof PointRangeQuery range) {
+                return null;
+            }
+            if (range.getNumDims() != 1) {
+                return null;
+            }
+            if (field == null) {
+                field = range.getField();
+                bytesPerDim = range.getBytesPerDim();
+            } else if (false == field.equals(range.getField()) || bytesPerDim != range.getBytesPerDim()) {
+                return null;
+            }
+            lowers[i] = range.getLowerPoint();
+            uppers[i] = range.getUpperPoint();
+        }
+        if (field == null) {
+            return null;
+        }
+        return new MultiPointRangeCounter(field, bytesPerDim, lowers, uppers);
+    }
+
+    private final String field;
+    private final int bytesPerDim;
+    private final ByteArrayComparator comparator;
+    /**
+     * Inclusive lower bound of each range or {@code null} if the range can't match anything.
+     */
+    private final byte[][] lowers;
+    /**
+     * Inclusive upper bound of each range or {@code null} if the range can't match anything.
+     */
+    private final byte[][] uppers;
+
+    private MultiPointRangeCounter(String field, int bytesPerDim, byte[][] lowers, byte[][] uppers) {
+        this.field = field;
+        this.bytesPerDim = bytesPerDim;
+        this.comparator = ArrayUtil.getUnsignedComparator(bytesPerDim);
+        this.lowers = lowers;
+        this.uppers = uppers;
+    }
+
+    /**
+     * Count the documents in each range.
+     * @return the count for each range in the order of the filters or
+     *         {@code null} if this segment can't be counted this way
+     */
+    long[] count(LeafReader reader) throws IOException {
+        long[] counts = new long[lowers.length];
+        PointValues points = reader.getPointValues(field);
+        if (points == null) {
+            return counts;
+        }
+        if (points.getNumIndexDimensions() != 1 || points.getBytesPerDimension() != bytesPerDim) {
+            return null;
+        }
+        if (points.size() != points.getDocCount()) {
+            // Some documents have more than one point
+            return null;
+        }
+        count(points.getPointTree(), counts);
+        return counts;
+    }
+
+    private void count(PointValues.PointTree tree, long[] counts) throws IOException {
+        byte[] min = tree.getMinPackedValue();
+        byte[] max = tree.getMaxPackedValue();
+        boolean crosses = false;
+        boolean overlaps = false;
+        for (int r = 0; r < lowers.length; r++) {
+            if (lowers[r] == null || disjoint(r, min, max)) {
+                continue;
+            }
+            overlaps = true;
+            if (false == contains(r, min, max)) {
+                crosses = true;
+                break;
+            }
+        }
+        if (false == overlaps) {
+            return;
+        }
+        if (false == crosses) {
+            // Every range that overlaps this cell contains all of it
+            long size = tree.size();
+            for (int r = 0; r < lowers.length; r++) {
+                if (lowers[r] != null && false == disjoint(r, min, max)) {
+                    counts[r] += size;
+                }
+            }
+            return;
+        }
+        if (tree.moveToChild()) {
+            do {
+                count(tree, counts);
+            } while (tree.moveToSibling());
+            tree.moveToParent();
+            return;
+        }
+        tree.visitDocValues(new PointValues.IntersectVisitor() {
+            @Override
+            public void visit(int docID) {
+                throw new UnsupportedOperationException("only called for cells inside the query");
+            }
+
+            @Override
+            public void visit(int docID, byte[] packedValue) {
+                for (int r = 0; r < lowers.length; r++) {
+                    if (lowers[r] != null
+                        && comparator.compare(packedValue, 0, lowers[r], 0) >= 0
+                        && comparator.compare(packedValue, 0, uppers[r], 0) <= 0) {
+                        counts[r]++;
+                    }
+                }
+            }
+
+            @Override
+            public PointValues.Relation compare(byte[] minPackedValue, byte[] maxPackedValue) {
+                return PointValues.Relation.CELL_CROSSES_QUERY;
+            }
+        });
+    }
+
+    private boolean disjoint(int r, byte[] min, byte[] max) {
+        return comparator.compare(max, 0, lowers[r], 0) < 0 || comparator.compare(min, 0, uppers[r], 0) > 0;
+    }
+
+    private boolean contains(int r, byte[] min, byte[] max) {
+        return comparator.compare(min, 0, lowers[r], 0) >= 0 && comparator.compare(max, 0, uppers[r], 0) <= 0;
+    }
+}
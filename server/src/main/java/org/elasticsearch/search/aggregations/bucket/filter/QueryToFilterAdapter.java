@@ -152,7 +152,7 @@ public class QueryToFilterAdapter {
         };
     }
 
-    private static Query unwrap(Query query) {
+    static Query unwrap(Query query) {
         while (true) {
             if (query instanceof ConstantScoreQuery) {
                 query = ((ConstantScoreQuery) query).getQuery();
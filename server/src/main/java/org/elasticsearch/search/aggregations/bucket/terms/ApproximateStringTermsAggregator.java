@@ -0,0 +1,177 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.search.ScoreMode;
+import org.elasticsearch.common.util.ObjectArray;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.aggregations.AggregationExecutionContext;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.InternalOrder;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An aggregator of string values that only tracks the most frequent terms
+ * using a {@link SpaceSavingSketch} sized to {@code shard_size}. Unlike the
+ * {@link MapStringTermsAggregator} its memory usage is bounded no matter how
+ * many distinct terms the field has, but the counts it returns are
+ * approximate. The error is reported in {@code doc_count_error_upper_bound}.
+ * <p>
+ * This only supports {@code _count} descending order and no sub-aggregations
+ * because terms can be evicted from the sketch at any point during collection.
+ */
+public final class ApproximateStringTermsAggregator extends AbstractStringTermsAggregator {
+    private final MapStringTermsAggregator.CollectorSource collectorSource;
+    private final IncludeExclude.StringFilter includeExclude;
+    private ObjectArray<SpaceSavingSketch> sketches;
+
+    public ApproximateStringTermsAggregator(
+        String name,
+        AggregatorFactories factories,
+        MapStringTermsAggregator.CollectorSource collectorSource,
+        BucketOrder order,
+        DocValueFormat format,
+        BucketCountThresholds bucketCountThresholds,
+        IncludeExclude.StringFilter includeExclude,
+        AggregationContext context,
+        Aggregator parent,
+        SubAggCollectionMode collectionMode,
+        boolean showTermDocCountError,
+        Map<String, Object> metadata
+    ) throws IOException {
+        super(name, factories, context, parent, order, format, bucketCountThresholds, collectionMode, showTermDocCountError, metadata);
+        assert factories.countAggregators() == 0 : "approximate terms doesn't support sub-aggregations";
+        assert InternalOrder.isCountDesc(order) : "approximate terms only supports _count desc order";
+        this.includeExclude = includeExclude;
+        this.sketches = context.bigArrays().newObjectArray(1);
+        // set last because if there is an error during construction the collector gets release outside the constructor.
+        this.collectorSource = collectorSource;
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        if (collectorSource.needsScores()) {
+            return ScoreMode.COMPLETE;
+        }
+        return super.scoreMode();
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
+        return collectorSource.getLeafCollector(
+            includeExclude,
+            aggCtx.getLeafReaderContext(),
+            sub,
+            this::addRequestCircuitBreakerBytes,
+            (s, doc, owningBucketOrd, bytes) -> sketch(owningBucketOrd).add(bytes)
+        );
+    }
+
+    private SpaceSavingSketch sketch(long owningBucketOrd) {
+        sketches = bigArrays().grow(sketches, owningBucketOrd + 1);
+        SpaceSavingSketch sketch = sketches.get(owningBucketOrd);
+        if (sketch == null) {
+            sketch = new SpaceSavingSketch(bucketCountThresholds.getShardSize(), this::addRequestCircuitBreakerBytes);
+            sketches.set(owningBucketOrd, sketch);
+        }
+        return sketch;
+    }
+
+    @Override
+    public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
+        InternalAggregation[] results = new InternalAggregation[owningBucketOrds.length];
+        for (int ordIdx = 0; ordIdx < owningBucketOrds.length; ordIdx++) {
+            SpaceSavingSketch sketch = owningBucketOrds[ordIdx] < sketches.size() ? sketches.get(owningBucketOrds[ordIdx]) : null;
+            if (sketch == null) {
+                results[ordIdx] = buildEmptyTermsAggregation();
+                continue;
+            }
+            List<StringTerms.Bucket> buckets = new ArrayList<>(sketch.size());
+            long otherDocCount = sketch.total();
+            for (int slot = 0; slot < sketch.size(); slot++) {
+                if (sketch.count(slot) < bucketCountThresholds.getShardMinDocCount()) {
+                    continue;
+                }
+                /*
+                 * The sketch over-estimates so we report the guaranteed lower
+                 * bound as the doc count and the rest as the doc count error.
+                 * That's the same shape as the error the reduction produces
+                 * when a term is missing from some shards.
+                 */
+                long docCount = sketch.count(slot) - sketch.error(slot);
+                otherDocCount -= docCount;
+                buckets.add(
+                    new StringTerms.Bucket(
+                        sketch.key(slot),
+                        docCount,
+                        InternalAggregations.EMPTY,
+                        showTermDocCountError,
+                        sketch.error(slot),
+                        format
+                    )
+                );
+            }
+            BucketOrder reduceOrder = InternalOrder.key(true);
+            buckets.sort(reduceOrder.comparator());
+            results[ordIdx] = new StringTerms(
+                name,
+                reduceOrder,
+                order,
+                bucketCountThresholds.getRequiredSize(),
+                bucketCountThresholds.getMinDocCount(),
+                metadata(),
+                format,
+                bucketCountThresholds.getShardSize(),
+                showTermDocCountError,
+                otherDocCount,
+                buckets,
+                sketch.maxUntrackedCount()
+            );
+        }
+        return results;
+    }
+
+    @Override
+    public InternalAggregation buildEmptyAggregation() {
+        return buildEmptyTermsAggregation();
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        long trackedTerms = 0;
+        for (long i = 0; i < sketches.size(); i++) {
+            SpaceSavingSketch sketch = sketches.get(i);
+            if (sketch != null) {
+                trackedTerms += sketch.size();
+            }
+        }
+        add.accept("total_buckets", trackedTerms);
+        add.accept("collection_strategy", collectorSource.describe());
+        collectorSource.collectDebugInfo(add);
+        add.accept("result_strategy", "approximate_terms");
+    }
+
+    @Override
+    public void doClose() {
+        Releasables.close(collectorSource, sketches);
+    }
+}
@@ -9,8 +9,14 @@
 package org.elasticsearch.search.aggregations.bucket.terms;
 
 import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.PriorityQueue;
@@ -18,6 +24,7 @@ import org.elasticsearch.common.CheckedSupplier;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.LongArray;
 import org.elasticsearch.common.util.LongHash;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.search.DocValueFormat;
@@ -63,6 +70,21 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
     protected final CollectionStrategy collectionStrategy;
     protected int segmentsWithSingleValuedOrds = 0;
     protected int segmentsWithMultiValuedOrds = 0;
+    protected int segmentsCountedFromTermsDictionary = 0;
+    /**
+     * Can we count entire segments from the {@code docFreq} in the terms
+     * dictionary? Only if nothing in the request needs to see the
+     * individual documents.
+     */
+    private final boolean canCountFromTermsDictionary;
+    /**
+     * The indexed field whose terms dictionary contains exactly the terms in
+     * our doc values or {@code null} if there isn't one.
+     */
+    @Nullable
+    private final String termsDictionaryField;
+    private final AggregationContext context;
+    private Weight topLevelWeight;
 
     public interface GlobalOrdLookupFunction {
         BytesRef apply(long ord) throws IOException;
@@ -75,6 +97,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         Function<GlobalOrdinalsStringTermsAggregator, ResultStrategy<?, ?, ?>> resultStrategy,
         ValuesSource.Bytes.WithOrdinals valuesSource,
         CheckedSupplier<SortedSetDocValues, IOException> valuesSupplier,
+        @Nullable String termsDictionaryField,
         BucketOrder order,
         DocValueFormat format,
         BucketCountThresholds bucketCountThresholds,
@@ -104,6 +127,16 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 return new DenseGlobalOrds();
             });
         }
+        this.context = context;
+        this.termsDictionaryField = termsDictionaryField;
+        this.canCountFromTermsDictionary = parent == null
+            && subAggregators.length == 0
+            && this.resultStrategy instanceof StandardTermsResults
+            && termsDictionaryField != null
+            && valuesSource.supportsGlobalOrdinalsMapping()
+            && context.enableRewriteToFilterByFilter()
+            && context.isInSortOrderExecutionRequired() == false
+            && context.hasDocCountField() == false;
     }
 
     String descriptCollectionStrategy() {
@@ -114,6 +147,17 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
     public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
         SortedSetDocValues globalOrds = valuesSource.globalOrdinalsValues(aggCtx.getLeafReaderContext());
         collectionStrategy.globalOrdsReady(globalOrds);
+        if (canCountFromTermsDictionary) {
+            LongUnaryOperator mapping = valuesSource.globalOrdinalsMapping(aggCtx.getLeafReaderContext());
+            if (countFromTermsDictionary(aggCtx.getLeafReaderContext(), (segmentOrd, docFreq) -> {
+                long globalOrd = mapping.applyAsLong(segmentOrd);
+                if (acceptedGlobalOrdinals.test(globalOrd)) {
+                    collectionStrategy.countGlobalOrd(0, globalOrd, docFreq);
+                }
+            })) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
+        }
         SortedDocValues singleValues = DocValues.unwrapSingleton(globalOrds);
         if (singleValues != null) {
             segmentsWithSingleValuedOrds++;
@@ -181,6 +225,48 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         });
     }
 
+    /**
+     * Count all the terms in a segment from the {@code docFreq} in its terms
+     * dictionary rather than by iterating the doc values. Lucene computes the
+     * {@code docFreq} when it writes the segment so this is only reading
+     * statistics that were precomputed at index and merge time. That's only
+     * right if the top level query matches every document in the segment, the
+     * segment has no deletions, and the indexed terms are exactly the terms in
+     * the doc values. The last one comes from the mapping so we know it up front
+     * without comparing the terms.
+     *
+     * @return {@code true} if the segment was counted, {@code false} if it must be collected normally
+     */
+    protected final boolean countFromTermsDictionary(LeafReaderContext ctx, SegmentOrdCounter counter) throws IOException {
+        if (false == canCountFromTermsDictionary || ctx.reader().getLiveDocs() != null) {
+            return false;
+        }
+        if (topLevelWeight == null) {
+            IndexSearcher searcher = context.searcher();
+            topLevelWeight = searcher.createWeight(searcher.rewrite(context.query()), ScoreMode.COMPLETE_NO_SCORES, 1.0f);
+        }
+        if (topLevelWeight.count(ctx) != ctx.reader().maxDoc()) {
+            return false;
+        }
+        Terms terms = ctx.reader().terms(termsDictionaryField);
+        if (terms == null) {
+            return false;
+        }
+        assert terms.size() == -1 || terms.size() == valuesSource.ordinalsValues(ctx).getValueCount()
+            : "terms dictionary of [" + termsDictionaryField + "] doesn't match its doc values";
+        TermsEnum indexed = terms.iterator();
+        for (long segmentOrd = 0; indexed.next() != null; segmentOrd++) {
+            counter.count(segmentOrd, indexed.docFreq());
+        }
+        segmentsCountedFromTermsDictionary++;
+        return true;
+    }
+
+    @FunctionalInterface
+    protected interface SegmentOrdCounter {
+        void count(long segmentOrd, long docCount) throws IOException;
+    }
+
     @Override
     public InternalAggregation[] buildAggregations(long[] owningBucketOrds) throws IOException {
         return resultStrategy.buildAggregations(owningBucketOrds);
@@ -199,6 +285,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
         add.accept("result_strategy", resultStrategy.describe());
         add.accept("segments_with_single_valued_ords", segmentsWithSingleValuedOrds);
         add.accept("segments_with_multi_valued_ords", segmentsWithMultiValuedOrds);
+        add.accept("segments_counted_from_terms_dictionary", segmentsCountedFromTermsDictionary);
         add.accept("has_filter", acceptedGlobalOrdinals != ALWAYS_TRUE);
     }
 
@@ -270,6 +357,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             Function<GlobalOrdinalsStringTermsAggregator, ResultStrategy<?, ?, ?>> resultStrategy,
             ValuesSource.Bytes.WithOrdinals valuesSource,
             CheckedSupplier<SortedSetDocValues, IOException> valuesSupplier,
+            @Nullable String termsDictionaryField,
             BucketOrder order,
             DocValueFormat format,
             BucketCountThresholds bucketCountThresholds,
@@ -286,6 +374,7 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 resultStrategy,
                 valuesSource,
                 valuesSupplier,
+                termsDictionaryField,
                 order,
                 format,
                 bucketCountThresholds,
@@ -314,6 +403,12 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
                 return LeafBucketCollector.NO_OP_COLLECTOR;
             }
             segmentDocCounts = bigArrays().grow(segmentDocCounts, 1 + segmentOrds.getValueCount());
+            if (countFromTermsDictionary(
+                aggCtx.getLeafReaderContext(),
+                (segmentOrd, docCount) -> segmentDocCounts.increment(segmentOrd + 1, docCount)
+            )) {
+                return LeafBucketCollector.NO_OP_COLLECTOR;
+            }
             assert sub.isNoop();
             final SortedDocValues singleValues = DocValues.unwrapSingleton(segmentOrds);
             // Dense mode doesn't support include/exclude so we don't have to check it here.
@@ -419,6 +514,12 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
          */
         abstract void collectGlobalOrd(long owningBucketOrd, int doc, long globalOrd, LeafBucketCollector sub) throws IOException;
 
+        /**
+         * Add {@code docCount} to the bucket for a global ordinal without
+         * collecting any documents. Only valid without sub-aggregations.
+         */
+        abstract void countGlobalOrd(long owningBucketOrd, long globalOrd, long docCount);
+
         /**
          * Convert a global ordinal into a bucket ordinal.
          */
@@ -466,6 +567,12 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             collectExistingBucket(sub, doc, globalOrd);
         }
 
+        @Override
+        void countGlobalOrd(long owningBucketOrd, long globalOrd, long docCount) {
+            assert owningBucketOrd == 0;
+            incrementBucketDocCount(globalOrd, docCount);
+        }
+
         @Override
         long globalOrdToBucketOrd(long owningBucketOrd, long globalOrd) {
             assert owningBucketOrd == 0;
@@ -527,6 +634,15 @@ public class GlobalOrdinalsStringTermsAggregator extends AbstractStringTermsAggr
             }
         }
 
+        @Override
+        void countGlobalOrd(long owningBucketOrd, long globalOrd, long docCount) {
+            long bucketOrd = bucketOrds.add(owningBucketOrd, globalOrd);
+            if (bucketOrd < 0) {
+                bucketOrd = -1 - bucketOrd;
+            }
+            incrementBucketDocCount(bucketOrd, docCount);
+        }
+
         @Override
         long globalOrdToBucketOrd(long owningBucketOrd, long globalOrd) {
             return bucketOrds.find(owningBucketOrd, globalOrd);
@@ -373,6 +373,7 @@ public class SignificantTermsAggregatorFactory extends ValuesSourceAggregatorFac
                     ordinalsValuesSource,
                     () -> TermsAggregatorFactory.globalOrdsValues(context, ordinalsValuesSource),
                     null,
+                    null,
                     format,
                     bucketCountThresholds,
                     TermsAggregatorFactory.gloabalOrdsFilter(includeExclude, format, values),
@@ -0,0 +1,203 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Bounded "heavy hitters" counter implementing the Space-Saving algorithm from
+ * Metwally, Agrawal and El Abbadi's "Efficient Computation of Frequent and
+ * Top-k Elements in Data Streams".
+ * <p>
+ * The sketch tracks at most {@code capacity} keys. Once it is full every new key
+ * replaces the tracked key with the smallest count and inherits that count as
+ * its error. So the true count of every tracked key is in
+ * {@code [count - error, count]} and the true count of any key that isn't tracked
+ * is at most {@link #maxUntrackedCount()}.
+ */
+final class SpaceSavingSketch {
+    /**
+     * Rough estimate of the heap used by each slot, not counting the key bytes:
+     * the {@link BytesRef} and its array header, the entry in the lookup map
+     * and the slot's share of the primitive arrays.
+     */
+    static final long SLOT_BYTES = RamUsageEstimator.shallowSizeOfInstance(BytesRef.class) + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER
+        + 64 // HashMap.Node and the boxed slot
+        + 2 * Long.BYTES + 2 * Integer.BYTES + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+
+    private final int capacity;
+    private final LongConsumer circuitBreaker;
+    private final Map<BytesRef, Integer> slots = new HashMap<>();
+
+    private BytesRef[] keys = new BytesRef[0];
+    private long[] counts = new long[0];
+    private long[] errors = new long[0];
+    /**
+     * Min-heap of slots ordered by count so we can find the slot to replace in constant time.
+     */
+    private int[] heap = new int[0];
+    /**
+     * The position of each slot in the {@link #heap}.
+     */
+    private int[] heapIndex = new int[0];
+
+    private int size;
+    private long total;
+    private boolean evicted;
+
+    /**
+     * Build the sketch.
+     * @param capacity the maximum number of keys to track
+     * @param circuitBreaker called with the number of bytes to add to (or remove from) the breaker as the sketch grows
+     */
+    SpaceSavingSketch(int capacity, LongConsumer circuitBreaker) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0 but was [" + capacity + "]");
+        }
+        this.capacity = capacity;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Count an occurrence of {@code key}. The bytes are copied if the sketch
+     * needs to keep them so callers may reuse the {@link BytesRef}.
+     */
+    void add(BytesRef key) {
+        total++;
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot]++;
+            siftDown(heapIndex[slot]);
+            return;
+        }
+        BytesRef copy = BytesRef.deepCopyOf(key);
+        if (size < capacity) {
+            if (size == keys.length) {
+                grow();
+            }
+            circuitBreaker.accept(SLOT_BYTES + copy.length);
+            int newSlot = size++;
+            keys[newSlot] = copy;
+            counts[newSlot] = 1;
+            errors[newSlot] = 0;
+            heap[newSlot] = newSlot;
+            heapIndex[newSlot] = newSlot;
+            slots.put(copy, newSlot);
+            siftUp(newSlot);
+            return;
+        }
+        // Full - replace the key with the smallest count. It is always at the top of the heap.
+        evicted = true;
+        int minSlot = heap[0];
+        circuitBreaker.accept(copy.length - keys[minSlot].length);
+        slots.remove(keys[minSlot]);
+        keys[minSlot] = copy;
+        errors[minSlot] = counts[minSlot];
+        counts[minSlot]++;
+        slots.put(copy, minSlot);
+        siftDown(0);
+    }
+
+    /**
+     * The number of tracked keys. Slots are numbered {@code 0} to {@code size() - 1}.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The total number of times {@link #add} was called.
+     */
+    long total() {
+        return total;
+    }
+
+    /**
+     * The key tracked in a slot.
+     */
+    BytesRef key(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * The upper bound of the count for the key in a slot.
+     */
+    long count(int slot) {
+        return counts[slot];
+    }
+
+    /**
+     * The maximum amount {@link #count} over-estimates the true count of the key in a slot.
+     */
+    long error(int slot) {
+        return errors[slot];
+    }
+
+    /**
+     * The upper bound of the count of any key that isn't tracked. {@code 0} if
+     * the sketch has never had to replace a key, meaning every count is exact.
+     */
+    long maxUntrackedCount() {
+        return evicted ? counts[heap[0]] : 0;
+    }
+
+    private void grow() {
+        int newLength = Math.min(capacity, ArrayUtil.oversize(size + 1, Long.BYTES));
+        keys = Arrays.copyOf(keys, newLength);
+        counts = Arrays.copyOf(counts, newLength);
+        errors = Arrays.copyOf(errors, newLength);
+        heap = Arrays.copyOf(heap, newLength);
+        heapIndex = Arrays.copyOf(heapIndex, newLength);
+    }
+
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        long count = counts[slot];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (counts[heap[parent]] <= count) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            heapIndex[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = slot;
+        heapIndex[slot] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        long count = counts[slot];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[heap[child]] >= count) {
+                break;
+            }
+            heap[pos] = heap[child];
+            heapIndex[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = slot;
+        heapIndex[slot] = pos;
+    }
+}
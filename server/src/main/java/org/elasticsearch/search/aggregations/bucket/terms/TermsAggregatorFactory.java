@@ -15,6 +15,7 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.search.IndexSearcher;
 import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.Aggregator;
@@ -107,7 +108,7 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                 execution = ExecutionMode.fromString(executionHint);
             }
             // In some cases, using ordinals is just not supported: override it
-            if (valuesSource.hasOrdinals() == false) {
+            if (valuesSource.hasOrdinals() == false && execution != ExecutionMode.APPROXIMATE) {
                 execution = ExecutionMode.MAP;
             }
             if (execution == null) {
@@ -485,6 +486,7 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                         a -> a.new StandardTermsResults(),
                         ordinalsValuesSource,
                         () -> globalOrdsValues(context, ordinalsValuesSource),
+                        termsDictionaryField(valuesSourceConfig),
                         order,
                         valuesSourceConfig.format(),
                         bucketCountThresholds,
@@ -529,6 +531,7 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                     a -> a.new StandardTermsResults(),
                     ordinalsValuesSource,
                     () -> globalOrdsValues(context, ordinalsValuesSource),
+                    termsDictionaryField(valuesSourceConfig),
                     order,
                     valuesSourceConfig.format(),
                     bucketCountThresholds,
@@ -542,14 +545,75 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                     metadata
                 );
             }
+        },
+        APPROXIMATE(new ParseField("approximate")) {
+
+            @Override
+            Aggregator create(
+                String name,
+                AggregatorFactories factories,
+                ValuesSourceConfig valuesSourceConfig,
+                BucketOrder order,
+                TermsAggregator.BucketCountThresholds bucketCountThresholds,
+                IncludeExclude includeExclude,
+                AggregationContext context,
+                Aggregator parent,
+                SubAggCollectionMode subAggCollectMode,
+                boolean showTermDocCountError,
+                CardinalityUpperBound cardinality,
+                Map<String, Object> metadata
+            ) throws IOException {
+                if (factories.countAggregators() > 0
+                    || InternalOrder.isCountDesc(order) == false
+                    || bucketCountThresholds.getMinDocCount() == 0) {
+                    /*
+                     * The sketch can only tell us which terms are the most frequent.
+                     * Sub-aggregations, other orders, and min_doc_count: 0 all need
+                     * every term so they fall back to the exact implementation.
+                     */
+                    logger.debug("Approximate execution isn't supported for this request, falling back to map");
+                    return MAP.create(
+                        name,
+                        factories,
+                        valuesSourceConfig,
+                        order,
+                        bucketCountThresholds,
+                        includeExclude,
+                        context,
+                        parent,
+                        subAggCollectMode,
+                        showTermDocCountError,
+                        cardinality,
+                        metadata
+                    );
+                }
+                IncludeExclude.StringFilter filter = includeExclude == null
+                    ? null
+                    : includeExclude.convertToStringFilter(valuesSourceConfig.format());
+                return new ApproximateStringTermsAggregator(
+                    name,
+                    factories,
+                    new MapStringTermsAggregator.ValuesSourceCollectorSource(valuesSourceConfig),
+                    order,
+                    valuesSourceConfig.format(),
+                    bucketCountThresholds,
+                    filter,
+                    context,
+                    parent,
+                    subAggCollectMode,
+                    showTermDocCountError,
+                    metadata
+                );
+            }
         };
 
         public static ExecutionMode fromString(String value) {
             return switch (value) {
                 case "global_ordinals" -> GLOBAL_ORDINALS;
                 case "map" -> MAP;
+                case "approximate" -> APPROXIMATE;
                 default -> throw new IllegalArgumentException(
-                    "Unknown `execution_hint`: [" + value + "], expected any of [map, global_ordinals]"
+                    "Unknown `execution_hint`: [" + value + "], expected any of [map, global_ordinals, approximate]"
                 );
             };
         }
@@ -590,6 +654,20 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
         return valuesSource.globalOrdinalsValues(reader.leaves().get(0));
     }
 
+    /**
+     * The name of the indexed field whose terms dictionary contains exactly the
+     * terms in the doc values we aggregate, or {@code null} if there isn't one.
+     * {@code keyword} fields index and store doc values for the same normalized
+     * value so their terms dictionary can stand in for their doc values, but
+     * a {@code missing} value adds a term that isn't in the terms dictionary.
+     */
+    static String termsDictionaryField(ValuesSourceConfig config) {
+        if (config.alignesWithSearchIndex() && config.fieldType() instanceof KeywordFieldMapper.KeywordFieldType ft && ft.hasDocValues()) {
+            return ft.name();
+        }
+        return null;
+    }
+
     public static LongPredicate gloabalOrdsFilter(IncludeExclude includeExclude, DocValueFormat format, SortedSetDocValues values)
         throws IOException {
 
@@ -12,6 +12,7 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -124,11 +125,16 @@ public abstract class AbstractHyperLogLogPlusPlus extends AbstractCardinalityAlg
             return counts;
         } else {
             HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(precision, bigArrays, 1);
-            final int registers = 1 << precision;
-            for (int i = 0; i < registers; ++i) {
-                counts.addRunLen(0, i, in.readByte());
+            boolean success = false;
+            try {
+                counts.readRunLens(0, in);
+                success = true;
+                return counts;
+            } finally {
+                if (success == false) {
+                    Releasables.close(counts);
+                }
             }
-            return counts;
         }
     }
 
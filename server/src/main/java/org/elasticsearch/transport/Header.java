@@ -30,6 +30,7 @@ public class Header {
     String actionName;
     Tuple<Map<String, String>, Map<String, Set<String>>> headers;
     private Compression.Scheme compressionScheme = null;
+    private int contentLength = -1;
 
     Header(int networkMessageSize, long requestId, byte status, TransportVersion version) {
         this.networkMessageSize = networkMessageSize;
@@ -105,6 +106,19 @@ public class Header {
         }
     }
 
+    /**
+     * @return the number of content bytes following the header on the wire, or {@code -1} if this isn't known until the whole message
+     *         has been read, because the content is compressed or the variable header is part of the content
+     */
+    int getContentLength() {
+        return contentLength;
+    }
+
+    void setContentLength(int contentLength) {
+        assert isCompressed() == false && needsToReadVariableHeader() == false;
+        this.contentLength = contentLength;
+    }
+
     void setCompressionScheme(Compression.Scheme compressionScheme) {
         assert isCompressed();
         this.compressionScheme = compressionScheme;
@@ -31,6 +31,8 @@ public class InboundAggregator implements Releasable {
     private ReleasableBytesReference firstContent;
     private ArrayList<ReleasableBytesReference> contentAggregation;
     private Header currentHeader;
+    private BreakerControl currentBreakerControl;
+    private boolean breakerChecked = false;
     private Exception aggregationException;
     private boolean canTripBreaker = true;
     private boolean isClosed = false;
@@ -62,8 +64,15 @@ public class InboundAggregator implements Releasable {
         assert isAggregating() == false;
         assert firstContent == null && contentAggregation == null;
         currentHeader = header;
+        currentBreakerControl = new BreakerControl(circuitBreaker);
         if (currentHeader.isRequest() && currentHeader.needsToReadVariableHeader() == false) {
             initializeRequestState();
+            if (isShortCircuited() == false && currentHeader.getContentLength() >= 0) {
+                // The content length is known up front so reserve it before buffering the content. A request which trips the breaker
+                // then has its content dropped as it arrives rather than held in memory until the whole message has been read.
+                checkBreaker(currentHeader, currentHeader.getContentLength(), currentBreakerControl);
+                breakerChecked = true;
+            }
         }
     }
 
@@ -105,7 +114,8 @@ public class InboundAggregator implements Releasable {
             releasableContent = new ReleasableBytesReference(content, () -> Releasables.close(references));
         }
 
-        final BreakerControl breakerControl = new BreakerControl(circuitBreaker);
+        final BreakerControl breakerControl = currentBreakerControl;
+        currentBreakerControl = null;
         final InboundMessage aggregated = new InboundMessage(currentHeader, releasableContent, breakerControl);
         boolean success = false;
         try {
@@ -115,7 +125,10 @@ public class InboundAggregator implements Releasable {
                     initializeRequestState();
                 }
             }
-            if (isShortCircuited() == false) {
+            if (breakerChecked) {
+                assert isShortCircuited() || aggregated.getContentLength() == currentHeader.getContentLength()
+                    : aggregated.getContentLength() + " vs " + currentHeader.getContentLength();
+            } else if (isShortCircuited() == false) {
                 checkBreaker(aggregated.getHeader(), aggregated.getContentLength(), breakerControl);
             }
             if (isShortCircuited()) {
@@ -168,14 +181,17 @@ public class InboundAggregator implements Releasable {
         } else {
             Releasables.close(contentAggregation);
         }
+        Releasables.close(currentBreakerControl);
     }
 
     private void resetCurrentAggregation() {
         firstContent = null;
         contentAggregation = null;
         currentHeader = null;
+        currentBreakerControl = null;
         aggregationException = null;
         canTripBreaker = true;
+        breakerChecked = false;
     }
 
     private void ensureOpen() {
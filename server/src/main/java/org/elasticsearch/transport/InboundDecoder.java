@@ -81,6 +81,8 @@ public class InboundDecoder implements Releasable {
                     bytesConsumed += headerBytesToRead;
                     if (header.isCompressed()) {
                         isCompressed = true;
+                    } else if (header.needsToReadVariableHeader() == false) {
+                        header.setContentLength(totalNetworkSize - headerBytesToRead);
                     }
                     fragmentConsumer.accept(header);
 
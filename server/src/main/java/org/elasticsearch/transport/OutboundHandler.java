@@ -41,6 +41,7 @@ final class OutboundHandler {
     private final ThreadPool threadPool;
     private final Recycler<BytesRef> recycler;
     private final HandlingTimeTracker handlingTimeTracker;
+    private final TransportCompressionTracker compressionTracker;
     private final boolean rstOnClose;
 
     private volatile long slowLogThresholdMs = Long.MAX_VALUE;
@@ -54,6 +55,7 @@ final class OutboundHandler {
         ThreadPool threadPool,
         Recycler<BytesRef> recycler,
         HandlingTimeTracker handlingTimeTracker,
+        TransportCompressionTracker compressionTracker,
         boolean rstOnClose
     ) {
         this.nodeName = nodeName;
@@ -62,6 +64,7 @@ final class OutboundHandler {
         this.threadPool = threadPool;
         this.recycler = recycler;
         this.handlingTimeTracker = handlingTimeTracker;
+        this.compressionTracker = compressionTracker;
         this.rstOnClose = rstOnClose;
     }
 
@@ -89,6 +92,13 @@ final class OutboundHandler {
         final boolean isHandshake
     ) throws IOException, TransportException {
         TransportVersion version = TransportVersion.min(this.version, transportVersion);
+        TransportCompressionTracker.MessageTracker messageTracker = null;
+        // instances of BytesTransportRequest are never compressed
+        if (compressionScheme != null && isHandshake == false && (request instanceof BytesTransportRequest) == false) {
+            // requests are always compressed as the connection asks since the receiver compresses its response only if the request
+            // was compressed, so we only track their stats here and leave the adaptive decision to the side sending the response
+            messageTracker = compressionTracker.getTracker(action, true);
+        }
         OutboundMessage.Request message = new OutboundMessage.Request(
             threadPool.getThreadContext(),
             request,
@@ -102,7 +112,7 @@ final class OutboundHandler {
             assert false : "request [" + request + "] has been released already";
             throw new AlreadyClosedException("request [" + request + "] has been released already");
         }
-        sendMessage(channel, message, ResponseStatsConsumer.NONE, () -> {
+        sendMessage(channel, message, messageTracker, ResponseStatsConsumer.NONE, () -> {
             try {
                 messageListener.onRequestSent(node, requestId, action, request, options);
             } finally {
@@ -128,15 +138,21 @@ final class OutboundHandler {
         final ResponseStatsConsumer responseStatsConsumer
     ) throws IOException {
         TransportVersion version = TransportVersion.min(this.version, transportVersion);
+        Compression.Scheme schemeToUse = compressionScheme;
+        TransportCompressionTracker.MessageTracker messageTracker = null;
+        if (compressionScheme != null && isHandshake == false) {
+            messageTracker = compressionTracker.getTracker(action, false);
+            schemeToUse = messageTracker.selectScheme(compressionScheme);
+        }
         OutboundMessage.Response message = new OutboundMessage.Response(
             threadPool.getThreadContext(),
             response,
             version,
             requestId,
             isHandshake,
-            compressionScheme
+            schemeToUse
         );
-        sendMessage(channel, message, responseStatsConsumer, () -> {
+        sendMessage(channel, message, messageTracker, responseStatsConsumer, () -> {
             try {
                 messageListener.onResponseSent(requestId, action, response);
             } finally {
@@ -159,12 +175,13 @@ final class OutboundHandler {
         TransportVersion version = TransportVersion.min(this.version, transportVersion);
         RemoteTransportException tx = new RemoteTransportException(nodeName, channel.getLocalAddress(), action, error);
         OutboundMessage.Response message = new OutboundMessage.Response(threadPool.getThreadContext(), tx, version, requestId, false, null);
-        sendMessage(channel, message, responseStatsConsumer, () -> messageListener.onResponseSent(requestId, action, error));
+        sendMessage(channel, message, null, responseStatsConsumer, () -> messageListener.onResponseSent(requestId, action, error));
     }
 
     private void sendMessage(
         TcpChannel channel,
         OutboundMessage networkMessage,
+        @Nullable TransportCompressionTracker.MessageTracker messageTracker,
         ResponseStatsConsumer responseStatsConsumer,
         Releasable onAfter
     ) throws IOException {
@@ -192,6 +209,9 @@ final class OutboundHandler {
                 release.close();
             }
         }
+        if (messageTracker != null) {
+            messageTracker.onSerialized(networkMessage);
+        }
         responseStatsConsumer.addResponseStats(message.length());
         internalSend(channel, message, networkMessage, ActionListener.running(release::close));
     }
@@ -21,12 +21,19 @@ import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Streams;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 abstract class OutboundMessage extends NetworkMessage {
 
     protected final Writeable message;
 
+    // recorded by serialize() for the compression stats
+    private long uncompressedContentSize = -1;
+    private long compressedContentSize = -1;
+    private long compressionTimeNanos = 0;
+
     OutboundMessage(
         ThreadContext threadContext,
         TransportVersion version,
@@ -53,8 +60,11 @@ abstract class OutboundMessage extends NetworkMessage {
             variableHeaderLength = Math.toIntExact(bytesStream.position() - preHeaderPosition);
         }
 
+        final long contentStartPosition = bytesStream.position();
         final boolean compress = TransportStatus.isCompress(status);
-        final StreamOutput stream = compress ? wrapCompressed(bytesStream) : bytesStream;
+        final long compressionStartNanos = compress ? System.nanoTime() : 0L;
+        final CountingOutputStream uncompressedStream = compress ? wrapCompressed(bytesStream) : null;
+        final StreamOutput stream = compress ? new OutputStreamStreamOutput(uncompressedStream) : bytesStream;
         final BytesReference zeroCopyBuffer;
         try {
             stream.setTransportVersion(version);
@@ -79,6 +89,13 @@ abstract class OutboundMessage extends NetworkMessage {
             }
         }
         final BytesReference message = bytesStream.bytes();
+        if (compress) {
+            compressionTimeNanos = System.nanoTime() - compressionStartNanos;
+            uncompressedContentSize = uncompressedStream.count;
+            compressedContentSize = bytesStream.position() - contentStartPosition;
+        } else {
+            uncompressedContentSize = bytesStream.position() - contentStartPosition + zeroCopyBuffer.length();
+        }
         if (zeroCopyBuffer.length() == 0) {
             reference = message;
         } else {
@@ -93,18 +110,62 @@ abstract class OutboundMessage extends NetworkMessage {
 
     // compressed stream wrapped bytes must be no-close wrapped since we need to close the compressed wrapper below to release
     // resources and write EOS marker bytes but must not yet release the bytes themselves
-    private StreamOutput wrapCompressed(RecyclerBytesStreamOutput bytesStream) throws IOException {
+    private CountingOutputStream wrapCompressed(RecyclerBytesStreamOutput bytesStream) throws IOException {
         if (compressionScheme == Compression.Scheme.DEFLATE) {
-            return new OutputStreamStreamOutput(
+            return new CountingOutputStream(
                 CompressorFactory.COMPRESSOR.threadLocalOutputStream(org.elasticsearch.core.Streams.noCloseStream(bytesStream))
             );
         } else if (compressionScheme == Compression.Scheme.LZ4) {
-            return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+            return new CountingOutputStream(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
     }
 
+    /**
+     * @return the size of the content following the variable header before compression, or {@code -1} if not yet serialized
+     */
+    long getUncompressedContentSize() {
+        return uncompressedContentSize;
+    }
+
+    /**
+     * @return the size of the content following the variable header after compression, or {@code -1} if not compressed
+     */
+    long getCompressedContentSize() {
+        return compressedContentSize;
+    }
+
+    /**
+     * @return the time spent serializing and compressing the content, or {@code 0} if not compressed
+     */
+    long getCompressionTimeNanos() {
+        return compressionTimeNanos;
+    }
+
+    /**
+     * Counts the bytes written to the compressor.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count += 1;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
     protected void writeVariableHeader(StreamOutput stream) throws IOException {
         threadContext.writeTo(stream);
     }
@@ -129,6 +129,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
     private final TransportHandshaker handshaker;
     private final TransportKeepAlive keepAlive;
     private final HandlingTimeTracker outboundHandlingTimeTracker = new HandlingTimeTracker();
+    private final TransportCompressionTracker compressionTracker;
     private final OutboundHandler outboundHandler;
     private final InboundHandler inboundHandler;
     private final ResponseHandlers responseHandlers = new ResponseHandlers();
@@ -157,6 +158,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
         this.rstOnClose = TransportSettings.RST_ON_CLOSE.get(settings);
 
         this.recycler = createRecycler(settings, pageCacheRecycler);
+        this.compressionTracker = new TransportCompressionTracker(settings);
         this.outboundHandler = new OutboundHandler(
             nodeName,
             version,
@@ -164,6 +166,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             threadPool,
             recycler,
             outboundHandlingTimeTracker,
+            compressionTracker,
             rstOnClose
         );
 
@@ -1015,7 +1018,8 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             bytesWritten,
             networkService.getHandlingTimeTracker().getHistogram(),
             outboundHandlingTimeTracker.getHistogram(),
-            requestHandlers.getStats()
+            requestHandlers.getStats(),
+            compressionTracker.getStats()
         );
     }
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentObject;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Compression stats of the outbound requests and responses of a single transport action.
+ */
+public record TransportCompressionStats(MessageStats requests, MessageStats responses) implements Writeable, ToXContentObject {
+
+    public TransportCompressionStats(StreamInput in) throws IOException {
+        this(new MessageStats(in), new MessageStats(in));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        requests.writeTo(out);
+        responses.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("requests", requests);
+        builder.field("responses", responses);
+        return builder.endObject();
+    }
+
+    /**
+     * @param compressedCount  the number of messages sent compressed
+     * @param skippedCount     the number of messages which the connection would have compressed but which were sent uncompressed because
+     *                         earlier messages of the same action were too small or compressed too poorly
+     * @param uncompressedSize the total size of the compressed messages' content before compression
+     * @param compressedSize   the total size of the compressed messages' content after compression
+     * @param timeNanos        the total time spent serializing and compressing the compressed messages' content
+     */
+    public record MessageStats(long compressedCount, long skippedCount, long uncompressedSize, long compressedSize, long timeNanos)
+        implements
+            Writeable,
+            ToXContentObject {
+
+        public MessageStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(compressedCount);
+            out.writeVLong(skippedCount);
+            out.writeVLong(uncompressedSize);
+            out.writeVLong(compressedSize);
+            out.writeVLong(timeNanos);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("compressed_count", compressedCount);
+            builder.field("skipped_count", skippedCount);
+            builder.humanReadableField("uncompressed_size_in_bytes", "uncompressed_size", ByteSizeValue.ofBytes(uncompressedSize));
+            builder.humanReadableField("compressed_size_in_bytes", "compressed_size", ByteSizeValue.ofBytes(compressedSize));
+            if (uncompressedSize > 0) {
+                builder.field("ratio", (double) compressedSize / uncompressedSize);
+            }
+            builder.humanReadableField("time_in_millis", "time", TimeValue.timeValueNanos(timeNanos));
+            return builder.endObject();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether to compress each outbound response which its request asked to compress, based on how earlier responses of the same
+ * action compressed, and tracks the per-action compression stats reported in {@link TransportStats}.
+ * <p>
+ * Compressing a message which hardly shrinks, or which is too small for the saving to matter, costs CPU for nothing. Only responses are
+ * ever sent uncompressed by this decision: the receiving node compresses its response only if the request was compressed, so skipping a
+ * small request would also stop compressing its possibly large response. Requests and responses of each action are tracked separately:
+ * the first {@link #WARMUP_MESSAGES} responses are compressed as the request asks, and after that a response is sent uncompressed if the
+ * recent responses were on average smaller than
+ * {@link TransportSettings#TRANSPORT_COMPRESSION_ADAPTIVE_MIN_SIZE} or only shrank to more than
+ * {@link TransportSettings#TRANSPORT_COMPRESSION_ADAPTIVE_MAX_RATIO} of their size. Every {@link #RESAMPLE_INTERVAL}th message is
+ * compressed regardless so that we notice if the messages of an action start compressing better.
+ */
+final class TransportCompressionTracker {
+
+    static final int WARMUP_MESSAGES = 10;
+    static final int RESAMPLE_INTERVAL = 100;
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final boolean adaptive;
+    private final long minSize;
+    private final double maxRatio;
+    private final Map<String, ActionTracker> actionTrackers = ConcurrentCollections.newConcurrentMap();
+
+    TransportCompressionTracker(Settings settings) {
+        this(
+            TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE.get(settings),
+            TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE_MIN_SIZE.get(settings).getBytes(),
+            TransportSettings.TRANSPORT_COMPRESSION_ADAPTIVE_MAX_RATIO.get(settings)
+        );
+    }
+
+    TransportCompressionTracker(boolean adaptive, long minSize, double maxRatio) {
+        this.adaptive = adaptive;
+        this.minSize = minSize;
+        this.maxRatio = maxRatio;
+    }
+
+    /**
+     * @return the tracker for the requests or responses of the given action
+     */
+    MessageTracker getTracker(String action, boolean isRequest) {
+        ActionTracker actionTracker = actionTrackers.get(action);
+        if (actionTracker == null) {
+            actionTracker = actionTrackers.computeIfAbsent(action, a -> new ActionTracker(new MessageTracker(), new MessageTracker()));
+        }
+        return isRequest ? actionTracker.requests() : actionTracker.responses();
+    }
+
+    Map<String, TransportCompressionStats> getStats() {
+        return actionTrackers.entrySet()
+            .stream()
+            .collect(
+                Maps.toUnmodifiableSortedMap(
+                    Map.Entry::getKey,
+                    e -> new TransportCompressionStats(e.getValue().requests().getStats(), e.getValue().responses().getStats())
+                )
+            );
+    }
+
+    private record ActionTracker(MessageTracker requests, MessageTracker responses) {}
+
+    final class MessageTracker {
+        private final AtomicLong messageCount = new AtomicLong();
+        private final ExponentiallyWeightedMovingAverage averageSize = new ExponentiallyWeightedMovingAverage(EWMA_ALPHA, 0.0);
+        private final ExponentiallyWeightedMovingAverage averageRatio = new ExponentiallyWeightedMovingAverage(EWMA_ALPHA, 1.0);
+        private final LongAdder compressedCount = new LongAdder();
+        private final LongAdder skippedCount = new LongAdder();
+        private final LongAdder uncompressedSize = new LongAdder();
+        private final LongAdder compressedSize = new LongAdder();
+        private final LongAdder timeNanos = new LongAdder();
+
+        private MessageTracker() {}
+
+        /**
+         * @param compressionScheme the scheme with which the connection would compress the next message, or {@code null} if it would not
+         * @return the scheme with which to compress the next message, or {@code null} to send it uncompressed
+         */
+        @Nullable
+        Compression.Scheme selectScheme(@Nullable Compression.Scheme compressionScheme) {
+            if (compressionScheme == null || adaptive == false) {
+                return compressionScheme;
+            }
+            final long messageNumber = messageCount.incrementAndGet();
+            if (messageNumber <= WARMUP_MESSAGES || messageNumber % RESAMPLE_INTERVAL == 0) {
+                return compressionScheme;
+            }
+            if (averageSize.getAverage() < minSize || averageRatio.getAverage() > maxRatio) {
+                skippedCount.increment();
+                return null;
+            }
+            return compressionScheme;
+        }
+
+        /**
+         * Record the outcome of serializing a message for which {@link #selectScheme} was consulted.
+         */
+        void onSerialized(OutboundMessage message) {
+            final long contentSize = message.getUncompressedContentSize();
+            averageSize.addValue(contentSize);
+            if (message.isCompress()) {
+                final long compressedContentSize = message.getCompressedContentSize();
+                compressedCount.increment();
+                uncompressedSize.add(contentSize);
+                compressedSize.add(compressedContentSize);
+                timeNanos.add(message.getCompressionTimeNanos());
+                if (contentSize > 0) {
+                    averageRatio.addValue((double) compressedContentSize / contentSize);
+                }
+            }
+        }
+
+        TransportCompressionStats.MessageStats getStats() {
+            return new TransportCompressionStats.MessageStats(
+                compressedCount.sum(),
+                skippedCount.sum(),
+                uncompressedSize.sum(),
+                compressedSize.sum(),
+                timeNanos.sum()
+            );
+        }
+    }
+}
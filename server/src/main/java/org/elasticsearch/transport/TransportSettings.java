@@ -82,6 +82,23 @@ public final class TransportSettings {
         Compression.Scheme.LZ4,
         Setting.Property.NodeScope
     );
+    public static final Setting<Boolean> TRANSPORT_COMPRESSION_ADAPTIVE = boolSetting(
+        "transport.compression.adaptive.enabled",
+        true,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<ByteSizeValue> TRANSPORT_COMPRESSION_ADAPTIVE_MIN_SIZE = Setting.byteSizeSetting(
+        "transport.compression.adaptive.min_size",
+        ByteSizeValue.ofKb(1),
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Double> TRANSPORT_COMPRESSION_ADAPTIVE_MAX_RATIO = Setting.doubleSetting(
+        "transport.compression.adaptive.max_ratio",
+        0.9,
+        0.0,
+        1.0,
+        Setting.Property.NodeScope
+    );
     // the scheduled internal ping interval setting, defaults to disabled (-1)
     public static final Setting<TimeValue> PING_SCHEDULE = timeSetting(
         "transport.ping_schedule",
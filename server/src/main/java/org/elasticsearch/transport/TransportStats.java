@@ -38,6 +38,7 @@ public class TransportStats implements Writeable, ChunkedToXContent {
     private final long[] inboundHandlingTimeBucketFrequencies;
     private final long[] outboundHandlingTimeBucketFrequencies;
     private final Map<String, TransportActionStats> transportActionStats;
+    private final Map<String, TransportCompressionStats> transportCompressionStats;
 
     public TransportStats(
         long serverOpen,
@@ -48,7 +49,8 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         long txSize,
         long[] inboundHandlingTimeBucketFrequencies,
         long[] outboundHandlingTimeBucketFrequencies,
-        Map<String, TransportActionStats> transportActionStats
+        Map<String, TransportActionStats> transportActionStats,
+        Map<String, TransportCompressionStats> transportCompressionStats
     ) {
         this.serverOpen = serverOpen;
         this.totalOutboundConnections = totalOutboundConnections;
@@ -59,6 +61,7 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         this.inboundHandlingTimeBucketFrequencies = inboundHandlingTimeBucketFrequencies;
         this.outboundHandlingTimeBucketFrequencies = outboundHandlingTimeBucketFrequencies;
         this.transportActionStats = transportActionStats;
+        this.transportCompressionStats = transportCompressionStats;
         assert assertHistogramsConsistent();
     }
 
@@ -87,6 +90,13 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         } else {
             transportActionStats = Map.of();
         }
+        if (in.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_COMPRESSION_STATS)) {
+            transportCompressionStats = Collections.unmodifiableMap(
+                in.readOrderedMap(StreamInput::readString, TransportCompressionStats::new)
+            );
+        } else {
+            transportCompressionStats = Map.of();
+        }
         assert assertHistogramsConsistent();
     }
 
@@ -111,6 +121,9 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_8_0)) {
             out.writeMap(transportActionStats, StreamOutput::writeWriteable);
         } // else just drop these stats
+        if (out.getTransportVersion().onOrAfter(TransportVersions.TRANSPORT_COMPRESSION_STATS)) {
+            out.writeMap(transportCompressionStats, StreamOutput::writeWriteable);
+        } // else just drop these stats
     }
 
     public long serverOpen() {
@@ -165,6 +178,10 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         return transportActionStats;
     }
 
+    public Map<String, TransportCompressionStats> getTransportCompressionStats() {
+        return transportCompressionStats;
+    }
+
     private boolean assertHistogramsConsistent() {
         assert inboundHandlingTimeBucketFrequencies.length == outboundHandlingTimeBucketFrequencies.length;
         if (inboundHandlingTimeBucketFrequencies.length == 0) {
@@ -212,6 +229,22 @@ public class TransportStats implements Writeable, ChunkedToXContent {
                 if (transportActionStats.isEmpty() == false) {
                     builder.endObject();
                 }
+                if (transportCompressionStats.isEmpty() == false) {
+                    builder.startObject(Fields.COMPRESSION);
+                }
+                return builder;
+            }),
+
+            Iterators.map(transportCompressionStats.entrySet().iterator(), entry -> (builder, params) -> {
+                builder.field(entry.getKey());
+                entry.getValue().toXContent(builder, params);
+                return builder;
+            }),
+
+            Iterators.single((builder, params) -> {
+                if (transportCompressionStats.isEmpty() == false) {
+                    builder.endObject();
+                }
                 return builder.endObject();
             })
         );
@@ -259,5 +292,6 @@ public class TransportStats implements Writeable, ChunkedToXContent {
         static final String INBOUND_HANDLING_TIME_HISTOGRAM = "inbound_handling_time_histogram";
         static final String OUTBOUND_HANDLING_TIME_HISTOGRAM = "outbound_handling_time_histogram";
         static final String ACTIONS = "actions";
+        static final String COMPRESSION = "compression";
     }
 }
@@ -78,6 +78,7 @@ import org.elasticsearch.test.VersionUtils;
 import org.elasticsearch.test.index.IndexVersionUtils;
 import org.elasticsearch.threadpool.ThreadPoolStats;
 import org.elasticsearch.transport.TransportActionStats;
+import org.elasticsearch.transport.TransportCompressionStats;
 import org.elasticsearch.transport.TransportStats;
 import org.elasticsearch.xcontent.ToXContent;
 
@@ -287,6 +288,10 @@ public class NodeStatsTests extends ESTestCase {
                         nodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies(),
                         deserializedNodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies()
                     );
+                    assertEquals(
+                        nodeStats.getTransport().getTransportCompressionStats(),
+                        deserializedNodeStats.getTransport().getTransportCompressionStats()
+                    );
                 }
 
                 assertEquals(nodeStats.getHttp(), deserializedNodeStats.getHttp());
@@ -546,7 +551,7 @@ public class NodeStatsTests extends ESTestCase {
     }
 
     private static int expectedChunks(@Nullable TransportStats transportStats) {
-        return transportStats == null ? 0 : 3; // only one transport action
+        return transportStats == null ? 0 : 4; // only one transport action and one compressed action
     }
 
     private static int expectedChunks(@Nullable NodeIndicesStats nodeIndicesStats, NodeStatsLevel level) {
@@ -836,7 +841,14 @@ public class NodeStatsTests extends ESTestCase {
                 randomNonNegativeLong(),
                 IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
                 IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
-                Map.of("test-action", new TransportActionStats(1, 2, new long[29], 3, 4, new long[29]))
+                Map.of("test-action", new TransportActionStats(1, 2, new long[29], 3, 4, new long[29])),
+                Map.of(
+                    "test-action",
+                    new TransportCompressionStats(
+                        new TransportCompressionStats.MessageStats(1, 2, 3, 4, 5),
+                        new TransportCompressionStats.MessageStats(6, 7, 8, 9, 10)
+                    )
+                )
             )
             : null;
         HttpStats httpStats = null;
@@ -917,6 +929,8 @@ public class NodeStatsTests extends ESTestCase {
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong(),
                             randomNonNegativeLong()
                         )
                     )
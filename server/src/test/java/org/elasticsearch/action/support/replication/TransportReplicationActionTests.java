@@ -30,6 +30,7 @@ import org.elasticsearch.cluster.block.ClusterBlockLevel;
 import org.elasticsearch.cluster.block.ClusterBlocks;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.cluster.routing.AllocationId;
 import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
@@ -69,6 +70,7 @@ import org.elasticsearch.test.transport.CapturingTransport;
 import org.elasticsearch.test.transport.MockTransportService;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.RemoteTransportException;
 import org.elasticsearch.transport.TestTransportChannel;
 import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportChannel;
@@ -86,10 +88,13 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -906,6 +911,139 @@ public class TransportReplicationActionTests extends ESTestCase {
         assertEquals(0, shardFailedRequests.length);
     }
 
+    public void testBatchedReplicaProxy() throws Exception {
+        final ReplicationOperation.Replicas<Request> proxy = newBatchingAction().newReplicasProxy();
+        final ShardId shardId = new ShardId("test", "_na_", 0);
+        final ShardRouting replica = clusterService.state().routingTable().shardRoutingTable(shardId).replicaShards().get(0);
+        assertTrue(replica.assignedToNode());
+        final long primaryTerm = clusterService.state().metadata().index("test").primaryTerm(0);
+
+        // requests queued before the flush runs go out together
+        final int requests = between(1, 20);
+        final List<PlainActionFuture<ReplicaResponse>> listeners = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            final PlainActionFuture<ReplicaResponse> listener = new PlainActionFuture<>();
+            proxy.performOn(replica, new Request(shardId), primaryTerm, randomNonNegativeLong(), randomNonNegativeLong(), listener);
+            listeners.add(listener);
+        }
+
+        // the first request fails and the others succeed
+        final List<TransportReplicationAction.ReplicaResponse> expected = new ArrayList<>();
+        int request = 0;
+        for (CapturingTransport.CapturedRequest capture : captureBatches(requests)) {
+            final int size = ((ReplicaRequestBatcher.BatchRequest<?>) capture.request()).requests().size();
+            final List<TransportReplicationAction.ReplicaResponse> responses = new ArrayList<>();
+            final List<Exception> failures = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (request++ == 0) {
+                    responses.add(null);
+                    failures.add(new ElasticsearchException("simulated"));
+                } else {
+                    responses.add(new TransportReplicationAction.ReplicaResponse(randomNonNegativeLong(), randomNonNegativeLong()));
+                    failures.add(null);
+                }
+            }
+            expected.addAll(responses);
+            transport.handleResponse(capture.requestId(), new ReplicaRequestBatcher.BatchResponse(responses, failures));
+        }
+        assertListenerThrows("failed replica request should fail", listeners.get(0), RemoteTransportException.class);
+        for (int i = 1; i < requests; i++) {
+            assertThat(listeners.get(i).get(), equalTo(expected.get(i)));
+        }
+        assertThat(transport.capturedRequests(), arrayWithSize(0));
+    }
+
+    public void testBlockedBatchedReplicaRequestDoesNotStallOtherRequests() throws Exception {
+        final ReplicationOperation.Replicas<Request> proxy = newBatchingAction().newReplicasProxy();
+        final ShardId shardId = new ShardId("test", "_na_", 0);
+        final ShardRouting replica = clusterService.state().routingTable().shardRoutingTable(shardId).replicaShards().get(0);
+        final long primaryTerm = clusterService.state().metadata().index("test").primaryTerm(0);
+
+        // the replica operation is blocked, for instance by a relocation handoff, so its batch doesn't complete
+        final PlainActionFuture<ReplicaResponse> blockedListener = new PlainActionFuture<>();
+        proxy.performOn(replica, new Request(shardId), primaryTerm, randomNonNegativeLong(), randomNonNegativeLong(), blockedListener);
+        final CapturingTransport.CapturedRequest blocked = captureBatches(1).get(0);
+
+        // later requests to the same node, such as the syncs of other shards, still go out and complete
+        final int requests = between(1, 20);
+        final List<PlainActionFuture<ReplicaResponse>> listeners = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            final PlainActionFuture<ReplicaResponse> listener = new PlainActionFuture<>();
+            proxy.performOn(replica, new Request(shardId), primaryTerm, randomNonNegativeLong(), randomNonNegativeLong(), listener);
+            listeners.add(listener);
+        }
+        final List<TransportReplicationAction.ReplicaResponse> expected = new ArrayList<>();
+        for (CapturingTransport.CapturedRequest capture : captureBatches(requests)) {
+            final int size = ((ReplicaRequestBatcher.BatchRequest<?>) capture.request()).requests().size();
+            final List<TransportReplicationAction.ReplicaResponse> responses = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                responses.add(new TransportReplicationAction.ReplicaResponse(randomNonNegativeLong(), randomNonNegativeLong()));
+            }
+            expected.addAll(responses);
+            transport.handleResponse(
+                capture.requestId(),
+                new ReplicaRequestBatcher.BatchResponse(responses, Arrays.asList(new Exception[size]))
+            );
+        }
+        for (int i = 0; i < requests; i++) {
+            assertThat(listeners.get(i).get(), equalTo(expected.get(i)));
+        }
+        assertFalse(blockedListener.isDone());
+
+        final TransportReplicationAction.ReplicaResponse blockedResponse = new TransportReplicationAction.ReplicaResponse(
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
+        transport.handleResponse(
+            blocked.requestId(),
+            new ReplicaRequestBatcher.BatchResponse(List.of(blockedResponse), Collections.singletonList(null))
+        );
+        assertThat(blockedListener.get(), equalTo(blockedResponse));
+    }
+
+    /**
+     * Sets up a cluster state with a replica of shard {@code [test][0]} on a node that understands batched replica requests and returns
+     * an action which batches its replica requests.
+     */
+    private TestAction newBatchingAction() {
+        final ClusterState initialState = stateWithActivePrimary("test", true, 1, 0);
+        final ClusterState.Builder stateBuilder = ClusterState.builder(initialState);
+        for (DiscoveryNode node : initialState.nodes()) {
+            stateBuilder.putCompatibilityVersions(node.getId(), TransportVersion.current(), Map.of());
+        }
+        setState(clusterService, stateBuilder.build());
+        return new TestAction(
+            Settings.EMPTY,
+            "internal:testBatchedReplicaAction",
+            transportService,
+            clusterService,
+            shardStateAction,
+            threadPool
+        ) {
+            @Override
+            protected boolean batchReplicaRequests() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Batches are flushed on another thread, so wait until they carry the given number of replica requests in total.
+     */
+    private List<CapturingTransport.CapturedRequest> captureBatches(int requests) throws Exception {
+        final List<CapturingTransport.CapturedRequest> captures = new ArrayList<>();
+        assertBusy(() -> {
+            captures.addAll(Arrays.asList(transport.getCapturedRequestsAndClear()));
+            int captured = 0;
+            for (CapturingTransport.CapturedRequest capture : captures) {
+                assertThat(capture.action(), equalTo("internal:testBatchedReplicaAction[r][batch]"));
+                captured += ((ReplicaRequestBatcher.BatchRequest<?>) capture.request()).requests().size();
+            }
+            assertThat(captured, equalTo(requests));
+        });
+        return captures;
+    }
+
     public void testSeqNoIsSetOnPrimary() {
         final String index = "test";
         final ShardId shardId = new ShardId(index, "_na_", 0);
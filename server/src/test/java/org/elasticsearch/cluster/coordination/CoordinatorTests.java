@@ -797,6 +797,14 @@ public class CoordinatorTests extends AbstractCoordinatorTestCase {
                 serializationStats1.getTotalUncompressedFullStateBytes(),
                 equalTo(serializationStats0.getTotalUncompressedFullStateBytes())
             );
+            assertThat(
+                serializationStats1.getTotalFullStateSerializationTimeNanos(),
+                equalTo(serializationStats0.getTotalFullStateSerializationTimeNanos())
+            );
+            assertThat(
+                serializationStats1.getTotalDiffSerializationTimeNanos(),
+                greaterThan(serializationStats0.getTotalDiffSerializationTimeNanos())
+            );
             assertThat(
                 serializationStats1.getTotalCompressedFullStateBytes(),
                 equalTo(serializationStats0.getTotalCompressedFullStateBytes())
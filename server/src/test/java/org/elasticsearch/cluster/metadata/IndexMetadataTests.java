@@ -445,6 +445,27 @@ public class IndexMetadataTests extends ESTestCase {
         expectThrows(IllegalArgumentException.class, indexMetadata::getTierPreference);
     }
 
+    public void testSharesParsedSettingsWhenSettingsAreUnchanged() {
+        final Settings indexSettings = Settings.builder()
+            .put(indexSettingsWithDataTier("data_warm,data_cold"))
+            .put(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + "._name", "node-1")
+            .put(IndexMetadata.INDEX_ROUTING_EXCLUDE_GROUP_PREFIX + "._name", "node-2")
+            .build();
+        final IndexMetadata indexMetadata = IndexMetadata.builder("myindex").settings(indexSettings).build();
+
+        final IndexMetadata sameSettings = IndexMetadata.builder(indexMetadata).putInSyncAllocationIds(0, Set.of("alloc")).build();
+        assertSame(indexMetadata.requireFilters(), sameSettings.requireFilters());
+        assertSame(indexMetadata.excludeFilters(), sameSettings.excludeFilters());
+        assertSame(indexMetadata.getTierPreference(), sameSettings.getTierPreference());
+
+        final IndexMetadata newSettings = IndexMetadata.builder(indexMetadata)
+            .settings(Settings.builder().put(indexSettings).put(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + "._name", "node-3"))
+            .build();
+        assertNotSame(indexMetadata.requireFilters(), newSettings.requireFilters());
+        assertThat(newSettings.requireFilters().toString(), containsString("node-3"));
+        assertThat(newSettings.getTierPreference(), equalTo(indexMetadata.getTierPreference()));
+    }
+
     public void testLifeCyclePolicyName() {
         Settings.Builder settings = indexSettings(IndexVersion.current(), randomIntBetween(1, 8), 0);
         IndexMetadata idxMeta1 = IndexMetadata.builder("test").settings(settings).build();
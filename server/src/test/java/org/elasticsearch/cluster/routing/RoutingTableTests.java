@@ -503,6 +503,16 @@ public class RoutingTableTests extends ESAllocationTestCase {
         assertSame(originalTable, routingTableDiff.apply(originalTable));
     }
 
+    public void testRerouteReusesUnchangedIndexRoutingTables() {
+        initPrimaries();
+        final RoutingTable before = clusterState.routingTable();
+        startInitializingShards(TEST_INDEX_1);
+        final RoutingTable after = clusterState.routingTable();
+        assertNotSame(before.index(TEST_INDEX_1), after.index(TEST_INDEX_1));
+        // the primaries of the other index are still initializing so its replicas cannot be assigned yet and nothing changed there
+        assertSame(before.index(TEST_INDEX_2), after.index(TEST_INDEX_2));
+    }
+
     /** reverse engineer the in sync aid based on the given indexRoutingTable **/
     public static IndexMetadata updateActiveAllocations(IndexRoutingTable indexRoutingTable, IndexMetadata indexMetadata) {
         IndexMetadata.Builder imdBuilder = IndexMetadata.builder(indexMetadata);
@@ -30,7 +30,9 @@ import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.routing.allocation.AllocateUnassignedDecision;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDecider;
 import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.cluster.routing.allocation.decider.ThrottlingAllocationDecider;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.settings.ClusterSettings;
@@ -476,6 +478,51 @@ public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
         assertSame(clusterState, reroute(allocationService, clusterState));
     }
 
+    public void testCanRebalanceIsAskedOncePerShardBetweenRelocations() {
+        var discoveryNodesBuilder = DiscoveryNodes.builder();
+        for (int node = 0; node < 5; node++) {
+            discoveryNodesBuilder.add(newNode("node-" + node));
+        }
+
+        var metadataBuilder = Metadata.builder();
+        var routingTableBuilder = RoutingTable.builder();
+        addIndex(metadataBuilder, routingTableBuilder, "index", Map.of("node-0", 8));
+
+        var clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(discoveryNodesBuilder)
+            .metadata(metadataBuilder)
+            .routingTable(routingTableBuilder)
+            .build();
+
+        // every node is lighter than node-0 but none of them accept its shards so the balancer tries them all
+        var rebalanceDecisions = new HashMap<ShardId, Integer>();
+        var deciders = new AllocationDeciders(List.of(new AllocationDecider() {
+            @Override
+            public Decision canRebalance(ShardRouting shardRouting, RoutingAllocation allocation) {
+                rebalanceDecisions.merge(shardRouting.shardId(), 1, Integer::sum);
+                return Decision.YES;
+            }
+
+            @Override
+            public Decision canAllocate(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+                return Decision.NO;
+            }
+        }));
+        var allocation = new RoutingAllocation(
+            deciders,
+            RoutingNodes.mutable(clusterState.routingTable(), clusterState.nodes()),
+            clusterState,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            0L
+        );
+
+        new BalancedShardsAllocator(Settings.EMPTY).allocate(allocation);
+
+        assertThat(rebalanceDecisions.size(), equalTo(8));
+        assertThat(rebalanceDecisions.values(), everyItem(equalTo(1)));
+    }
+
     private Map<String, Integer> getTargetShardPerNodeCount(IndexRoutingTable indexRoutingTable) {
         var counts = new HashMap<String, Integer>();
         for (int shardId = 0; shardId < indexRoutingTable.size(); shardId++) {
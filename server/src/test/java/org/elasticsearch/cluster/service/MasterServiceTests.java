@@ -139,6 +139,16 @@ public class MasterServiceTests extends ESTestCase {
         TaskManager taskManager,
         ThreadPool threadPool,
         ExecutorService threadPoolExecutor
+    ) {
+        return createMasterService(makeMaster, taskManager, threadPool, threadPoolExecutor, Settings.EMPTY);
+    }
+
+    private MasterService createMasterService(
+        boolean makeMaster,
+        TaskManager taskManager,
+        ThreadPool threadPool,
+        ExecutorService threadPoolExecutor,
+        Settings clusterSettings
     ) {
         final DiscoveryNode localNode = DiscoveryNodeUtils.builder("node1").roles(emptySet()).build();
         final Settings settings = Settings.builder()
@@ -152,7 +162,7 @@ public class MasterServiceTests extends ESTestCase {
 
         final MasterService masterService = new MasterService(
             settings,
-            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            new ClusterSettings(clusterSettings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
             threadPool,
             taskManager
         ) {
@@ -2493,6 +2503,72 @@ public class MasterServiceTests extends ESTestCase {
         }
     }
 
+    public void testBatchComputationTimeLimit() {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var threadPool = deterministicTaskQueue.getThreadPool();
+        final var taskCostMillis = 10L;
+        final var settings = Settings.builder()
+            .put(MasterService.MASTER_SERVICE_MAX_BATCH_COMPUTATION_TIME_SETTING.getKey(), TimeValue.timeValueMillis(taskCostMillis * 10))
+            .build();
+        try (
+            var masterService = createMasterService(
+                true,
+                null,
+                threadPool,
+                new StoppableExecutorServiceWrapper(threadPool.generic()),
+                settings
+            )
+        ) {
+            final var batches = new ArrayList<String>();
+
+            class Executor implements ClusterStateTaskExecutor<ExpectSuccessTask> {
+                private final String name;
+
+                Executor(String name) {
+                    this.name = name;
+                }
+
+                @Override
+                public ClusterState execute(BatchExecutionContext<ExpectSuccessTask> batchExecutionContext) {
+                    final var taskCount = batchExecutionContext.taskContexts().size();
+                    batches.add(name + "=" + taskCount);
+                    final var targetTime = deterministicTaskQueue.getCurrentTimeMillis() + taskCostMillis * taskCount;
+                    deterministicTaskQueue.scheduleAt(targetTime, () -> {});
+                    while (deterministicTaskQueue.getCurrentTimeMillis() < targetTime) {
+                        deterministicTaskQueue.advanceTime();
+                    }
+                    for (final var taskContext : batchExecutionContext.taskContexts()) {
+                        taskContext.success(() -> {});
+                    }
+                    return batchExecutionContext.initialState();
+                }
+            }
+
+            final var floodQueue = masterService.createTaskQueue("flood", Priority.NORMAL, new Executor("flood"));
+            final var otherQueue = masterService.createTaskQueue("other", Priority.NORMAL, new Executor("other"));
+            threadPool.getThreadContext().markAsSystemContext();
+
+            // the first batch has no estimated cost, so it is unlimited
+            final var firstBatchSize = between(1, 30);
+            for (int i = 0; i < firstBatchSize; i++) {
+                floodQueue.submitTask("flood", new ExpectSuccessTask(), null);
+            }
+            deterministicTaskQueue.runAllTasks();
+            assertThat(batches, contains("flood=" + firstBatchSize));
+            batches.clear();
+
+            // later batches are limited to the tasks that fit in the time limit, and other queues run in between them
+            for (int i = 0; i < 35; i++) {
+                floodQueue.submitTask("flood", new ExpectSuccessTask(), null);
+            }
+            otherQueue.submitTask("other", new ExpectSuccessTask(), null);
+            assertThat(masterService.numberOfPendingTasks(), equalTo(36));
+            deterministicTaskQueue.runAllTasks();
+            assertThat(batches, contains("flood=10", "other=1", "flood=10", "flood=10", "flood=5"));
+            assertThat(masterService.numberOfPendingTasks(), equalTo(0));
+        }
+    }
+
     /**
      * Returns the cluster state that the master service uses (and that is provided by the discovery layer)
      */
@@ -18,9 +18,12 @@ import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.fielddata.ordinals.GlobalOrdinalsIndexFieldData;
 import org.elasticsearch.index.fielddata.plain.PagedBytesIndexFieldData;
 import org.elasticsearch.index.fielddata.plain.SortedSetOrdinalsIndexFieldData;
 import org.elasticsearch.index.mapper.TextFieldMapper;
@@ -33,6 +36,9 @@ import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.FieldMaskingReader;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class FieldDataCacheTests extends ESTestCase {
     private static final ToScriptFieldFactory<SortedSetDocValues> MOCK_TO_SCRIPT_FIELD = (dv, n) -> new DelegateDocValuesField(
@@ -78,6 +84,46 @@ public class FieldDataCacheTests extends ESTestCase {
         dir.close();
     }
 
+    public void testGlobalOrdinalsReuseOrdinalMapWhenSegmentsDontChange() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = new IndexWriterConfig(null);
+        iwc.setMergePolicy(NoMergePolicy.INSTANCE);
+        IndexWriter iw = new IndexWriter(dir, iwc);
+        for (int i = 1; i <= 100; i++) {
+            Document doc = new Document();
+            doc.add(new SortedSetDocValuesField("field", new BytesRef(String.valueOf(i))));
+            doc.add(new StringField("id", String.valueOf(i), Field.Store.NO));
+            iw.addDocument(doc);
+            if (i % 25 == 0) {
+                iw.commit();
+            }
+        }
+        iw.commit();
+        DirectoryReader ir = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), new ShardId("_index", "_na_", 0));
+        SortedSetOrdinalsIndexFieldData fieldData = createSortedDV("field", new IndexFieldDataCache.None());
+        IndexOrdinalsFieldData first = fieldData.loadGlobalDirect(ir, null);
+        assertThat(first, instanceOf(GlobalOrdinalsIndexFieldData.class));
+
+        // Deleting documents doesn't change the terms in each segment so the map is reused
+        iw.deleteDocuments(new Term("id", "7"));
+        DirectoryReader deleted = DirectoryReader.openIfChanged(ir, iw);
+        assertNotNull(deleted);
+        IndexOrdinalsFieldData second = fieldData.loadGlobalDirect(deleted, (GlobalOrdinalsIndexFieldData) first);
+        assertThat(second.getOrdinalMap(), sameInstance(first.getOrdinalMap()));
+
+        // A new segment needs a new map
+        Document doc = new Document();
+        doc.add(new SortedSetDocValuesField("field", new BytesRef("new")));
+        iw.addDocument(doc);
+        DirectoryReader added = DirectoryReader.openIfChanged(deleted, iw);
+        assertNotNull(added);
+        IndexOrdinalsFieldData third = fieldData.loadGlobalDirect(added, (GlobalOrdinalsIndexFieldData) second);
+        assertThat(third.getOrdinalMap(), not(sameInstance(second.getOrdinalMap())));
+        assertThat(third.getOrdinalMap().getValueCount(), equalTo(second.getOrdinalMap().getValueCount() + 1));
+
+        IOUtils.close(ir, deleted, added, iw, dir);
+    }
+
     private SortedSetOrdinalsIndexFieldData createSortedDV(String fieldName, IndexFieldDataCache indexFieldDataCache) {
         return new SortedSetOrdinalsIndexFieldData(
             indexFieldDataCache,
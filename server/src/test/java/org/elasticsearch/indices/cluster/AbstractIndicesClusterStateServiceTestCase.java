@@ -198,11 +198,15 @@ public abstract class AbstractIndicesClusterStateServiceTestCase extends ESTestC
             List<IndexEventListener> buildInIndexListener,
             boolean writeDanglingIndices
         ) throws IOException {
-            MockIndexService indexService = new MockIndexService(new IndexSettings(indexMetadata, Settings.EMPTY));
+            MockIndexService indexService = newIndexService(new IndexSettings(indexMetadata, Settings.EMPTY));
             indices = Maps.copyMapWithAddedEntry(indices, indexMetadata.getIndexUUID(), indexService);
             return indexService;
         }
 
+        protected MockIndexService newIndexService(IndexSettings indexSettings) {
+            return new MockIndexService(indexSettings);
+        }
+
         @Override
         public IndexMetadata verifyIndexIsDeleted(Index index, ClusterState state) {
             return null;
@@ -30,15 +30,23 @@ import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.cluster.node.DiscoveryNodeUtils;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.routing.allocation.FailedShard;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.Index;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.seqno.RetentionLeaseSyncer;
 import org.elasticsearch.index.shard.PrimaryReplicaSyncer;
 import org.elasticsearch.index.shard.ShardId;
@@ -50,6 +58,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportService;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -61,6 +70,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -70,8 +80,13 @@ import static org.elasticsearch.cluster.metadata.IndexMetadata.SETTING_NUMBER_OF
 import static org.elasticsearch.cluster.metadata.IndexMetadata.SETTING_NUMBER_OF_SHARDS;
 import static org.elasticsearch.cluster.routing.ShardRoutingState.INITIALIZING;
 import static org.elasticsearch.core.Strings.format;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndicesClusterStateServiceTestCase {
@@ -303,6 +318,129 @@ public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndice
         assertNull(indicesCSSvc.indicesService.getShardOrNull(shardId));
     }
 
+    public void testParsesMappingsOfNewIndicesInParallel() {
+        disableRandomFailures();
+        final int threads = between(2, 8);
+        final DiscoveryNode node = createNode(DiscoveryNodeRole.DATA_ROLE);
+        final ClusterChangedEvent event = allocateNewIndices(node, between(threads, threads * 3));
+
+        final MappingRecordingIndicesService serialIndicesService = new MappingRecordingIndicesService(null, null);
+        final IndicesClusterStateService serial = createIndicesClusterStateService(
+            node,
+            () -> serialIndicesService,
+            Settings.builder().put(IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING.getKey(), 1).build(),
+            mock(ExecutorService.class)
+        );
+        serial.start();
+        serial.applyClusterState(event);
+
+        // every thread must be parsing a mapping at the same time before any of them finishes
+        final MappingRecordingIndicesService parallelIndicesService = new MappingRecordingIndicesService(new CountDownLatch(threads), null);
+        final IndicesClusterStateService parallel = createIndicesClusterStateService(
+            node,
+            () -> parallelIndicesService,
+            Settings.builder().put(IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING.getKey(), threads).build(),
+            threadPool.generic()
+        );
+        parallel.start();
+        parallel.applyClusterState(event);
+
+        assertClusterStateMatchesNodeState(event.state(), serial);
+        assertClusterStateMatchesNodeState(event.state(), parallel);
+        assertThat(parallelIndicesService.parsedOn.keySet(), equalTo(serialIndicesService.parsedOn.keySet()));
+        assertThat(parallelIndicesService.parsedOn.size(), equalTo(event.state().metadata().indices().size()));
+        assertThat(Set.copyOf(parallelIndicesService.parsedOn.values()).size(), greaterThanOrEqualTo(threads));
+    }
+
+    public void testMappingFailureOnlyFailsItsOwnIndex() {
+        disableRandomFailures();
+        final DiscoveryNode node = createNode(DiscoveryNodeRole.DATA_ROLE);
+        final ClusterChangedEvent event = allocateNewIndices(node, between(2, 20));
+        final Index failingIndex = randomFrom(event.state().metadata().indices().values()).getIndex();
+
+        final MappingRecordingIndicesService indicesService = new MappingRecordingIndicesService(null, failingIndex);
+        final IndicesClusterStateService indicesCSSvc = createIndicesClusterStateService(
+            node,
+            () -> indicesService,
+            Settings.builder().put(IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING.getKey(), between(1, 8)).build(),
+            threadPool.generic()
+        );
+        indicesCSSvc.start();
+        indicesCSSvc.applyClusterState(event);
+
+        for (IndexMetadata indexMetadata : event.state().metadata()) {
+            final Index index = indexMetadata.getIndex();
+            final ShardRouting shardRouting = event.state().routingTable().index(index).shard(0).primaryShard();
+            if (index.equals(failingIndex)) {
+                assertNull(indicesService.indexService(index));
+                assertThat(indicesCSSvc.failedShardsCache.get(shardRouting.shardId()), equalTo(shardRouting));
+            } else {
+                assertThat(indicesService.getShardOrNull(shardRouting.shardId()).routingEntry(), equalTo(shardRouting));
+                assertNull(indicesCSSvc.failedShardsCache.get(shardRouting.shardId()));
+            }
+        }
+    }
+
+    public void testMappingUpdateThreadsSetting() {
+        final Setting<Integer> setting = IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING;
+        assertThat(setting.get(Settings.EMPTY), equalTo(Math.min(4, EsExecutors.allocatedProcessors(Settings.EMPTY))));
+        assertThat(setting.get(Settings.builder().put(EsExecutors.NODE_PROCESSORS_SETTING.getKey(), 1).build()), equalTo(1));
+        final int threads = between(1, 64);
+        assertThat(setting.get(Settings.builder().put(setting.getKey(), threads).build()), equalTo(threads));
+        final IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> setting.get(Settings.builder().put(setting.getKey(), between(-10, 0)).build())
+        );
+        assertThat(e.getMessage(), containsString("must be >= 1"));
+    }
+
+    public void testSingleMappingUpdateThreadParsesOnApplierThread() {
+        disableRandomFailures();
+        final DiscoveryNode node = createNode(DiscoveryNodeRole.DATA_ROLE);
+        final ClusterChangedEvent event = allocateNewIndices(node, between(1, 20));
+        final ExecutorService generic = mock(ExecutorService.class);
+
+        final MappingRecordingIndicesService indicesService = new MappingRecordingIndicesService(null, null);
+        final IndicesClusterStateService indicesCSSvc = createIndicesClusterStateService(
+            node,
+            () -> indicesService,
+            Settings.builder().put(IndicesClusterStateService.MAPPING_UPDATE_THREADS_SETTING.getKey(), 1).build(),
+            generic
+        );
+        indicesCSSvc.start();
+        indicesCSSvc.applyClusterState(event);
+
+        assertClusterStateMatchesNodeState(event.state(), indicesCSSvc);
+        assertThat(indicesService.parsedOn.size(), equalTo(event.state().metadata().indices().size()));
+        assertThat(Set.copyOf(indicesService.parsedOn.values()), equalTo(Set.of(Thread.currentThread())));
+        verify(generic, never()).execute(any());
+    }
+
+    /**
+     * A cluster state update which allocates the primary of each of {@code count} new single shard indices to {@code node}.
+     */
+    private static ClusterChangedEvent allocateNewIndices(DiscoveryNode node, int count) {
+        final DiscoveryNode master = DiscoveryNodeUtils.builder("master").roles(Set.of(DiscoveryNodeRole.MASTER_ROLE)).build();
+        final ClusterState previousState = ClusterStateCreationUtils.state(node, master, new DiscoveryNode[] { master, node });
+        final Metadata.Builder metadata = Metadata.builder(previousState.metadata());
+        final RoutingTable.Builder routingTable = RoutingTable.builder();
+        for (int i = 0; i < count; i++) {
+            final IndexMetadata indexMetadata = IndexMetadata.builder("index_" + i)
+                .settings(indexSettings(IndexVersion.current(), 1, 0).put(IndexMetadata.SETTING_INDEX_UUID, UUIDs.randomBase64UUID()))
+                .build();
+            metadata.put(indexMetadata, false);
+            routingTable.add(
+                IndexRoutingTable.builder(indexMetadata.getIndex())
+                    .addShard(TestShardRouting.newShardRouting(new ShardId(indexMetadata.getIndex(), 0), node.getId(), true, INITIALIZING))
+            );
+        }
+        final ClusterState state = ClusterState.builder(previousState)
+            .metadata(metadata.build())
+            .routingTable(routingTable.build())
+            .build();
+        return new ClusterChangedEvent("allocate new indices", state, previousState);
+    }
+
     public ClusterState randomInitialClusterState(
         Map<DiscoveryNode, IndicesClusterStateService> clusterStateServiceMap,
         Supplier<MockIndicesService> indicesServiceSupplier
@@ -508,11 +646,20 @@ public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndice
     private IndicesClusterStateService createIndicesClusterStateService(
         DiscoveryNode discoveryNode,
         final Supplier<MockIndicesService> indicesServiceSupplier
+    ) {
+        return createIndicesClusterStateService(discoveryNode, indicesServiceSupplier, Settings.EMPTY, mock(ExecutorService.class));
+    }
+
+    private IndicesClusterStateService createIndicesClusterStateService(
+        DiscoveryNode discoveryNode,
+        final Supplier<MockIndicesService> indicesServiceSupplier,
+        final Settings nodeSettings,
+        final ExecutorService genericExecutor
     ) {
         final ThreadPool threadPool = mock(ThreadPool.class);
-        when(threadPool.generic()).thenReturn(mock(ExecutorService.class));
+        when(threadPool.generic()).thenReturn(genericExecutor);
         final MockIndicesService indicesService = indicesServiceSupplier.get();
-        final Settings settings = Settings.builder().put("node.name", discoveryNode.getName()).build();
+        final Settings settings = Settings.builder().put(nodeSettings).put("node.name", discoveryNode.getName()).build();
         final TransportService transportService = new TransportService(
             settings,
             mock(Transport.class),
@@ -584,4 +731,44 @@ public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndice
         }
     }
 
+    /**
+     * Records the thread which parsed the mappings of each index.
+     */
+    private class MappingRecordingIndicesService extends MockIndicesService {
+        private final Map<Index, Thread> parsedOn = ConcurrentCollections.newConcurrentMap();
+        /**
+         * If set, each mapping update counts this down and then waits for it to reach zero.
+         */
+        @Nullable
+        private final CountDownLatch parsing;
+        /**
+         * If set, updating the mapping of this index fails.
+         */
+        @Nullable
+        private final Index failingIndex;
+
+        MappingRecordingIndicesService(@Nullable CountDownLatch parsing, @Nullable Index failingIndex) {
+            this.parsing = parsing;
+            this.failingIndex = failingIndex;
+        }
+
+        @Override
+        protected MockIndexService newIndexService(IndexSettings indexSettings) {
+            return new MockIndexService(indexSettings) {
+                @Override
+                public void updateMapping(IndexMetadata currentIndexMetadata, IndexMetadata newIndexMetadata) throws IOException {
+                    final Index index = newIndexMetadata.getIndex();
+                    assertNull("mapping of " + index + " parsed twice", parsedOn.put(index, Thread.currentThread()));
+                    if (parsing != null) {
+                        parsing.countDown();
+                        safeAwait(parsing);
+                    }
+                    if (index.equals(failingIndex)) {
+                        throw new IOException("simulated mapping failure");
+                    }
+                }
+            };
+        }
+    }
+
 }
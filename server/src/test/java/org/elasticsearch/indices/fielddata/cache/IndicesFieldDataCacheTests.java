@@ -0,0 +1,208 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.fielddata.cache;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.fielddata.FieldData;
+import org.elasticsearch.index.fielddata.IndexFieldDataCache;
+import org.elasticsearch.index.fielddata.IndexOrdinalsFieldData;
+import org.elasticsearch.index.fielddata.ScriptDocValues;
+import org.elasticsearch.index.fielddata.plain.SortedSetOrdinalsIndexFieldData;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.script.field.DelegateDocValuesField;
+import org.elasticsearch.script.field.ToScriptFieldFactory;
+import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class IndicesFieldDataCacheTests extends ESTestCase {
+    private static final ToScriptFieldFactory<SortedSetDocValues> MOCK_TO_SCRIPT_FIELD = (dv, n) -> new DelegateDocValuesField(
+        new ScriptDocValues.Strings(new ScriptDocValues.StringsSupplier(FieldData.toString(dv))),
+        n
+    );
+
+    private final ShardId shardId = new ShardId("_index", "_na_", 0);
+
+    public void testGlobalOrdinalsReusedWhenSegmentsDontChange() throws Exception {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter iw = newWriter(dir);
+            IndicesFieldDataCache indicesCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+            })
+        ) {
+            indexDocs(iw, 0, between(2, 5));
+            final IndicesFieldDataCache.IndexFieldCache cache = buildCache(indicesCache);
+            final SortedSetOrdinalsIndexFieldData fieldData = createSortedDV(cache);
+
+            DirectoryReader ir = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId);
+            final IndexOrdinalsFieldData global = fieldData.loadGlobal(ir);
+
+            // deleting a document leaves the segments' terms dictionaries unchanged
+            iw.deleteDocuments(new Term("id", "0"));
+            DirectoryReader ir2 = DirectoryReader.openIfChanged(ir, iw);
+            assertNotNull(ir2);
+            final IndexOrdinalsFieldData reused = fieldData.loadGlobal(ir2);
+            assertThat(reused.getOrdinalMap(), sameInstance(global.getOrdinalMap()));
+            assertThat(cache.shardsWithLastGlobalKey(), equalTo(Set.of(shardId)));
+
+            IOUtils.close(ir, ir2);
+        }
+    }
+
+    public void testGlobalOrdinalsRebuiltWhenSegmentsChange() throws Exception {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter iw = newWriter(dir);
+            IndicesFieldDataCache indicesCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+            })
+        ) {
+            final int segments = between(2, 5);
+            indexDocs(iw, 0, segments);
+            final IndicesFieldDataCache.IndexFieldCache cache = buildCache(indicesCache);
+            final SortedSetOrdinalsIndexFieldData fieldData = createSortedDV(cache);
+
+            DirectoryReader ir = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId);
+            final IndexOrdinalsFieldData global = fieldData.loadGlobal(ir);
+
+            // a new segment brings new terms so the ordinal map must be rebuilt
+            indexDocs(iw, segments, 1);
+            DirectoryReader ir2 = DirectoryReader.openIfChanged(ir, iw);
+            assertNotNull(ir2);
+            final IndexOrdinalsFieldData rebuilt = fieldData.loadGlobal(ir2);
+            assertThat(rebuilt.getOrdinalMap(), not(sameInstance(global.getOrdinalMap())));
+            assertThat(rebuilt.getValueCount(), equalTo(global.getValueCount() + 1));
+
+            // once the previous global ordinals are evicted they can't be reused any more
+            cache.clear();
+            iw.deleteDocuments(new Term("id", "0"));
+            DirectoryReader ir3 = DirectoryReader.openIfChanged(ir2, iw);
+            assertNotNull(ir3);
+            final IndexOrdinalsFieldData afterClear = fieldData.loadGlobal(ir3);
+            assertThat(afterClear.getOrdinalMap(), not(sameInstance(rebuilt.getOrdinalMap())));
+
+            IOUtils.close(ir, ir2, ir3);
+        }
+    }
+
+    public void testLastGlobalKeysRemovedOnClose() throws Exception {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter iw = newWriter(dir);
+            IndicesFieldDataCache indicesCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+            })
+        ) {
+            indexDocs(iw, 0, between(2, 5));
+            final IndicesFieldDataCache.IndexFieldCache cache = buildCache(indicesCache);
+            final SortedSetOrdinalsIndexFieldData fieldData = createSortedDV(cache);
+
+            DirectoryReader ir = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId);
+            fieldData.loadGlobal(ir);
+            iw.deleteDocuments(new Term("id", "0"));
+            DirectoryReader ir2 = DirectoryReader.openIfChanged(ir, iw);
+            assertNotNull(ir2);
+            fieldData.loadGlobal(ir2);
+            assertThat(cache.shardsWithLastGlobalKey(), equalTo(Set.of(shardId)));
+
+            // closing an older reader keeps the most recent global ordinals around for reuse
+            ir.close();
+            assertThat(cache.shardsWithLastGlobalKey(), equalTo(Set.of(shardId)));
+
+            // closing the reader of the most recent global ordinals, as happens when the shard closes, forgets the shard
+            ir2.close();
+            assertThat(cache.shardsWithLastGlobalKey(), empty());
+        }
+    }
+
+    public void testLastGlobalKeysRemovedOnClear() throws Exception {
+        try (
+            Directory dir = newDirectory();
+            IndexWriter iw = newWriter(dir);
+            IndicesFieldDataCache indicesCache = new IndicesFieldDataCache(Settings.EMPTY, new IndexFieldDataCache.Listener() {
+            })
+        ) {
+            indexDocs(iw, 0, between(2, 5));
+            final IndicesFieldDataCache.IndexFieldCache cache = buildCache(indicesCache);
+            final SortedSetOrdinalsIndexFieldData fieldData = createSortedDV(cache);
+
+            DirectoryReader ir = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId);
+            fieldData.loadGlobal(ir);
+            assertThat(cache.shardsWithLastGlobalKey(), equalTo(Set.of(shardId)));
+
+            // clearing the field data of the index, as happens when its shards close, forgets the shard even if the reader is still open
+            cache.clear();
+            assertThat(cache.shardsWithLastGlobalKey(), empty());
+
+            ir.close();
+        }
+    }
+
+    private static IndexWriter newWriter(Directory dir) throws IOException {
+        IndexWriterConfig iwc = new IndexWriterConfig(null);
+        iwc.setMergePolicy(NoMergePolicy.INSTANCE);
+        return new IndexWriter(dir, iwc);
+    }
+
+    /**
+     * Index two documents with a distinct term into each of {@code segments} new segments, starting at term {@code from}. Deleting
+     * the document with id {@code i} leaves the segment with term {@code i} in place.
+     */
+    private static void indexDocs(IndexWriter iw, int from, int segments) throws IOException {
+        for (int i = from; i < from + segments; i++) {
+            for (String id : new String[] { String.valueOf(i), i + "_1" }) {
+                Document doc = new Document();
+                doc.add(new StringField("id", id, Field.Store.NO));
+                doc.add(new SortedSetDocValuesField("field", new BytesRef(String.valueOf(i))));
+                iw.addDocument(doc);
+            }
+            iw.commit();
+        }
+    }
+
+    private static IndicesFieldDataCache.IndexFieldCache buildCache(IndicesFieldDataCache indicesCache) {
+        return (IndicesFieldDataCache.IndexFieldCache) indicesCache.buildIndexFieldDataCache(
+            new IndexFieldDataCache.Listener() {
+            },
+            new Index("_index", "_na_"),
+            "field"
+        );
+    }
+
+    private static SortedSetOrdinalsIndexFieldData createSortedDV(IndexFieldDataCache cache) {
+        return new SortedSetOrdinalsIndexFieldData(
+            cache,
+            "field",
+            CoreValuesSourceType.KEYWORD,
+            new NoneCircuitBreakerService(),
+            MOCK_TO_SCRIPT_FIELD
+        );
+    }
+}
@@ -3568,6 +3568,67 @@ public class CompositeAggregatorTests extends AggregatorTestCase {
         );
     }
 
+    public void testSkipSegmentsBeforeAfterKey() throws Exception {
+        final MappedFieldType longMapping = new NumberFieldMapper.NumberFieldType("long", NumberFieldMapper.NumberType.LONG);
+        CheckedConsumer<RandomIndexWriter, IOException> buildIndex = iw -> {
+            for (long v = 1; v <= 10; v++) {
+                iw.addDocument(List.of(new SortedNumericDocValuesField("long", v), new LongPoint("long", v)));
+            }
+            iw.commit();   // Force two segments
+            for (long v = 100; v <= 110; v++) {
+                iw.addDocument(List.of(new SortedNumericDocValuesField("long", v), new LongPoint("long", v)));
+            }
+        };
+        withNonMergingIndex(buildIndex, reader -> {
+            debugTestCase(
+                new CompositeAggregationBuilder("name", List.of(new TermsValuesSourceBuilder("leading").field("long"))).size(3)
+                    .aggregateAfter(Collections.singletonMap("leading", 50L)),
+                new MatchAllDocsQuery(),
+                reader,
+                (InternalComposite result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                    assertEquals("{leading=102}", result.afterKey().toString());
+                    assertEquals("{leading=100}", result.getBuckets().get(0).getKeyAsString());
+                    assertEquals("{leading=101}", result.getBuckets().get(1).getKeyAsString());
+                    assertEquals("{leading=102}", result.getBuckets().get(2).getKeyAsString());
+                    assertMap(debug, matchesMap().entry("name", matchesMap().entry("sources.leading.segments_skipped_before_after", 1)));
+                },
+                null,
+                longMapping
+            );
+            debugTestCase(
+                new CompositeAggregationBuilder(
+                    "name",
+                    List.of(new TermsValuesSourceBuilder("leading").field("long").order(SortOrder.DESC))
+                ).size(3).aggregateAfter(Collections.singletonMap("leading", 50L)),
+                new MatchAllDocsQuery(),
+                reader,
+                (InternalComposite result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                    assertEquals("{leading=8}", result.afterKey().toString());
+                    assertEquals("{leading=10}", result.getBuckets().get(0).getKeyAsString());
+                    assertEquals("{leading=9}", result.getBuckets().get(1).getKeyAsString());
+                    assertEquals("{leading=8}", result.getBuckets().get(2).getKeyAsString());
+                    assertMap(debug, matchesMap().entry("name", matchesMap().entry("sources.leading.segments_skipped_before_after", 1)));
+                },
+                null,
+                longMapping
+            );
+            debugTestCase(
+                new CompositeAggregationBuilder("name", List.of(new TermsValuesSourceBuilder("leading").field("long").missingBucket(true)))
+                    .size(3)
+                    .aggregateAfter(Collections.singletonMap("leading", 50L)),
+                new MatchAllDocsQuery(),
+                reader,
+                (InternalComposite result, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                    assertEquals("{leading=100}", result.getBuckets().get(0).getKeyAsString());
+                    // We can't skip segments if documents without a value could sort after the after key
+                    assertMap(debug, matchesMap().entry("name", matchesMap().entry("sources.leading.segments_skipped_before_after", 0)));
+                },
+                null,
+                longMapping
+            );
+        });
+    }
+
     private static void addDocWithKeywordFields(RandomIndexWriter iw, String... fieldValuePairs) throws IOException {
         assertThat(fieldValuePairs.length, greaterThan(0));
         assertThat(fieldValuePairs.length % 2, equalTo(0));
@@ -0,0 +1,123 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.filter;
+
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class MultiPointRangeCounterTests extends ESTestCase {
+    public void testNotAllRanges() {
+        assertThat(build(LongPoint.newRangeQuery("a", 0, 10), new TermQuery(new Term("a", "b"))), nullValue());
+        assertThat(build(LongPoint.newRangeQuery("a", 0, 10), new MatchAllDocsQuery()), nullValue());
+    }
+
+    public void testDifferentField() {
+        assertThat(build(LongPoint.newRangeQuery("a", 0, 10), LongPoint.newRangeQuery("b", 0, 10)), nullValue());
+    }
+
+    public void testDifferentDimensionSize() {
+        assertThat(build(LongPoint.newRangeQuery("a", 0, 10), IntPoint.newRangeQuery("a", 0, 10)), nullValue());
+    }
+
+    public void testMultipleDimensions() {
+        assertThat(
+            build(
+                LongPoint.newRangeQuery("a", new long[] { 0, 0 }, new long[] { 10, 10 }),
+                LongPoint.newRangeQuery("a", new long[] { 10, 10 }, new long[] { 20, 20 })
+            ),
+            nullValue()
+        );
+    }
+
+    public void testOnlyMatchNone() {
+        assertThat(build(new MatchNoDocsQuery(), new MatchNoDocsQuery()), nullValue());
+    }
+
+    public void testMultiValued() throws IOException {
+        MultiPointRangeCounter counter = build(LongPoint.newRangeQuery("a", 0, 10), LongPoint.newRangeQuery("a", 11, 20));
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            iw.addDocument(List.of(new LongPoint("a", 1), new LongPoint("a", 12)));
+            try (DirectoryReader r = iw.getReader()) {
+                for (LeafReaderContext ctx : r.leaves()) {
+                    assertThat(counter.count(ctx.reader()), nullValue());
+                }
+            }
+        }
+    }
+
+    public void testMissingField() throws IOException {
+        MultiPointRangeCounter counter = build(LongPoint.newRangeQuery("a", 0, 10), LongPoint.newRangeQuery("a", 11, 20));
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            iw.addDocument(List.of(new LongPoint("b", 1)));
+            try (DirectoryReader r = iw.getReader()) {
+                for (LeafReaderContext ctx : r.leaves()) {
+                    assertArrayEquals(new long[] { 0, 0 }, counter.count(ctx.reader()));
+                }
+            }
+        }
+    }
+
+    public void testRandomRanges() throws IOException {
+        int docs = between(1, 10000);
+        long max = randomBoolean() ? 100 : 100000;
+        List<Query> queries = new ArrayList<>();
+        int ranges = between(2, 20);
+        for (int i = 0; i < ranges; i++) {
+            long lower = randomLongBetween(-10, max);
+            long upper = randomLongBetween(lower, max + 10);
+            queries.add(randomBoolean() ? LongPoint.newRangeQuery("a", lower, upper) : new MatchNoDocsQuery());
+        }
+        queries.add(LongPoint.newRangeQuery("a", Long.MIN_VALUE, Long.MAX_VALUE));
+        MultiPointRangeCounter counter = build(queries.toArray(Query[]::new));
+        assertThat(counter, notNullValue());
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            for (int d = 0; d < docs; d++) {
+                List<IndexableField> doc = randomBoolean() ? List.of() : List.of(new LongPoint("a", randomLongBetween(0, max)));
+                iw.addDocument(doc);
+            }
+            try (DirectoryReader r = iw.getReader()) {
+                for (LeafReaderContext ctx : r.leaves()) {
+                    long[] counts = counter.count(ctx.reader());
+                    assertThat(counts, notNullValue());
+                    IndexSearcher searcher = newSearcher(ctx.reader());
+                    for (int q = 0; q < queries.size(); q++) {
+                        assertEquals(queries.get(q).toString(), searcher.count(queries.get(q)), counts[q]);
+                    }
+                }
+            }
+        }
+    }
+
+    private MultiPointRangeCounter build(Query... queries) {
+        List<QueryToFilterAdapter> filters = new ArrayList<>();
+        for (int i = 0; i < queries.length; i++) {
+            filters.add(new QueryToFilterAdapter(null, Integer.toString(i), queries[i]));
+        }
+        return MultiPointRangeCounter.build(filters);
+    }
+}
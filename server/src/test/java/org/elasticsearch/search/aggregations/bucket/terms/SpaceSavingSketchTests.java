@@ -0,0 +1,109 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.aggregations.bucket.terms;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class SpaceSavingSketchTests extends ESTestCase {
+    public void testExactUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10, b -> {});
+        Map<BytesRef, Long> expected = new HashMap<>();
+        int values = between(0, 1000);
+        for (int i = 0; i < values; i++) {
+            BytesRef key = new BytesRef("k" + between(0, 9));
+            expected.merge(key, 1L, Long::sum);
+            sketch.add(key);
+        }
+        assertThat(sketch.size(), equalTo(expected.size()));
+        assertThat(sketch.total(), equalTo((long) values));
+        assertThat(sketch.maxUntrackedCount(), equalTo(0L));
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            assertThat(sketch.count(slot), equalTo(expected.get(sketch.key(slot))));
+            assertThat(sketch.error(slot), equalTo(0L));
+        }
+    }
+
+    public void testBounds() {
+        int capacity = between(1, 50);
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity, b -> {});
+        Map<BytesRef, Long> expected = new HashMap<>();
+        int values = between(1, 10000);
+        int cardinality = between(1, 500);
+        for (int i = 0; i < values; i++) {
+            // skew the distribution so there are some heavy hitters
+            BytesRef key = new BytesRef("k" + (int) Math.floor(cardinality * Math.pow(randomDouble(), 3)));
+            expected.merge(key, 1L, Long::sum);
+            sketch.add(key);
+        }
+        assertThat(sketch.size(), equalTo(Math.min(capacity, expected.size())));
+        assertThat(sketch.total(), equalTo((long) values));
+        long sum = 0;
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            long actual = expected.remove(sketch.key(slot));
+            assertThat(sketch.count(slot), greaterThanOrEqualTo(actual));
+            assertThat(sketch.count(slot) - sketch.error(slot), lessThanOrEqualTo(actual));
+            // Space-Saving guarantees the error is at most total / capacity
+            assertThat(sketch.error(slot), lessThanOrEqualTo((long) values / capacity));
+            sum += sketch.count(slot);
+        }
+        assertThat(sum, equalTo((long) values));
+        for (long untracked : expected.values()) {
+            assertThat(untracked, lessThanOrEqualTo(sketch.maxUntrackedCount()));
+        }
+    }
+
+    public void testHeavyHitterIsKept() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2, b -> {});
+        BytesRef heavy = new BytesRef("heavy");
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(heavy);
+            sketch.add(new BytesRef("light" + i));
+        }
+        boolean found = false;
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            if (sketch.key(slot).equals(heavy)) {
+                found = true;
+                assertThat(sketch.count(slot), equalTo(1000L));
+                assertThat(sketch.error(slot), equalTo(0L));
+            }
+        }
+        assertTrue(found);
+        assertThat(sketch.maxUntrackedCount(), greaterThan(0L));
+    }
+
+    public void testCircuitBreakerAccounting() {
+        AtomicLong used = new AtomicLong();
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3, used::addAndGet);
+        sketch.add(new BytesRef("a"));
+        assertThat(used.get(), equalTo(SpaceSavingSketch.SLOT_BYTES + 1));
+        sketch.add(new BytesRef("a"));
+        assertThat(used.get(), equalTo(SpaceSavingSketch.SLOT_BYTES + 1));
+        sketch.add(new BytesRef("bb"));
+        sketch.add(new BytesRef("ccc"));
+        assertThat(used.get(), equalTo(3 * SpaceSavingSketch.SLOT_BYTES + 6));
+        // Replaces "bb", the first key with the smallest count
+        sketch.add(new BytesRef("dddd"));
+        assertThat(used.get(), equalTo(3 * SpaceSavingSketch.SLOT_BYTES + 8));
+    }
+
+    public void testInvalidCapacity() {
+        Exception e = expectThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0, b -> {}));
+        assertThat(e.getMessage(), equalTo("capacity must be greater than 0 but was [0]"));
+    }
+}
@@ -152,6 +152,7 @@ import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class TermsAggregatorTests extends AggregatorTestCase {
 
@@ -346,6 +347,65 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         }, new AggTestConfig(aggregationBuilder, fieldType));
     }
 
+    public void testApproximate() throws Exception {
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
+        TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint("approximate")
+            .field("string")
+            .size(2)
+            .shardSize(10)
+            .showTermDocCountError(true);
+        testCase(iw -> {
+            List<List<? extends IndexableField>> docs = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                docs.add(doc(fieldType, "heavy"));
+                if (i % 2 == 0) {
+                    docs.add(doc(fieldType, "medium"));
+                }
+                docs.add(doc(fieldType, Strings.format("light%03d", i)));
+            }
+            iw.addDocuments(docs);
+        }, (StringTerms result) -> {
+            assertThat(
+                result.getBuckets().stream().map(StringTerms.Bucket::getKey).collect(toList()),
+                equalTo(List.of("heavy", "medium"))
+            );
+            // The true count is always within the reported error
+            StringTerms.Bucket heavy = result.getBuckets().get(0);
+            assertThat(heavy.getDocCount(), lessThanOrEqualTo(100L));
+            assertThat(heavy.getDocCount() + heavy.getDocCountError(), greaterThanOrEqualTo(100L));
+            StringTerms.Bucket medium = result.getBuckets().get(1);
+            assertThat(medium.getDocCount(), lessThanOrEqualTo(50L));
+            assertThat(medium.getDocCount() + medium.getDocCountError(), greaterThanOrEqualTo(50L));
+        }, new AggTestConfig(aggregationBuilder, fieldType));
+    }
+
+    public void testApproximateFallsBackToMap() throws Exception {
+        randomizeAggregatorImpl = false;
+
+        Directory directory = newDirectory();
+        RandomIndexWriter indexWriter = new RandomIndexWriter(random(), directory);
+        indexWriter.close();
+        DirectoryReader indexReader = DirectoryReader.open(directory);
+        MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string");
+
+        try (AggregationContext context = createAggregationContext(indexReader, new MatchAllDocsQuery(), fieldType)) {
+            TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint("approximate").field("string");
+            assertThat(createAggregator(aggregationBuilder, context), instanceOf(ApproximateStringTermsAggregator.class));
+
+            aggregationBuilder.order(BucketOrder.key(true));
+            assertThat(createAggregator(aggregationBuilder, context), instanceOf(MapStringTermsAggregator.class));
+
+            aggregationBuilder.order(BucketOrder.count(false)).minDocCount(0);
+            assertThat(createAggregator(aggregationBuilder, context), instanceOf(MapStringTermsAggregator.class));
+
+            aggregationBuilder.minDocCount(1).subAggregation(AggregationBuilders.cardinality("card").field("string"));
+            assertThat(createAggregator(aggregationBuilder, context), instanceOf(MapStringTermsAggregator.class));
+        }
+
+        indexReader.close();
+        directory.close();
+    }
+
     public void testManyTermsOrderBySubAgg() throws Exception {
         MappedFieldType kft = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
         MappedFieldType lft = new NumberFieldType("long", NumberType.LONG);
@@ -700,7 +760,7 @@ public class TermsAggregatorTests extends AggregatorTestCase {
                 try (DirectoryReader indexReader = maybeWrapReaderEs(indexWriter.getReader())) {
                     MappedFieldType fieldType = new NumberFieldMapper.NumberFieldType("long_field", NumberFieldMapper.NumberType.LONG);
 
-                    String executionHint = randomFrom(TermsAggregatorFactory.ExecutionMode.values()).toString();
+                    String executionHint = randomHint();
                     TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").userValueTypeHint(ValueType.LONG)
                         .executionHint(executionHint)
                         .includeExclude(new IncludeExclude(null, null, new TreeSet<>(Set.of(new BytesRef("0"), new BytesRef("5"))), null))
@@ -915,7 +975,7 @@ public class TermsAggregatorTests extends AggregatorTestCase {
                     expectedBuckets.sort(comparator);
                     int size = randomIntBetween(1, counts.size());
 
-                    String executionHint = randomFrom(TermsAggregatorFactory.ExecutionMode.values()).toString();
+                    String executionHint = randomHint();
                     logger.info("bucket_order={} size={} execution_hint={}", bucketOrder, size, executionHint);
                     AggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").userValueTypeHint(valueType)
                         .executionHint(executionHint)
@@ -1549,6 +1609,7 @@ public class TermsAggregatorTests extends AggregatorTestCase {
                                 .entry("total_buckets", (long) count)
                                 .entry("segments_with_single_valued_ords", greaterThan(0))
                                 .entry("segments_with_multi_valued_ords", 0)
+                                .entry("segments_counted_from_terms_dictionary", 0)
                         )
                     )
                 );
@@ -1955,6 +2016,106 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         );
     }
 
+    public void testCountFromTermsDictionary() throws IOException {
+        KeywordFieldType kft = new KeywordFieldType("k", true, true, Collections.emptyMap());
+        IncludeExclude includeExclude = randomBoolean()
+            ? null
+            : new IncludeExclude(null, null, null, new TreeSet<>(Set.of(new BytesRef("b"))));
+        TermsAggregationBuilder builder = new TermsAggregationBuilder("k").field("k").includeExclude(includeExclude);
+        debugTestCase(builder, new MatchAllDocsQuery(), iw -> {
+            for (int i = 0; i < 100; i++) {
+                iw.addDocument(List.of(new Field("k", new BytesRef("a"), KeywordFieldMapper.Defaults.FIELD_TYPE)));
+                if (i % 2 == 0) {
+                    iw.addDocument(
+                        List.of(
+                            new Field("k", new BytesRef("b"), KeywordFieldMapper.Defaults.FIELD_TYPE),
+                            new Field("k", new BytesRef("c"), KeywordFieldMapper.Defaults.FIELD_TYPE)
+                        )
+                    );
+                }
+                if (i % 10 == 0) {
+                    iw.addDocument(List.of());
+                }
+            }
+        }, (StringTerms r, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            if (includeExclude == null) {
+                assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getKey).collect(toList()), equalTo(List.of("a", "b", "c")));
+                assertThat(
+                    r.getBuckets().stream().map(StringTerms.Bucket::getDocCount).collect(toList()),
+                    equalTo(List.of(100L, 50L, 50L))
+                );
+            } else {
+                assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getKey).collect(toList()), equalTo(List.of("a", "c")));
+                assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getDocCount).collect(toList()), equalTo(List.of(100L, 50L)));
+            }
+            assertMap(
+                debug,
+                matchesMap().entry(
+                    "k",
+                    matchesMap().extraOk()
+                        .entry("segments_counted_from_terms_dictionary", greaterThan(0))
+                        .entry("segments_with_single_valued_ords", 0)
+                        .entry("segments_with_multi_valued_ords", 0)
+                )
+            );
+        }, kft);
+    }
+
+    /**
+     * We can't count from the terms dictionary if the top level query
+     * doesn't match every document in the segment.
+     */
+    public void testCountFromTermsDictionaryNeedsAllDocs() throws IOException {
+        KeywordFieldType kft = new KeywordFieldType("k", true, true, Collections.emptyMap());
+        TermsAggregationBuilder builder = new TermsAggregationBuilder("k").field("k");
+        debugTestCase(builder, new TermQuery(new Term("k", "b")), iw -> {
+            for (int i = 0; i < 100; i++) {
+                iw.addDocument(List.of(new Field("k", new BytesRef("a"), KeywordFieldMapper.Defaults.FIELD_TYPE)));
+                if (i % 2 == 0) {
+                    iw.addDocument(
+                        List.of(
+                            new Field("k", new BytesRef("b"), KeywordFieldMapper.Defaults.FIELD_TYPE),
+                            new Field("k", new BytesRef("c"), KeywordFieldMapper.Defaults.FIELD_TYPE)
+                        )
+                    );
+                }
+            }
+        }, (StringTerms r, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getKey).collect(toList()), equalTo(List.of("b", "c")));
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getDocCount).collect(toList()), equalTo(List.of(50L, 50L)));
+            assertMap(
+                debug,
+                matchesMap().entry(
+                    "k",
+                    matchesMap().extraOk()
+                        .entry("segments_counted_from_terms_dictionary", 0)
+                        .entry("segments_with_multi_valued_ords", greaterThan(0))
+                )
+            );
+        }, kft);
+    }
+
+    /**
+     * We can't count from the terms dictionary if there is a {@code missing}
+     * value because it isn't in the terms dictionary.
+     */
+    public void testCountFromTermsDictionaryNotWithMissing() throws IOException {
+        KeywordFieldType kft = new KeywordFieldType("k", true, true, Collections.emptyMap());
+        TermsAggregationBuilder builder = new TermsAggregationBuilder("k").field("k").missing("m");
+        debugTestCase(builder, new MatchAllDocsQuery(), iw -> {
+            for (int i = 0; i < 100; i++) {
+                iw.addDocument(List.of(new Field("k", new BytesRef("a"), KeywordFieldMapper.Defaults.FIELD_TYPE)));
+                if (i % 2 == 0) {
+                    iw.addDocument(List.of());
+                }
+            }
+        }, (StringTerms r, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getKey).collect(toList()), equalTo(List.of("a", "m")));
+            assertThat(r.getBuckets().stream().map(StringTerms.Bucket::getDocCount).collect(toList()), equalTo(List.of(100L, 50L)));
+            assertMap(debug, matchesMap().entry("k", matchesMap().extraOk().entry("segments_counted_from_terms_dictionary", 0)));
+        }, kft);
+    }
+
     /**
      * If the top level query is a runtime field we use the standard aggregator
      * because it's marginally faster. You'd expect it to be a *ton* faster but
@@ -2276,7 +2437,13 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         return List.of(NestedAggregatorTests.nestedObject("nested_object"));
     }
 
+    /**
+     * A random execution hint that produces exact results.
+     */
     private String randomHint() {
-        return randomFrom(TermsAggregatorFactory.ExecutionMode.values()).toString();
+        return randomValueOtherThan(
+            TermsAggregatorFactory.ExecutionMode.APPROXIMATE,
+            () -> randomFrom(TermsAggregatorFactory.ExecutionMode.values())
+        ).toString();
     }
 }
@@ -12,6 +12,8 @@ import org.apache.lucene.util.hppc.BitMixer;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
@@ -19,6 +21,7 @@ import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.test.ESTestCase;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -103,6 +106,62 @@ public class HyperLogLogPlusPlusTests extends ESTestCase {
         }
     }
 
+    public void testMergeHyperLogLogRegisters() {
+        final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
+        try (
+            HyperLogLogPlusPlus a = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 0);
+            HyperLogLogPlusPlus b = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 0)
+        ) {
+            final long aBucket = randomInt(5);
+            final long bBucket = randomInt(5);
+            for (int i = 0; i < 10000; i++) {
+                a.collect(aBucket, BitMixer.mix64(randomInt()));
+                b.collect(bBucket, BitMixer.mix64(randomInt()));
+            }
+            a.upgradeToHll(aBucket);
+            b.upgradeToHll(bBucket);
+            final byte[] expected = new byte[1 << p];
+            AbstractHyperLogLog.RunLenIterator aRunLens = a.getHyperLogLog(aBucket);
+            AbstractHyperLogLog.RunLenIterator bRunLens = b.getHyperLogLog(bBucket);
+            for (int i = 0; i < expected.length; i++) {
+                assertTrue(aRunLens.next());
+                assertTrue(bRunLens.next());
+                expected[i] = (byte) Math.max(aRunLens.value(), bRunLens.value());
+            }
+
+            a.merge(aBucket, b, bBucket);
+            AbstractHyperLogLog.RunLenIterator merged = a.getHyperLogLog(aBucket);
+            for (int i = 0; i < expected.length; i++) {
+                assertTrue(merged.next());
+                assertThat("register " + i, merged.value(), equalTo(expected[i]));
+            }
+            assertFalse(merged.next());
+        }
+    }
+
+    public void testSerializeHyperLogLog() throws IOException {
+        final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
+        try (HyperLogLogPlusPlus counts = new HyperLogLogPlusPlus(p, BigArrays.NON_RECYCLING_INSTANCE, 0)) {
+            final long bucket = randomInt(5);
+            for (int i = 0; i < 10000; i++) {
+                counts.collect(bucket, BitMixer.mix64(randomInt()));
+            }
+            counts.upgradeToHll(bucket);
+            try (BytesStreamOutput out = new BytesStreamOutput()) {
+                counts.writeTo(bucket, out);
+                // Registers are written one byte each after the precision and algorithm
+                assertThat(out.size(), equalTo(2 + (1 << p)));
+                try (
+                    StreamInput in = out.bytes().streamInput();
+                    AbstractHyperLogLogPlusPlus read = AbstractHyperLogLogPlusPlus.readFrom(in, BigArrays.NON_RECYCLING_INSTANCE)
+                ) {
+                    assertTrue(counts.equals(bucket, read, 0));
+                    assertThat(read.cardinality(0), equalTo(counts.cardinality(bucket)));
+                }
+            }
+        }
+    }
+
     public void testFakeHashes() {
         // hashes with lots of leading zeros trigger different paths in the code that we try to go through here
         final int p = randomIntBetween(MIN_PRECISION, MAX_PRECISION);
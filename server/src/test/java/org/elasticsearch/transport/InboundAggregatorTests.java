@@ -192,6 +192,30 @@ public class InboundAggregatorTests extends ESTestCase {
         assertFalse(aggregated3.isShortCircuit());
     }
 
+    public void testCircuitBreakBeforeContent() throws IOException {
+        circuitBreaker.startBreaking();
+        Header header = new Header(randomInt(), randomNonNegativeLong(), TransportStatus.setRequest((byte) 0), TransportVersion.current());
+        header.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        header.actionName = "action_name";
+        BytesArray bytes = new BytesArray(randomByteArrayOfLength(10));
+        header.setContentLength(bytes.length());
+        // Initiate Message
+        aggregator.headerReceived(header);
+
+        // The content length is known from the header so the content is dropped rather than retained
+        final ReleasableBytesReference content = ReleasableBytesReference.wrap(bytes);
+        aggregator.aggregate(content);
+        content.close();
+        assertFalse(content.hasReferences());
+
+        // Signal EOS
+        InboundMessage aggregated = aggregator.finishAggregation();
+
+        assertThat(aggregated, notNullValue());
+        assertTrue(aggregated.isShortCircuit());
+        assertThat(aggregated.getException(), instanceOf(CircuitBreakingException.class));
+    }
+
     public void testCloseWillCloseContent() {
         long requestId = randomNonNegativeLong();
         Header header = new Header(randomInt(), requestId, TransportStatus.setRequest((byte) 0), TransportVersion.current());
@@ -101,6 +101,7 @@ public class InboundDecoderTests extends ESTestCase {
                 assertThat(header.getHeaders().v2().get(headerKey), hasItems(headerValue));
             }
             assertFalse(header.needsToReadVariableHeader());
+            assertEquals(messageBytes.length(), header.getContentLength());
             fragments.clear();
 
             final BytesReference bytes2 = totalBytes.slice(bytesConsumed, totalBytes.length() - bytesConsumed);
@@ -369,6 +370,7 @@ public class InboundDecoderTests extends ESTestCase {
                 assertThat(header.getHeaders().v2().get(headerKey), hasItems(headerValue));
             }
             assertFalse(header.needsToReadVariableHeader());
+            assertEquals(-1, header.getContentLength());
             fragments.clear();
 
             final BytesReference bytes2 = totalBytes.slice(bytesConsumed, totalBytes.length() - bytesConsumed);
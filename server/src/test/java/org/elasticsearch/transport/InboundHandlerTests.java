@@ -83,6 +83,7 @@ public class InboundHandlerTests extends ESTestCase {
             threadPool,
             new BytesRefRecycler(PageCacheRecycler.NON_RECYCLING_INSTANCE),
             new HandlingTimeTracker(),
+            new TransportCompressionTracker(Settings.EMPTY),
             false
         );
         requestHandlers = new Transport.RequestHandlers();
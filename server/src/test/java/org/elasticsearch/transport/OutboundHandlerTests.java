@@ -26,6 +26,7 @@ import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.network.NetworkAddress;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.TransportAddress;
 import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
@@ -80,6 +81,7 @@ public class OutboundHandlerTests extends ESTestCase {
             threadPool,
             recycler,
             new HandlingTimeTracker(),
+            new TransportCompressionTracker(Settings.EMPTY),
             false
         );
 
@@ -263,6 +265,43 @@ public class OutboundHandlerTests extends ESTestCase {
         assertEquals("header_value", header.getHeaders().v1().get("header"));
     }
 
+    public void testSmallRequestsDoNotStopCompressingTheirResponses() throws IOException {
+        TransportVersion version = TransportVersion.current();
+        String action = "internal:small-request-large-response";
+        String largeValue = "response ".repeat(1024);
+        int roundTrips = TransportCompressionTracker.WARMUP_MESSAGES + between(1, 20);
+        for (int i = 0; i < roundTrips; i++) {
+            long requestId = i;
+            handler.sendRequest(node, channel, requestId, action, new TestRequest("small"), options, version, compressionScheme, false);
+            final Header requestHeader = receiveLastMessage().v1();
+            assertTrue(requestHeader.isRequest());
+            assertTrue("request [" + i + "] should be compressed", requestHeader.isCompressed());
+
+            // like InboundHandler, the receiver compresses its response with the scheme of the request
+            handler.sendResponse(
+                version,
+                channel,
+                requestId,
+                action,
+                new TestResponse(largeValue),
+                requestHeader.getCompressionScheme(),
+                false,
+                ResponseStatsConsumer.NONE
+            );
+            final Tuple<Header, BytesReference> response = receiveLastMessage();
+            assertTrue(response.v1().isResponse());
+            assertTrue("response [" + i + "] should be compressed", response.v1().isCompressed());
+            assertEquals(largeValue, new TestResponse(response.v2().streamInput()).value);
+        }
+    }
+
+    private Tuple<Header, BytesReference> receiveLastMessage() throws IOException {
+        BytesReference reference = channel.getMessageCaptor().get();
+        channel.getListenerCaptor().get().onResponse(null);
+        pipeline.handleBytes(channel, new ReleasableBytesReference(reference, () -> {}));
+        return message.get();
+    }
+
     public void testErrorResponse() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         TransportVersion version = TransportHandshaker.REQUEST_HANDSHAKE_VERSION;
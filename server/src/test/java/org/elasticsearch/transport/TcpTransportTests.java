@@ -607,6 +607,7 @@ public class TcpTransportTests extends ESTestCase {
                     testThreadPool,
                     new BytesRefRecycler(new MockPageCacheRecycler(Settings.EMPTY)),
                     new HandlingTimeTracker(),
+                    new TransportCompressionTracker(Settings.EMPTY),
                     false
                 )
             );
@@ -0,0 +1,123 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+public class TransportCompressionTrackerTests extends ESTestCase {
+
+    private final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+    private final BytesRefRecycler recycler = new BytesRefRecycler(PageCacheRecycler.NON_RECYCLING_INSTANCE);
+
+    public void testSkipsIncompressibleMessages() throws IOException {
+        final var tracker = new TransportCompressionTracker(true, 0, 0.9).getTracker("action", true);
+        // random bytes do not compress
+        final byte[] content = randomByteArrayOfLength(between(8192, 16384));
+        for (int i = 0; i < TransportCompressionTracker.WARMUP_MESSAGES; i++) {
+            assertThat(send(tracker, content), equalTo(Compression.Scheme.LZ4));
+        }
+        final int skipped = TransportCompressionTracker.RESAMPLE_INTERVAL - TransportCompressionTracker.WARMUP_MESSAGES - 1;
+        for (int i = 0; i < skipped; i++) {
+            assertNull(send(tracker, content));
+        }
+        // compressed anyway to resample
+        assertThat(send(tracker, content), equalTo(Compression.Scheme.LZ4));
+
+        final var stats = tracker.getStats();
+        assertThat(stats.compressedCount(), equalTo(TransportCompressionTracker.WARMUP_MESSAGES + 1L));
+        assertThat(stats.skippedCount(), equalTo((long) skipped));
+        assertThat(stats.uncompressedSize(), equalTo(stats.compressedCount() * content.length));
+        assertThat(stats.compressedSize(), greaterThan(stats.uncompressedSize() * 9 / 10));
+    }
+
+    public void testSkipsSmallMessages() throws IOException {
+        final var tracker = new TransportCompressionTracker(true, 1024, 0.9).getTracker("action", false);
+        final byte[] content = new byte[between(1, 512)];
+        for (int i = 0; i < TransportCompressionTracker.WARMUP_MESSAGES; i++) {
+            assertThat(send(tracker, content), equalTo(Compression.Scheme.LZ4));
+        }
+        assertNull(send(tracker, content));
+        assertThat(tracker.getStats().skippedCount(), equalTo(1L));
+    }
+
+    public void testCompressesLargeCompressibleMessages() throws IOException {
+        final var tracker = new TransportCompressionTracker(true, 1024, 0.9).getTracker("action", true);
+        final byte[] content = new byte[between(8192, 16384)];
+        final int messages = between(1, 3 * TransportCompressionTracker.RESAMPLE_INTERVAL);
+        for (int i = 0; i < messages; i++) {
+            assertThat(send(tracker, content), equalTo(Compression.Scheme.LZ4));
+        }
+
+        final var stats = tracker.getStats();
+        assertThat(stats.compressedCount(), equalTo((long) messages));
+        assertThat(stats.skippedCount(), equalTo(0L));
+        assertThat(stats.uncompressedSize(), equalTo((long) messages * content.length));
+        assertThat(stats.compressedSize(), lessThan(stats.uncompressedSize() / 10));
+    }
+
+    public void testAlwaysCompressesIfNotAdaptive() throws IOException {
+        final var tracker = new TransportCompressionTracker(false, 1024, 0.9).getTracker("action", true);
+        final byte[] content = randomByteArrayOfLength(between(1, 512));
+        final int messages = between(1, 3 * TransportCompressionTracker.RESAMPLE_INTERVAL);
+        for (int i = 0; i < messages; i++) {
+            assertThat(send(tracker, content), equalTo(Compression.Scheme.LZ4));
+        }
+        assertThat(tracker.getStats().compressedCount(), equalTo((long) messages));
+        assertThat(tracker.getStats().skippedCount(), equalTo(0L));
+    }
+
+    public void testDoesNotCompressIfConnectionDoesNot() {
+        final var tracker = new TransportCompressionTracker(true, 0, 1.0).getTracker("action", true);
+        assertNull(tracker.selectScheme(null));
+        assertThat(tracker.getStats().skippedCount(), equalTo(0L));
+    }
+
+    public void testTracksActionsSeparately() throws IOException {
+        final var compressionTracker = new TransportCompressionTracker(Settings.EMPTY);
+        send(compressionTracker.getTracker("action-a", true), new byte[between(1, 10)]);
+        send(compressionTracker.getTracker("action-b", false), new byte[between(1, 10)]);
+
+        final var stats = compressionTracker.getStats();
+        assertThat(stats.keySet(), equalTo(Set.of("action-a", "action-b")));
+        assertThat(stats.get("action-a").requests().compressedCount(), equalTo(1L));
+        assertThat(stats.get("action-a").responses().compressedCount(), equalTo(0L));
+        assertThat(stats.get("action-b").requests().compressedCount(), equalTo(0L));
+        assertThat(stats.get("action-b").responses().compressedCount(), equalTo(1L));
+    }
+
+    private Compression.Scheme send(TransportCompressionTracker.MessageTracker tracker, byte[] content) throws IOException {
+        final Compression.Scheme scheme = tracker.selectScheme(Compression.Scheme.LZ4);
+        final OutboundMessage message = new OutboundMessage.Request(
+            threadContext,
+            out -> out.writeBytes(content),
+            TransportVersion.current(),
+            "action",
+            randomNonNegativeLong(),
+            false,
+            scheme
+        );
+        try (RecyclerBytesStreamOutput out = new RecyclerBytesStreamOutput(recycler)) {
+            message.serialize(out);
+        }
+        tracker.onSerialized(message);
+        return scheme;
+    }
+}
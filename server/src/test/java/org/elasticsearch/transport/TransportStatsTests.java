@@ -21,7 +21,18 @@ public class TransportStatsTests extends ESTestCase {
     public void testToXContent() {
         assertEquals(
             Strings.toString(
-                new TransportStats(1, 2, 3, ByteSizeUnit.MB.toBytes(4), 5, ByteSizeUnit.MB.toBytes(6), new long[0], new long[0], Map.of()),
+                new TransportStats(
+                    1,
+                    2,
+                    3,
+                    ByteSizeUnit.MB.toBytes(4),
+                    5,
+                    ByteSizeUnit.MB.toBytes(6),
+                    new long[0],
+                    new long[0],
+                    Map.of(),
+                    Map.of()
+                ),
                 false,
                 true
             ),
@@ -35,7 +46,18 @@ public class TransportStatsTests extends ESTestCase {
         final var histogram = new long[HandlingTimeTracker.BUCKET_COUNT];
         assertEquals(
             Strings.toString(
-                new TransportStats(1, 2, 3, ByteSizeUnit.MB.toBytes(4), 5, ByteSizeUnit.MB.toBytes(6), histogram, histogram, Map.of()),
+                new TransportStats(
+                    1,
+                    2,
+                    3,
+                    ByteSizeUnit.MB.toBytes(4),
+                    5,
+                    ByteSizeUnit.MB.toBytes(6),
+                    histogram,
+                    histogram,
+                    Map.of(),
+                    Map.of()
+                ),
                 false,
                 true
             ),
@@ -51,7 +73,18 @@ public class TransportStatsTests extends ESTestCase {
         histogram[4] = 10;
         assertEquals(
             Strings.toString(
-                new TransportStats(1, 2, 3, ByteSizeUnit.MB.toBytes(4), 5, ByteSizeUnit.MB.toBytes(6), histogram, histogram, Map.of()),
+                new TransportStats(
+                    1,
+                    2,
+                    3,
+                    ByteSizeUnit.MB.toBytes(4),
+                    5,
+                    ByteSizeUnit.MB.toBytes(6),
+                    histogram,
+                    histogram,
+                    Map.of(),
+                    Map.of()
+                ),
                 false,
                 true
             ),
@@ -85,7 +118,8 @@ public class TransportStatsTests extends ESTestCase {
                     ByteSizeUnit.MB.toBytes(6),
                     new long[0],
                     new long[0],
-                    Map.of("internal:test/action", exampleActionStats)
+                    Map.of("internal:test/action", exampleActionStats),
+                    Map.of()
                 ),
                 false,
                 true
@@ -98,6 +132,44 @@ public class TransportStatsTests extends ESTestCase {
         );
     }
 
+    public void testCompressionStatsToXContent() {
+        final var exampleCompressionStats = new TransportCompressionStats(
+            new TransportCompressionStats.MessageStats(3, 1, 4096, 1024, 2_000_000),
+            new TransportCompressionStats.MessageStats(0, 0, 0, 0, 0)
+        );
+        assertEquals(
+            Strings.toString(
+                new TransportStats(
+                    1,
+                    2,
+                    3,
+                    ByteSizeUnit.MB.toBytes(4),
+                    5,
+                    ByteSizeUnit.MB.toBytes(6),
+                    new long[0],
+                    new long[0],
+                    Map.of(),
+                    Map.of("internal:test/action", exampleCompressionStats)
+                ),
+                false,
+                true
+            ),
+            """
+                {"transport":{"server_open":1,"total_outbound_connections":2,\
+                "rx_count":3,"rx_size":"4mb","rx_size_in_bytes":4194304,\
+                "tx_count":5,"tx_size":"6mb","tx_size_in_bytes":6291456,\
+                "compression":{"internal:test/action":{\
+                "requests":{"compressed_count":3,"skipped_count":1,\
+                "uncompressed_size":"4kb","uncompressed_size_in_bytes":4096,\
+                "compressed_size":"1kb","compressed_size_in_bytes":1024,\
+                "ratio":0.25,"time":"2ms","time_in_millis":2},\
+                "responses":{"compressed_count":0,"skipped_count":0,\
+                "uncompressed_size":"0b","uncompressed_size_in_bytes":0,\
+                "compressed_size":"0b","compressed_size_in_bytes":0,\
+                "time":"0s","time_in_millis":0}}}}}"""
+        );
+    }
+
     private static void assertHistogram(long[] histogram, String expectedJson) {
         assertEquals(expectedJson, Strings.toString((ToXContentFragment) (builder, params) -> {
             TransportStats.histogramToXContent(builder, histogram, "h");
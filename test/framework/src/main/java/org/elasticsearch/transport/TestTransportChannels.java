@@ -10,6 +10,7 @@ package org.elasticsearch.transport;
 
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.threadpool.ThreadPool;
 
@@ -25,7 +26,16 @@ public class TestTransportChannels {
     ) {
         BytesRefRecycler recycler = new BytesRefRecycler(PageCacheRecycler.NON_RECYCLING_INSTANCE);
         return new TcpTransportChannel(
-            new OutboundHandler(nodeName, version, new StatsTracker(), threadPool, recycler, new HandlingTimeTracker(), false),
+            new OutboundHandler(
+                nodeName,
+                version,
+                new StatsTracker(),
+                threadPool,
+                recycler,
+                new HandlingTimeTracker(),
+                new TransportCompressionTracker(Settings.EMPTY),
+                false
+            ),
             channel,
             action,
             requestId,
@@ -15,6 +15,7 @@ import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.TriConsumer;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.tasks.TaskManager;
@@ -150,6 +151,10 @@ public class AsyncResultsService<Task extends AsyncTask, Response extends AsyncR
     private void sendFinalResponse(GetAsyncResultRequest request, Response response, long nowInMillis, ActionListener<Response> listener) {
         // check if the result has expired
         if (response.getExpirationTime() < nowInMillis) {
+            if (response instanceof RefCounted refCounted) {
+                // nobody will read the expired response so release it here
+                refCounted.decRef();
+            }
             listener.onFailure(new ResourceNotFoundException(request.getId()));
             return;
         }
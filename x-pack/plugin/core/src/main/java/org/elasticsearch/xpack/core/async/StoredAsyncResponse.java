@@ -11,6 +11,7 @@ import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -73,6 +74,33 @@ public class StoredAsyncResponse<R extends Writeable> extends ActionResponse
         return exception;
     }
 
+    /*
+     * The wrapped response may hold resources that have to be released, so
+     * references to the stored response are references to the response.
+     */
+
+    @Override
+    public void incRef() {
+        if (response instanceof RefCounted refCounted) {
+            refCounted.incRef();
+        }
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return response instanceof RefCounted refCounted ? refCounted.tryIncRef() : true;
+    }
+
+    @Override
+    public boolean decRef() {
+        return response instanceof RefCounted refCounted ? refCounted.decRef() : false;
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return response instanceof RefCounted refCounted ? refCounted.hasReferences() : true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -42,4 +42,14 @@ public @interface Evaluator {
      * into a warning and turn into a null value.
      */
     Class<? extends Exception>[] warnExceptions() default {};
+
+    /**
+     * Optional method called to process a whole page at once when every
+     * parameter is a vector. It receives the position count, a vector for
+     * each parameter, and the {@code BlockFactory} and returns the result
+     * vector or {@code null} if it can't handle those vectors. On
+     * {@code null} the {@code process} method is called for each position.
+     * This is the hook for SIMD implementations.
+     */
+    String vectorized() default "";
 }
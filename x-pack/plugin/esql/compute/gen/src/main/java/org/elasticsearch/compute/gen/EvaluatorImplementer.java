@@ -34,6 +34,7 @@ import javax.lang.model.util.Elements;
 
 import static org.elasticsearch.compute.gen.Methods.appendMethod;
 import static org.elasticsearch.compute.gen.Methods.buildFromFactory;
+import static org.elasticsearch.compute.gen.Methods.findMethod;
 import static org.elasticsearch.compute.gen.Methods.getMethod;
 import static org.elasticsearch.compute.gen.Types.BLOCK_REF;
 import static org.elasticsearch.compute.gen.Types.BYTES_REF;
@@ -53,16 +54,22 @@ public class EvaluatorImplementer {
     private final TypeElement declarationType;
     private final ProcessFunction processFunction;
     private final ClassName implementation;
+    /**
+     * Optional function to process pages where every parameter is a vector.
+     */
+    private final ExecutableElement vectorizedFunction;
 
     public EvaluatorImplementer(
         Elements elements,
         javax.lang.model.util.Types types,
         ExecutableElement processFunction,
         String extraName,
-        List<TypeMirror> warnExceptions
+        List<TypeMirror> warnExceptions,
+        String vectorizedMethodName
     ) {
         this.declarationType = (TypeElement) processFunction.getEnclosingElement();
         this.processFunction = new ProcessFunction(elements, types, processFunction, warnExceptions);
+        this.vectorizedFunction = vectorizedFunction(vectorizedMethodName);
 
         this.implementation = ClassName.get(
             elements.getPackageOf(declarationType).toString(),
@@ -70,6 +77,21 @@ public class EvaluatorImplementer {
         );
     }
 
+    private ExecutableElement vectorizedFunction(String name) {
+        if (name.equals("")) {
+            return null;
+        }
+        if (processFunction.args.stream().anyMatch(a -> a instanceof StandardProcessFunctionArg == false)) {
+            throw new IllegalArgumentException("vectorized evaluators only support plain parameters");
+        }
+        int params = processFunction.args.size() + 2;
+        ExecutableElement fn = findMethod(declarationType, new String[] { name }, m -> m.getParameters().size() == params);
+        if (fn == null) {
+            throw new IllegalArgumentException("Couldn't find " + declarationType + "#" + name + " with " + params + " parameters");
+        }
+        return fn;
+    }
+
     public JavaFile sourceFile() {
         JavaFile.Builder builder = JavaFile.builder(implementation.packageName(), type());
         builder.addFileComment("""
@@ -160,6 +182,19 @@ public class EvaluatorImplementer {
                 builder.addParameter(a.dataType(blockStyle), a.paramName(blockStyle));
             }
         });
+        if (blockStyle == false && vectorizedFunction != null) {
+            ClassName vectorType = vectorType(TypeName.get(processFunction.function.getReturnType()));
+            String params = processFunction.args.stream().map(a -> a.paramName(false)).collect(Collectors.joining(", "));
+            builder.addStatement(
+                "$T vectorized = $T.$N(positionCount, " + params + ", driverContext.blockFactory())",
+                vectorType,
+                declarationType,
+                vectorizedFunction.getSimpleName()
+            );
+            builder.beginControlFlow("if (vectorized != null)");
+            builder.addStatement(vectorType.equals(resultDataType) ? "return vectorized" : "return vectorized.asBlock()");
+            builder.endControlFlow();
+        }
         TypeName builderType = builderType(resultDataType);
         builder.beginControlFlow(
             "try($T result = driverContext.blockFactory().$L(positionCount))",
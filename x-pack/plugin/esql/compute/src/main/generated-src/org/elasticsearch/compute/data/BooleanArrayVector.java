@@ -43,6 +43,13 @@ public final class BooleanArrayVector extends AbstractVector implements BooleanV
         return values[position];
     }
 
+    /**
+     * The backing array. Only the first {@link #getPositionCount()} values are valid.
+     */
+    boolean[] values() {
+        return values;
+    }
+
     @Override
     public ElementType elementType() {
         return ElementType.BOOLEAN;
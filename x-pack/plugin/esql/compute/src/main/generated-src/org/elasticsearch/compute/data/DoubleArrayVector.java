@@ -43,6 +43,13 @@ public final class DoubleArrayVector extends AbstractVector implements DoubleVec
         return values[position];
     }
 
+    /**
+     * The backing array. Only the first {@link #getPositionCount()} values are valid.
+     */
+    double[] values() {
+        return values;
+    }
+
     @Override
     public ElementType elementType() {
         return ElementType.DOUBLE;
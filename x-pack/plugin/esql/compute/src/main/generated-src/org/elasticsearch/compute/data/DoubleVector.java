@@ -7,8 +7,10 @@
 
 package org.elasticsearch.compute.data;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.util.ByteUtils;
 
 import java.io.IOException;
 
@@ -17,7 +19,7 @@ import java.io.IOException;
  * This class is generated. Do not edit it.
  */
 public sealed interface DoubleVector extends Vector permits ConstantDoubleVector, DoubleArrayVector, DoubleBigArrayVector,
-    ConstantNullVector {
+    DoubleBytesReferenceVector, ConstantNullVector {
     double getDouble(int position);
 
     @Override
@@ -78,6 +80,8 @@ public sealed interface DoubleVector extends Vector permits ConstantDoubleVector
         final boolean constant = in.readBoolean();
         if (constant && positions > 0) {
             return blockFactory.newConstantDoubleVector(in.readDouble(), positions);
+        } else if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            return blockFactory.newDoubleBytesReferenceVector(in.readReleasableBytesReference(), positions);
         } else {
             try (var builder = blockFactory.newDoubleVectorFixedBuilder(positions)) {
                 for (int i = 0; i < positions; i++) {
@@ -95,6 +99,17 @@ public sealed interface DoubleVector extends Vector permits ConstantDoubleVector
         out.writeBoolean(isConstant());
         if (isConstant() && positions > 0) {
             out.writeDouble(getDouble(0));
+        } else if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            // Little-endian bytes so the receiver can read the values straight out of the network buffer
+            out.writeVInt(positions * Double.BYTES);
+            final byte[] scratch = new byte[Math.min(positions, 1024) * Double.BYTES];
+            for (int start = 0; start < positions; start += 1024) {
+                final int end = Math.min(positions, start + 1024);
+                for (int i = start; i < end; i++) {
+                    ByteUtils.writeDoubleLE(getDouble(i), scratch, (i - start) * Double.BYTES);
+                }
+                out.writeBytes(scratch, 0, (end - start) * Double.BYTES);
+            }
         } else {
             for (int i = 0; i < positions; i++) {
                 out.writeDouble(getDouble(i));
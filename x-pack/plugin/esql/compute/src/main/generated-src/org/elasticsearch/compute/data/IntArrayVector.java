@@ -43,6 +43,13 @@ public final class IntArrayVector extends AbstractVector implements IntVector {
         return values[position];
     }
 
+    /**
+     * The backing array. Only the first {@link #getPositionCount()} values are valid.
+     */
+    int[] values() {
+        return values;
+    }
+
     @Override
     public ElementType elementType() {
         return ElementType.INT;
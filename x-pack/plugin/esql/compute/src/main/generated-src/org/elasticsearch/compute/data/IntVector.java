@@ -7,8 +7,10 @@
 
 package org.elasticsearch.compute.data;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.util.ByteUtils;
 
 import java.io.IOException;
 
@@ -16,7 +18,8 @@ import java.io.IOException;
  * Vector that stores int values.
  * This class is generated. Do not edit it.
  */
-public sealed interface IntVector extends Vector permits ConstantIntVector, IntArrayVector, IntBigArrayVector, ConstantNullVector {
+public sealed interface IntVector extends Vector permits ConstantIntVector, IntArrayVector, IntBigArrayVector,
+    IntBytesReferenceVector, ConstantNullVector {
 
     int getInt(int position);
 
@@ -77,6 +80,8 @@ public sealed interface IntVector extends Vector permits ConstantIntVector, IntA
         final boolean constant = in.readBoolean();
         if (constant && positions > 0) {
             return blockFactory.newConstantIntVector(in.readInt(), positions);
+        } else if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            return blockFactory.newIntBytesReferenceVector(in.readReleasableBytesReference(), positions);
         } else {
             try (var builder = blockFactory.newIntVectorFixedBuilder(positions)) {
                 for (int i = 0; i < positions; i++) {
@@ -94,6 +99,17 @@ public sealed interface IntVector extends Vector permits ConstantIntVector, IntA
         out.writeBoolean(isConstant());
         if (isConstant() && positions > 0) {
             out.writeInt(getInt(0));
+        } else if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            // Little-endian bytes so the receiver can read the values straight out of the network buffer
+            out.writeVInt(positions * Integer.BYTES);
+            final byte[] scratch = new byte[Math.min(positions, 1024) * Integer.BYTES];
+            for (int start = 0; start < positions; start += 1024) {
+                final int end = Math.min(positions, start + 1024);
+                for (int i = start; i < end; i++) {
+                    ByteUtils.writeIntLE(getInt(i), scratch, (i - start) * Integer.BYTES);
+                }
+                out.writeBytes(scratch, 0, (end - start) * Integer.BYTES);
+            }
         } else {
             for (int i = 0; i < positions; i++) {
                 out.writeInt(getInt(i));
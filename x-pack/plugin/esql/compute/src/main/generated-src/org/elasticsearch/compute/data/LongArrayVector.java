@@ -43,6 +43,13 @@ public final class LongArrayVector extends AbstractVector implements LongVector
         return values[position];
     }
 
+    /**
+     * The backing array. Only the first {@link #getPositionCount()} values are valid.
+     */
+    long[] values() {
+        return values;
+    }
+
     @Override
     public ElementType elementType() {
         return ElementType.LONG;
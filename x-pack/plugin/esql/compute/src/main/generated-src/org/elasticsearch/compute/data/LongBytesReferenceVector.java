@@ -0,0 +1,100 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.data;
+
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.util.ByteUtils;
+
+/**
+ * Vector implementation that reads little-endian longs from a {@link ReleasableBytesReference}
+ * backed by a single array. When a vector is received from another node these bytes are a slice
+ * of the network buffer so we don't copy them. The breaker is charged for the slice when the
+ * vector is built. {@link BlockFactory} copies values spread over several buffers into an array
+ * vector instead so reading a value never has to look for the buffer that holds it.
+ * This class is generated. Do not edit it.
+ */
+public final class LongBytesReferenceVector extends AbstractVector implements LongVector {
+
+    static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(LongBytesReferenceVector.class);
+
+    private final ReleasableBytesReference values;
+    private final byte[] bytes;
+    private final int offset;
+
+    private final LongBlock block;
+
+    LongBytesReferenceVector(ReleasableBytesReference values, int positionCount, BlockFactory blockFactory) {
+        super(positionCount, blockFactory);
+        assert values.length() == positionCount * Long.BYTES : values.length() + " bytes for " + positionCount + " positions";
+        assert values.hasArray() : "values must be backed by a single array";
+        this.values = values;
+        this.bytes = values.array();
+        this.offset = values.arrayOffset();
+        this.block = new LongVectorBlock(this);
+    }
+
+    @Override
+    public LongBlock asBlock() {
+        return block;
+    }
+
+    @Override
+    public long getLong(int position) {
+        return ByteUtils.readLongLE(bytes, offset + position * Long.BYTES);
+    }
+
+    @Override
+    public ElementType elementType() {
+        return ElementType.LONG;
+    }
+
+    @Override
+    public boolean isConstant() {
+        return false;
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return BASE_RAM_BYTES_USED + values.length();
+    }
+
+    @Override
+    public LongVector filter(int... positions) {
+        try (LongVector.FixedBuilder builder = blockFactory.newLongVectorFixedBuilder(positions.length)) {
+            for (int pos : positions) {
+                builder.appendLong(getLong(pos));
+            }
+            return builder.build();
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        values.decRef();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LongVector that) {
+            return LongVector.equals(this, that);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return LongVector.hash(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[positions=" + getPositionCount() + ", bytes=" + values.length() + ']';
+    }
+}
@@ -7,8 +7,10 @@
 
 package org.elasticsearch.compute.data;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.util.ByteUtils;
 
 import java.io.IOException;
 
@@ -16,7 +18,8 @@ import java.io.IOException;
  * Vector that stores long values.
  * This class is generated. Do not edit it.
  */
-public sealed interface LongVector extends Vector permits ConstantLongVector, LongArrayVector, LongBigArrayVector, ConstantNullVector {
+public sealed interface LongVector extends Vector permits ConstantLongVector, LongArrayVector, LongBigArrayVector,
+    LongBytesReferenceVector, ConstantNullVector {
 
     long getLong(int position);
 
@@ -78,6 +81,8 @@ public sealed interface LongVector extends Vector permits ConstantLongVector, Lo
         final boolean constant = in.readBoolean();
         if (constant && positions > 0) {
             return blockFactory.newConstantLongVector(in.readLong(), positions);
+        } else if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            return blockFactory.newLongBytesReferenceVector(in.readReleasableBytesReference(), positions);
         } else {
             try (var builder = blockFactory.newLongVectorFixedBuilder(positions)) {
                 for (int i = 0; i < positions; i++) {
@@ -95,6 +100,17 @@ public sealed interface LongVector extends Vector permits ConstantLongVector, Lo
         out.writeBoolean(isConstant());
         if (isConstant() && positions > 0) {
             out.writeLong(getLong(0));
+        } else if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_ZERO_COPY_VECTORS)) {
+            // Little-endian bytes so the receiver can read the values straight out of the network buffer
+            out.writeVInt(positions * Long.BYTES);
+            final byte[] scratch = new byte[Math.min(positions, 1024) * Long.BYTES];
+            for (int start = 0; start < positions; start += 1024) {
+                final int end = Math.min(positions, start + 1024);
+                for (int i = start; i < end; i++) {
+                    ByteUtils.writeLongLE(getLong(i), scratch, (i - start) * Long.BYTES);
+                }
+                out.writeBytes(scratch, 0, (end - start) * Long.BYTES);
+            }
         } else {
             for (int i = 0; i < positions; i++) {
                 out.writeLong(getLong(i));
@@ -11,7 +11,9 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.ByteUtils;
 import org.elasticsearch.common.util.BytesRefArray;
 import org.elasticsearch.compute.data.Block.MvOrdering;
 
@@ -207,6 +209,30 @@ public class BlockFactory {
         return b;
     }
 
+    /**
+     * Wrap little-endian ints in a vector without copying them if they are in a single array, taking
+     * ownership of {@code values}. Values spread over several buffers are copied into an array vector.
+     */
+    IntVector newIntBytesReferenceVector(ReleasableBytesReference values, int positionCount) {
+        if (values.hasArray() == false) {
+            try (values) {
+                BytesRef bytes = values.toBytesRef();
+                int[] array = new int[positionCount];
+                for (int i = 0; i < positionCount; i++) {
+                    array[i] = ByteUtils.readIntLE(bytes.bytes, bytes.offset + i * Integer.BYTES);
+                }
+                return newIntArrayVector(array, positionCount);
+            }
+        }
+        try {
+            adjustBreaker(IntBytesReferenceVector.BASE_RAM_BYTES_USED + values.length(), false);
+        } catch (CircuitBreakingException e) {
+            values.decRef();
+            throw e;
+        }
+        return new IntBytesReferenceVector(values, positionCount, this);
+    }
+
     public final IntBlock newConstantIntBlockWith(int value, int positions) {
         return newConstantIntBlockWith(value, positions, 0L);
     }
@@ -259,6 +285,30 @@ public class BlockFactory {
         return b;
     }
 
+    /**
+     * Wrap little-endian longs in a vector without copying them if they are in a single array, taking
+     * ownership of {@code values}. Values spread over several buffers are copied into an array vector.
+     */
+    LongVector newLongBytesReferenceVector(ReleasableBytesReference values, int positionCount) {
+        if (values.hasArray() == false) {
+            try (values) {
+                BytesRef bytes = values.toBytesRef();
+                long[] array = new long[positionCount];
+                for (int i = 0; i < positionCount; i++) {
+                    array[i] = ByteUtils.readLongLE(bytes.bytes, bytes.offset + i * Long.BYTES);
+                }
+                return newLongArrayVector(array, positionCount);
+            }
+        }
+        try {
+            adjustBreaker(LongBytesReferenceVector.BASE_RAM_BYTES_USED + values.length(), false);
+        } catch (CircuitBreakingException e) {
+            values.decRef();
+            throw e;
+        }
+        return new LongBytesReferenceVector(values, positionCount, this);
+    }
+
     public final LongBlock newConstantLongBlockWith(long value, int positions) {
         return newConstantLongBlockWith(value, positions, 0L);
     }
@@ -312,6 +362,30 @@ public class BlockFactory {
         return b;
     }
 
+    /**
+     * Wrap little-endian doubles in a vector without copying them if they are in a single array, taking
+     * ownership of {@code values}. Values spread over several buffers are copied into an array vector.
+     */
+    DoubleVector newDoubleBytesReferenceVector(ReleasableBytesReference values, int positionCount) {
+        if (values.hasArray() == false) {
+            try (values) {
+                BytesRef bytes = values.toBytesRef();
+                double[] array = new double[positionCount];
+                for (int i = 0; i < positionCount; i++) {
+                    array[i] = ByteUtils.readDoubleLE(bytes.bytes, bytes.offset + i * Double.BYTES);
+                }
+                return newDoubleArrayVector(array, positionCount);
+            }
+        }
+        try {
+            adjustBreaker(DoubleBytesReferenceVector.BASE_RAM_BYTES_USED + values.length(), false);
+        } catch (CircuitBreakingException e) {
+            values.decRef();
+            throw e;
+        }
+        return new DoubleBytesReferenceVector(values, positionCount, this);
+    }
+
     public final DoubleBlock newConstantDoubleBlockWith(double value, int positions) {
         return newConstantDoubleBlockWith(value, positions, 0L);
     }
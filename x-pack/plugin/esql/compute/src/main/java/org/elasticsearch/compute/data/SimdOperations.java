@@ -0,0 +1,295 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.data;
+
+import java.util.Optional;
+
+/**
+ * Arithmetic and comparisons over whole {@link Vector}s using the incubating
+ * JDK Vector API. Evaluators call these from their {@code vectorized} hook
+ * before falling back to processing each position.
+ * <p>
+ *     Every method returns {@code null} when it can't handle its inputs:
+ * </p>
+ * <ul>
+ *     <li>The {@code jdk.incubator.vector} module isn't in the boot layer. The
+ *     default {@code jvm.options} add it, but custom JVM options may not.</li>
+ *     <li>An input isn't backed by an array or a constant.</li>
+ *     <li>Integer arithmetic overflows. Evaluating each position produces the
+ *     {@code null}s and warnings for the overflowing positions.</li>
+ * </ul>
+ */
+public final class SimdOperations {
+    /**
+     * The vector API kernels or {@code null} if the vector API isn't available.
+     */
+    private static final Kernels KERNELS = loadKernels();
+
+    /**
+     * Is the vector API available?
+     */
+    static final boolean ENABLED = KERNELS != null;
+
+    private SimdOperations() {}
+
+    /**
+     * Load the kernels from the {@code vector} source set if the
+     * {@code jdk.incubator.vector} module is in the boot layer. They are
+     * compiled on their own so nothing else in this module has to compile
+     * against the incubating module.
+     */
+    private static Kernels loadKernels() {
+        Optional<Module> vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (vectorModule.isEmpty()) {
+            return null;
+        }
+        SimdOperations.class.getModule().addReads(vectorModule.get());
+        try {
+            return (Kernels) Class.forName("org.elasticsearch.compute.data.PanamaSimdOperations").getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // Running from classes that don't include the vector source set
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to load the vector API kernels", e);
+        }
+    }
+
+    /**
+     * Comparisons supported by the {@code compare} methods.
+     */
+    public enum Comparison {
+        EQ,
+        NEQ,
+        GT,
+        GTE,
+        LT,
+        LTE;
+    }
+
+    public static IntVector addInts(int positionCount, IntVector lhs, IntVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? ints(positionCount, lhs, rhs, blockFactory, KERNELS::addInts) : null;
+    }
+
+    public static IntVector subInts(int positionCount, IntVector lhs, IntVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? ints(positionCount, lhs, rhs, blockFactory, KERNELS::subInts) : null;
+    }
+
+    public static LongVector addLongs(int positionCount, LongVector lhs, LongVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? longs(positionCount, lhs, rhs, blockFactory, KERNELS::addLongs) : null;
+    }
+
+    public static LongVector subLongs(int positionCount, LongVector lhs, LongVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? longs(positionCount, lhs, rhs, blockFactory, KERNELS::subLongs) : null;
+    }
+
+    public static DoubleVector addDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? doubles(positionCount, lhs, rhs, blockFactory, KERNELS::addDoubles) : null;
+    }
+
+    public static DoubleVector subDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? doubles(positionCount, lhs, rhs, blockFactory, KERNELS::subDoubles) : null;
+    }
+
+    public static DoubleVector mulDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return ENABLED ? doubles(positionCount, lhs, rhs, blockFactory, KERNELS::mulDoubles) : null;
+    }
+
+    public static BooleanVector compareInts(
+        Comparison comparison,
+        int positionCount,
+        IntVector lhs,
+        IntVector rhs,
+        BlockFactory blockFactory
+    ) {
+        if (ENABLED == false) {
+            return null;
+        }
+        int[] lhsValues = lhs instanceof IntArrayVector a ? a.values() : null;
+        int[] rhsValues = rhs instanceof IntArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        int lhsConstant = lhsValues == null ? lhs.getInt(0) : 0;
+        int rhsConstant = rhsValues == null ? rhs.getInt(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForBoolean(positionCount);
+        boolean[] result = new boolean[positionCount];
+        KERNELS.compareInts(comparison, lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount);
+        return blockFactory.newBooleanArrayVector(result, positionCount, preAdjusted);
+    }
+
+    public static BooleanVector compareLongs(
+        Comparison comparison,
+        int positionCount,
+        LongVector lhs,
+        LongVector rhs,
+        BlockFactory blockFactory
+    ) {
+        if (ENABLED == false) {
+            return null;
+        }
+        long[] lhsValues = lhs instanceof LongArrayVector a ? a.values() : null;
+        long[] rhsValues = rhs instanceof LongArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        long lhsConstant = lhsValues == null ? lhs.getLong(0) : 0;
+        long rhsConstant = rhsValues == null ? rhs.getLong(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForBoolean(positionCount);
+        boolean[] result = new boolean[positionCount];
+        KERNELS.compareLongs(comparison, lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount);
+        return blockFactory.newBooleanArrayVector(result, positionCount, preAdjusted);
+    }
+
+    public static BooleanVector compareDoubles(
+        Comparison comparison,
+        int positionCount,
+        DoubleVector lhs,
+        DoubleVector rhs,
+        BlockFactory blockFactory
+    ) {
+        if (ENABLED == false) {
+            return null;
+        }
+        double[] lhsValues = lhs instanceof DoubleArrayVector a ? a.values() : null;
+        double[] rhsValues = rhs instanceof DoubleArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        double lhsConstant = lhsValues == null ? lhs.getDouble(0) : 0;
+        double rhsConstant = rhsValues == null ? rhs.getDouble(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForBoolean(positionCount);
+        boolean[] result = new boolean[positionCount];
+        KERNELS.compareDoubles(comparison, lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount);
+        return blockFactory.newBooleanArrayVector(result, positionCount, preAdjusted);
+    }
+
+    /**
+     * Kernels implemented with the vector API. A {@code null} array is a
+     * constant operand.
+     */
+    interface Kernels {
+        boolean addInts(int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, int[] result, int length);
+
+        boolean subInts(int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, int[] result, int length);
+
+        boolean addLongs(long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, long[] result, int length);
+
+        boolean subLongs(long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, long[] result, int length);
+
+        void addDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length);
+
+        void subDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length);
+
+        void mulDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length);
+
+        void compareInts(Comparison comparison, int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, boolean[] result, int length);
+
+        void compareLongs(Comparison comparison, long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, boolean[] result, int length);
+
+        void compareDoubles(
+            Comparison comparison,
+            double[] lhs,
+            double lhsConstant,
+            double[] rhs,
+            double rhsConstant,
+            boolean[] result,
+            int length
+        );
+    }
+
+    /**
+     * Can we handle these inputs? Each must be backed by an array or be constant,
+     * but not both constant because those are cheap to process one at a time.
+     */
+    private static boolean supported(Vector lhs, Object lhsValues, Vector rhs, Object rhsValues) {
+        if (lhsValues == null && rhsValues == null) {
+            return false;
+        }
+        return (lhsValues != null || lhs.isConstant()) && (rhsValues != null || rhs.isConstant());
+    }
+
+    /**
+     * Binary arithmetic on {@code int}s. A {@code null} array is a constant operand.
+     * Returns {@code false} on overflow.
+     */
+    @FunctionalInterface
+    interface IntKernel {
+        boolean apply(int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, int[] result, int length);
+    }
+
+    private static IntVector ints(int positionCount, IntVector lhs, IntVector rhs, BlockFactory blockFactory, IntKernel kernel) {
+        int[] lhsValues = lhs instanceof IntArrayVector a ? a.values() : null;
+        int[] rhsValues = rhs instanceof IntArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        int lhsConstant = lhsValues == null ? lhs.getInt(0) : 0;
+        int rhsConstant = rhsValues == null ? rhs.getInt(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForInt(positionCount);
+        int[] result = new int[positionCount];
+        if (kernel.apply(lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount) == false) {
+            blockFactory.adjustBreaker(-preAdjusted, false);
+            return null;
+        }
+        return blockFactory.newIntArrayVector(result, positionCount, preAdjusted);
+    }
+
+    /**
+     * Binary arithmetic on {@code long}s. A {@code null} array is a constant operand.
+     * Returns {@code false} on overflow.
+     */
+    @FunctionalInterface
+    interface LongKernel {
+        boolean apply(long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, long[] result, int length);
+    }
+
+    private static LongVector longs(int positionCount, LongVector lhs, LongVector rhs, BlockFactory blockFactory, LongKernel kernel) {
+        long[] lhsValues = lhs instanceof LongArrayVector a ? a.values() : null;
+        long[] rhsValues = rhs instanceof LongArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        long lhsConstant = lhsValues == null ? lhs.getLong(0) : 0;
+        long rhsConstant = rhsValues == null ? rhs.getLong(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForLong(positionCount);
+        long[] result = new long[positionCount];
+        if (kernel.apply(lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount) == false) {
+            blockFactory.adjustBreaker(-preAdjusted, false);
+            return null;
+        }
+        return blockFactory.newLongArrayVector(result, positionCount, preAdjusted);
+    }
+
+    /**
+     * Binary arithmetic on {@code double}s. A {@code null} array is a constant operand.
+     */
+    @FunctionalInterface
+    interface DoubleKernel {
+        void apply(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length);
+    }
+
+    private static DoubleVector doubles(
+        int positionCount,
+        DoubleVector lhs,
+        DoubleVector rhs,
+        BlockFactory blockFactory,
+        DoubleKernel kernel
+    ) {
+        double[] lhsValues = lhs instanceof DoubleArrayVector a ? a.values() : null;
+        double[] rhsValues = rhs instanceof DoubleArrayVector a ? a.values() : null;
+        if (supported(lhs, lhsValues, rhs, rhsValues) == false) {
+            return null;
+        }
+        double lhsConstant = lhsValues == null ? lhs.getDouble(0) : 0;
+        double rhsConstant = rhsValues == null ? rhs.getDouble(0) : 0;
+        long preAdjusted = blockFactory.preAdjustBreakerForDouble(positionCount);
+        double[] result = new double[positionCount];
+        kernel.apply(lhsValues, lhsConstant, rhsValues, rhsConstant, result, positionCount);
+        return blockFactory.newDoubleArrayVector(result, positionCount, preAdjusted);
+    }
+}
@@ -14,4 +14,11 @@ public enum DataPartitioning {
     SEGMENT,
 
     DOC,
+
+    /**
+     * Drivers claim document ranges from a shared pool as they finish their
+     * previous range, sizing each range from how long the last one took.
+     * Skewed shards and large segments get split between all drivers.
+     */
+    ADAPTIVE,
 }
@@ -119,7 +119,7 @@ public class LuceneCountOperator extends LuceneOperator {
     }
 
     @Override
-    public Page getOutput() {
+    protected Page getCheckedOutput() throws IOException {
         if (isFinished()) {
             assert remainingDocs <= 0 : remainingDocs;
             return null;
@@ -144,6 +144,8 @@ public class LuceneCountOperator extends LuceneOperator {
                         var count = Math.min(leafCount, remainingDocs);
                         totalHits += count;
                         remainingDocs -= count;
+                        // ADAPTIVE partitioning would keep handing out ranges of the segment we just counted
+                        skipUnclaimedDocs(leafReaderContext);
                     }
                     scorer.markAsDone();
                 } else {
@@ -21,6 +21,7 @@ import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.SourceOperator;
 import org.elasticsearch.logging.LogManager;
@@ -31,6 +32,7 @@ import org.elasticsearch.xcontent.XContentBuilder;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public abstract class LuceneOperator extends SourceOperator {
@@ -38,6 +40,13 @@ public abstract class LuceneOperator extends SourceOperator {
 
     public static final int NO_LIMIT = Integer.MAX_VALUE;
 
+    /**
+     * How long we'd like each slice to take when {@link DataPartitioning#ADAPTIVE}
+     * lets us choose. Short enough that idle drivers can pick up the rest of a
+     * slow segment, long enough that claiming slices is cheap.
+     */
+    static final long TARGET_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
     protected final BlockFactory blockFactory;
 
     private int processSlices;
@@ -46,6 +55,20 @@ public abstract class LuceneOperator extends SourceOperator {
 
     private LuceneSlice currentSlice;
     private int sliceIndex;
+    /**
+     * When the current call to {@link #getOutput} started.
+     */
+    private long processingStartNanos;
+    /**
+     * Time spent in {@link #getOutput} on the current slice. This leaves out the
+     * time the driver spends blocked on downstream operators or waiting for a
+     * thread so backpressure doesn't make documents look expensive.
+     */
+    private long sliceProcessingNanos;
+    /**
+     * Moving average of the time it takes to process a document, {@code 0} until we've finished a slice.
+     */
+    private double nanosPerDoc;
 
     private LuceneScorer currentScorer;
 
@@ -65,11 +88,28 @@ public abstract class LuceneOperator extends SourceOperator {
     @Override
     public void close() {}
 
+    @Override
+    public final Page getOutput() {
+        processingStartNanos = System.nanoTime();
+        try {
+            return getCheckedOutput();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sliceProcessingNanos += System.nanoTime() - processingStartNanos;
+        }
+    }
+
+    /**
+     * Build the next page. {@link #getOutput} wraps this to track how long it takes.
+     */
+    protected abstract Page getCheckedOutput() throws IOException;
+
     LuceneScorer getCurrentOrLoadNextScorer() {
         while (currentScorer == null || currentScorer.isDone()) {
             if (currentSlice == null || sliceIndex >= currentSlice.numLeaves()) {
                 sliceIndex = 0;
-                currentSlice = sliceQueue.nextSlice();
+                currentSlice = sliceQueue.nextSlice(currentSlice, nextSliceDocsHint());
                 if (currentSlice == null) {
                     doneCollecting = true;
                     return null;
@@ -97,6 +137,39 @@ public abstract class LuceneOperator extends SourceOperator {
         return currentScorer;
     }
 
+    /**
+     * Stop other drivers from claiming the rest of the given segment because this
+     * driver has handled all of it, like when it counts the whole segment at once.
+     */
+    void skipUnclaimedDocs(LeafReaderContext leaf) {
+        sliceQueue.skipUnclaimedDocs(leaf);
+    }
+
+    /**
+     * Record how long the slice we just finished took and use it to size the
+     * next one. Slices that match expensive documents shrink so we don't hold
+     * onto work other drivers could be doing.
+     */
+    private int nextSliceDocsHint() {
+        // Only called from getOutput so move the time spent in this call so far to the finished slice
+        long now = System.nanoTime();
+        long processingNanos = sliceProcessingNanos + now - processingStartNanos;
+        processingStartNanos = now;
+        sliceProcessingNanos = 0;
+        if (currentSlice == null) {
+            return 0;
+        }
+        int docs = currentSlice.numDocs();
+        if (docs > 0) {
+            double observed = (double) processingNanos / docs;
+            nanosPerDoc = nanosPerDoc == 0 ? observed : 0.5 * nanosPerDoc + 0.5 * observed;
+        }
+        if (nanosPerDoc <= 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, TARGET_SLICE_NANOS / nanosPerDoc);
+    }
+
     /**
      * Wraps a {@link BulkScorer} with shard information
      */
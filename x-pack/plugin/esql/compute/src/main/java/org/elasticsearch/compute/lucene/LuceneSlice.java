@@ -25,4 +25,12 @@ public record LuceneSlice(int shardIndex, SearchContext searchContext, List<Part
     PartialLeafReaderContext getLeaf(int index) {
         return leaves.get(index);
     }
+
+    int numDocs() {
+        int numDocs = 0;
+        for (PartialLeafReaderContext leaf : leaves) {
+            numDocs += leaf.maxDoc() - leaf.minDoc();
+        }
+        return numDocs;
+    }
 }
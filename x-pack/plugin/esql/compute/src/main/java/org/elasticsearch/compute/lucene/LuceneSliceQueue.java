@@ -17,9 +17,13 @@ import org.elasticsearch.search.internal.SearchContext;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -29,30 +33,197 @@ import java.util.function.Supplier;
 public final class LuceneSliceQueue {
     private static final int MAX_DOCS_PER_SLICE = 250_000; // copied from IndexSearcher
     private static final int MAX_SEGMENTS_PER_SLICE = 5; // copied from IndexSearcher
+    /**
+     * The smallest slice {@link DataPartitioning#ADAPTIVE} cuts from the middle of a
+     * segment. Every slice ends in a page so this keeps the pages from getting tiny.
+     * The last slice of a segment may be smaller, but never less than half this.
+     */
+    static final int MIN_ADAPTIVE_DOCS_PER_SLICE = 16 * 1024;
 
     private final int totalSlices;
+    /**
+     * Precomputed slices or {@code null} for {@link DataPartitioning#ADAPTIVE}.
+     */
     private final Queue<LuceneSlice> slices;
+    /**
+     * Unclaimed documents in each segment for {@link DataPartitioning#ADAPTIVE}, {@code null} otherwise.
+     */
+    private final Map<LeafReaderContext, LeafCursor> cursors;
+    private final AtomicLong remainingDocs;
+    private final int taskConcurrency;
 
     private LuceneSliceQueue(List<LuceneSlice> slices) {
         this.totalSlices = slices.size();
         this.slices = new ConcurrentLinkedQueue<>(slices);
+        this.cursors = null;
+        this.remainingDocs = null;
+        this.taskConcurrency = 0;
+    }
+
+    private LuceneSliceQueue(List<LeafCursor> cursors, int taskConcurrency) {
+        this.slices = null;
+        this.cursors = new IdentityHashMap<>();
+        long totalDocs = 0;
+        long maxSlices = 0;
+        for (LeafCursor cursor : cursors) {
+            this.cursors.put(cursor.leaf, cursor);
+            totalDocs += cursor.maxDoc;
+            // Every claim but a segment's last leaves at least half the minimum behind
+            maxSlices += (cursor.maxDoc + MIN_ADAPTIVE_DOCS_PER_SLICE / 2 - 1) / (MIN_ADAPTIVE_DOCS_PER_SLICE / 2);
+        }
+        this.totalSlices = (int) Math.min(Integer.MAX_VALUE, maxSlices);
+        this.remainingDocs = new AtomicLong(totalDocs);
+        this.taskConcurrency = Math.max(1, taskConcurrency);
     }
 
     @Nullable
     public LuceneSlice nextSlice() {
-        return slices.poll();
+        return nextSlice(null, 0);
     }
 
+    /**
+     * Claim the next slice or return {@code null} if there isn't any work left.
+     * @param previous the slice the caller just finished. {@link DataPartitioning#ADAPTIVE}
+     *                 keeps claiming from the same segment so the caller can reuse its scorer.
+     * @param docsHint how many documents the caller would like in the slice or {@code 0} if
+     *                 it has no preference. Only {@link DataPartitioning#ADAPTIVE} uses this.
+     */
+    @Nullable
+    public LuceneSlice nextSlice(@Nullable LuceneSlice previous, int docsHint) {
+        if (cursors == null) {
+            return slices.poll();
+        }
+        LeafCursor cursor = previous == null || previous.numLeaves() == 0 ? null : cursors.get(previous.getLeaf(0).leafReaderContext());
+        while (true) {
+            if (cursor == null || cursor.isExhausted()) {
+                cursor = largestCursor();
+                if (cursor == null) {
+                    return null;
+                }
+            }
+            LuceneSlice slice = cursor.claim(adaptiveSliceSize(docsHint));
+            if (slice != null) {
+                remainingDocs.addAndGet(-slice.numDocs());
+                return slice;
+            }
+        }
+    }
+
+    /**
+     * Stop handing out the unclaimed documents of a segment, for example because
+     * the caller counted the whole segment at once. Slices that were already
+     * claimed stay with their drivers. Only {@link DataPartitioning#ADAPTIVE}
+     * claims segments piecemeal so this does nothing for the other partitionings.
+     */
+    void skipUnclaimedDocs(LeafReaderContext leaf) {
+        if (cursors == null) {
+            return;
+        }
+        LeafCursor cursor = cursors.get(leaf);
+        if (cursor != null) {
+            remainingDocs.addAndGet(-cursor.claimRest());
+        }
+    }
+
+    /**
+     * For {@link DataPartitioning#ADAPTIVE} this is the most slices we could hand
+     * out, otherwise it's the number of precomputed slices.
+     */
     public int totalSlices() {
         return totalSlices;
     }
 
+    /**
+     * The segment with the most unclaimed documents. Once a driver runs out of
+     * work in its own segment it helps out with the one furthest from done.
+     */
+    private LeafCursor largestCursor() {
+        LeafCursor largest = null;
+        int largestRemaining = 0;
+        for (LeafCursor cursor : cursors.values()) {
+            int remaining = cursor.remaining();
+            if (remaining > largestRemaining) {
+                largest = cursor;
+                largestRemaining = remaining;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Guided self-scheduling: hand out a share of the remaining documents that
+     * shrinks as the work runs out so the drivers finish at about the same time.
+     * The caller's hint caps the slice so expensive documents come in small slices.
+     */
+    private int adaptiveSliceSize(int docsHint) {
+        long guided = remainingDocs.get() / (2L * taskConcurrency);
+        if (docsHint > 0) {
+            guided = Math.min(guided, docsHint);
+        }
+        return (int) Math.max(MIN_ADAPTIVE_DOCS_PER_SLICE, Math.min(Integer.MAX_VALUE, guided));
+    }
+
+    private static final class LeafCursor {
+        private final int shardIndex;
+        private final SearchContext searchContext;
+        private final Supplier<Weight> weight;
+        private final LeafReaderContext leaf;
+        private final int maxDoc;
+        private final AtomicInteger next = new AtomicInteger();
+
+        LeafCursor(int shardIndex, SearchContext searchContext, Supplier<Weight> weight, LeafReaderContext leaf) {
+            this.shardIndex = shardIndex;
+            this.searchContext = searchContext;
+            this.weight = weight;
+            this.leaf = leaf;
+            this.maxDoc = leaf.reader().maxDoc();
+        }
+
+        boolean isExhausted() {
+            return next.get() >= maxDoc;
+        }
+
+        int remaining() {
+            return Math.max(0, maxDoc - next.get());
+        }
+
+        @Nullable
+        LuceneSlice claim(int size) {
+            int start;
+            int end;
+            do {
+                start = next.get();
+                if (start >= maxDoc) {
+                    return null;
+                }
+                end = (int) Math.min(maxDoc, (long) start + size);
+                if (maxDoc - end < MIN_ADAPTIVE_DOCS_PER_SLICE / 2) {
+                    // Don't leave a sliver behind
+                    end = maxDoc;
+                }
+            } while (next.compareAndSet(start, end) == false);
+            return new LuceneSlice(shardIndex, searchContext, List.of(new PartialLeafReaderContext(leaf, start, end)), weight);
+        }
+
+        /**
+         * Claim all the unclaimed documents without building a slice for them.
+         * @return the number of documents claimed
+         */
+        int claimRest() {
+            int start = next.getAndAccumulate(maxDoc, Math::max);
+            return Math.max(0, maxDoc - start);
+        }
+    }
+
     public static LuceneSliceQueue create(
         List<SearchContext> searchContexts,
         Function<SearchContext, Weight> weightFunction,
         DataPartitioning dataPartitioning,
         int taskConcurrency
     ) {
+        if (dataPartitioning == DataPartitioning.ADAPTIVE) {
+            return adaptive(searchContexts, weightFunction, taskConcurrency);
+        }
         final List<LuceneSlice> slices = new ArrayList<>();
         for (int shardIndex = 0; shardIndex < searchContexts.size(); shardIndex++) {
             final SearchContext searchContext = searchContexts.get(shardIndex);
@@ -61,6 +232,7 @@ public final class LuceneSliceQueue {
                 case SHARD -> Collections.singletonList(leafContexts.stream().map(PartialLeafReaderContext::new).toList());
                 case SEGMENT -> segmentSlices(leafContexts);
                 case DOC -> docSlices(searchContext.searcher().getIndexReader(), taskConcurrency);
+                case ADAPTIVE -> throw new IllegalStateException("adaptive slices are claimed on demand");
             };
             final Weight[] cachedWeight = new Weight[1];
             final Supplier<Weight> weight = () -> {
@@ -79,6 +251,27 @@ public final class LuceneSliceQueue {
         return new LuceneSliceQueue(slices);
     }
 
+    private static LuceneSliceQueue adaptive(
+        List<SearchContext> searchContexts,
+        Function<SearchContext, Weight> weightFunction,
+        int taskConcurrency
+    ) {
+        List<LeafCursor> cursors = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < searchContexts.size(); shardIndex++) {
+            final SearchContext searchContext = searchContexts.get(shardIndex);
+            final List<LeafReaderContext> leafContexts = searchContext.searcher().getLeafContexts();
+            if (leafContexts.isEmpty()) {
+                continue;
+            }
+            // Many drivers may score the same shard at once so build the Weight eagerly
+            final Weight weight = weightFunction.apply(searchContext);
+            for (LeafReaderContext leaf : leafContexts) {
+                cursors.add(new LeafCursor(shardIndex, searchContext, () -> weight, leaf));
+            }
+        }
+        return new LuceneSliceQueue(cursors, taskConcurrency);
+    }
+
     static List<List<PartialLeafReaderContext>> docSlices(IndexReader indexReader, int numSlices) {
         final int totalDocCount = indexReader.maxDoc();
         final int normalMaxDocsPerSlice = totalDocCount / numSlices;
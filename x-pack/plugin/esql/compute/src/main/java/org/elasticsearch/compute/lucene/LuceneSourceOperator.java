@@ -124,7 +124,7 @@ public class LuceneSourceOperator extends LuceneOperator {
     }
 
     @Override
-    public Page getOutput() {
+    protected Page getCheckedOutput() throws IOException {
         if (isFinished()) {
             assert currentPagePos == 0 : currentPagePos;
             return null;
@@ -58,6 +58,12 @@ public class HashAggregationOperator implements Operator {
 
     private boolean finished;
     private Page output;
+    /**
+     * Have we released the hash and the aggregator state? We do that as
+     * soon as we've built the {@link #output} so the memory isn't held
+     * while the operators downstream of us work through the results.
+     */
+    private boolean stateReleased;
 
     private final BlockHash blockHash;
 
@@ -159,6 +165,9 @@ public class HashAggregationOperator implements Operator {
             output = new Page(blocks);
             success = true;
         } finally {
+            if (success) {
+                releaseState();
+            }
             // selected should always be closed
             if (selected != null) {
                 Releasables.closeExpectNoException(selected.asBlock()); // we always close blocks, not vectors
@@ -179,6 +188,14 @@ public class HashAggregationOperator implements Operator {
         if (output != null) {
             output.releaseBlocks();
         }
+        releaseState();
+    }
+
+    private void releaseState() {
+        if (stateReleased) {
+            return;
+        }
+        stateReleased = true;
         Releasables.close(blockHash, () -> Releasables.close(aggregators));
     }
 
@@ -0,0 +1,489 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator;
+
+import org.apache.lucene.index.SortedSetDocValues;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.compute.Describable;
+import org.elasticsearch.compute.aggregation.GroupingAggregator;
+import org.elasticsearch.compute.aggregation.GroupingAggregatorFunction;
+import org.elasticsearch.compute.aggregation.blockhash.BlockHash;
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.BytesRefBlock;
+import org.elasticsearch.compute.data.DocBlock;
+import org.elasticsearch.compute.data.DocVector;
+import org.elasticsearch.compute.data.ElementType;
+import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.lucene.ValuesSourceReaderOperator;
+import org.elasticsearch.compute.operator.HashAggregationOperator.GroupSpec;
+import org.elasticsearch.compute.operator.OrdinalsGroupingOperator.BlockOrdinalsReader;
+import org.elasticsearch.compute.operator.OrdinalsGroupingOperator.SegmentID;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.index.mapper.BlockDocValuesReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Groups on many fields using their segment ordinals like {@link OrdinalsGroupingOperator}
+ * does for a single field. Each segment hashes the ordinals of every key with a
+ * {@link BlockHash} so we never load or hash the values of the keys while collecting.
+ * The values are only looked up once for each distinct combination of ordinals in a
+ * segment when the segments are merged together.
+ * <p>
+ *     Pages that don't come from a single segment, or that come from a shard where one of
+ *     the fields doesn't have ordinals, load the values and hash them like
+ *     {@link HashAggregationOperator}.
+ * </p>
+ */
+public class MultiKeyOrdinalsGroupingOperator implements Operator {
+    /**
+     * A field to group on.
+     * @param name the name of the field
+     * @param readerFactories how to read the field, one per shard
+     * @param elementType the type of the values of the field
+     */
+    public record GroupingField(String name, List<BlockDocValuesReader.Factory> readerFactories, ElementType elementType) {}
+
+    public record MultiKeyOrdinalsGroupingOperatorFactory(
+        List<GroupingField> groupings,
+        int docChannel,
+        List<GroupingAggregator.Factory> aggregators,
+        int maxPageSize,
+        BigArrays bigArrays
+    ) implements OperatorFactory {
+
+        @Override
+        public Operator get(DriverContext driverContext) {
+            return new MultiKeyOrdinalsGroupingOperator(groupings, docChannel, aggregators, maxPageSize, driverContext);
+        }
+
+        @Override
+        public String describe() {
+            return "MultiKeyOrdinalsGroupingOperator(groups = "
+                + groupings.stream().map(GroupingField::name).collect(joining(", "))
+                + ", aggs = "
+                + aggregators.stream().map(Describable::describe).collect(joining(", "))
+                + ")";
+        }
+    }
+
+    private final List<GroupingField> groupings;
+    private final int docChannel;
+    private final List<GroupingAggregator.Factory> aggregatorFactories;
+    private final Map<SegmentID, SegmentAggregator> segmentAggregators;
+    private final int maxPageSize;
+    private final DriverContext driverContext;
+
+    private boolean finished = false;
+
+    // used to extract and aggregate values
+    private ValuesAggregator valuesAggregator;
+
+    public MultiKeyOrdinalsGroupingOperator(
+        List<GroupingField> groupings,
+        int docChannel,
+        List<GroupingAggregator.Factory> aggregatorFactories,
+        int maxPageSize,
+        DriverContext driverContext
+    ) {
+        Objects.requireNonNull(aggregatorFactories);
+        if (groupings.size() < 2) {
+            throw new IllegalArgumentException("expected at least two groupings but got " + groupings.size());
+        }
+        this.groupings = groupings;
+        this.docChannel = docChannel;
+        this.aggregatorFactories = aggregatorFactories;
+        this.segmentAggregators = new HashMap<>();
+        this.maxPageSize = maxPageSize;
+        this.driverContext = driverContext;
+    }
+
+    @Override
+    public boolean needsInput() {
+        return finished == false;
+    }
+
+    @Override
+    public void addInput(Page page) {
+        checkState(needsInput(), "Operator is already finishing");
+        requireNonNull(page, "page is null");
+        DocVector docVector = page.<DocBlock>getBlock(docChannel).asVector();
+        final int shardIndex = docVector.shards().getInt(0);
+        boolean pagePassed = false;
+        try {
+            if (docVector.singleSegmentNonDecreasing() && supportsOrdinals(shardIndex)) {
+                final IntVector segmentIndexVector = docVector.segments();
+                assert segmentIndexVector.isConstant();
+                final SegmentAggregator segmentAggregator = segmentAggregators.computeIfAbsent(
+                    new SegmentID(shardIndex, segmentIndexVector.getInt(0)),
+                    k -> {
+                        try {
+                            return new SegmentAggregator(k);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                );
+                pagePassed = true;
+                segmentAggregator.addInput(docVector.docs(), page);
+            } else {
+                if (valuesAggregator == null) {
+                    int channelIndex = page.getBlockCount(); // extractors will append new blocks at the end
+                    valuesAggregator = new ValuesAggregator(
+                        groupings,
+                        docChannel,
+                        channelIndex,
+                        aggregatorFactories,
+                        maxPageSize,
+                        driverContext
+                    );
+                }
+                pagePassed = true;
+                valuesAggregator.addInput(page);
+            }
+        } finally {
+            if (pagePassed == false) {
+                Releasables.closeExpectNoException(page::releaseBlocks);
+            }
+        }
+    }
+
+    private boolean supportsOrdinals(int shardIndex) {
+        for (GroupingField grouping : groupings) {
+            if (grouping.readerFactories.get(shardIndex).supportsOrdinals() == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<GroupingAggregator> createGroupingAggregators() {
+        boolean success = false;
+        List<GroupingAggregator> aggregators = new ArrayList<>(aggregatorFactories.size());
+        try {
+            for (GroupingAggregator.Factory aggregatorFactory : aggregatorFactories) {
+                aggregators.add(aggregatorFactory.apply(driverContext));
+            }
+            success = true;
+            return aggregators;
+        } finally {
+            if (success == false) {
+                Releasables.close(aggregators);
+            }
+        }
+    }
+
+    @Override
+    public Page getOutput() {
+        if (finished == false) {
+            return null;
+        }
+        if (valuesAggregator != null) {
+            try {
+                return valuesAggregator.getOutput();
+            } finally {
+                final ValuesAggregator aggregator = this.valuesAggregator;
+                this.valuesAggregator = null;
+                Releasables.close(aggregator);
+            }
+        }
+        if (segmentAggregators.isEmpty() == false) {
+            try {
+                return mergeSegmentResults();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                Releasables.close(() -> Releasables.close(segmentAggregators.values()), segmentAggregators::clear);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void finish() {
+        finished = true;
+        if (valuesAggregator != null) {
+            valuesAggregator.finish();
+        }
+    }
+
+    /**
+     * Merge the results of all segments by hashing the values of the keys of
+     * each segment's groups.
+     */
+    private Page mergeSegmentResults() throws IOException {
+        // TODO: Should we also combine from the results from ValuesAggregator
+        List<GroupSpec> specs = IntStream.range(0, groupings.size()).mapToObj(c -> new GroupSpec(c, ElementType.BYTES_REF)).toList();
+        final List<GroupingAggregator> aggregators = createGroupingAggregators();
+        try (BlockHash merged = BlockHash.build(specs, driverContext, maxPageSize, false)) {
+            for (SegmentAggregator segmentAggregator : segmentAggregators.values()) {
+                segmentAggregator.mergeInto(merged, aggregators);
+            }
+            Block[] blocks = null;
+            boolean success = false;
+            try (IntVector selected = merged.nonEmpty()) {
+                Block[] keys = merged.getKeys();
+                int[] aggBlockCounts = aggregators.stream().mapToInt(GroupingAggregator::evaluateBlockCount).toArray();
+                blocks = new Block[keys.length + Arrays.stream(aggBlockCounts).sum()];
+                System.arraycopy(keys, 0, blocks, 0, keys.length);
+                int offset = keys.length;
+                for (int i = 0; i < aggregators.size(); i++) {
+                    aggregators.get(i).evaluate(blocks, offset, selected, driverContext);
+                    offset += aggBlockCounts[i];
+                }
+                success = true;
+                return new Page(blocks);
+            } finally {
+                if (success == false && blocks != null) {
+                    Releasables.closeExpectNoException(blocks);
+                }
+            }
+        } finally {
+            Releasables.close(() -> Releasables.close(aggregators));
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished && valuesAggregator == null && segmentAggregators.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        Releasables.close(() -> Releasables.close(segmentAggregators.values()), valuesAggregator);
+    }
+
+    private static void checkState(boolean condition, String msg) {
+        if (condition == false) {
+            throw new IllegalArgumentException(msg);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName()
+            + "["
+            + "groups="
+            + groupings.stream().map(GroupingField::name).toList()
+            + ", aggregators="
+            + aggregatorFactories
+            + "]";
+    }
+
+    /**
+     * Groups the documents of a single segment on the ordinals of each key.
+     */
+    private class SegmentAggregator implements Releasable {
+        private final BlockFactory blockFactory;
+        private final List<BlockDocValuesReader.Factory> readerFactories;
+        private final int segmentIndex;
+        private final BlockOrdinalsReader[] currentReaders;
+        private final BlockHash hash;
+        private final List<GroupingAggregator> aggregators;
+
+        SegmentAggregator(SegmentID segment) throws IOException {
+            this.blockFactory = driverContext.blockFactory();
+            this.readerFactories = groupings.stream().map(g -> g.readerFactories.get(segment.shardIndex())).toList();
+            this.segmentIndex = segment.segmentIndex();
+            this.currentReaders = new BlockOrdinalsReader[groupings.size()];
+            for (int g = 0; g < currentReaders.length; g++) {
+                currentReaders[g] = new BlockOrdinalsReader(readerFactories.get(g).ordinals(segmentIndex), blockFactory);
+            }
+            List<GroupSpec> specs = IntStream.range(0, groupings.size()).mapToObj(c -> new GroupSpec(c, ElementType.INT)).toList();
+            boolean success = false;
+            BlockHash hash = null;
+            try {
+                hash = BlockHash.build(specs, driverContext, maxPageSize, false);
+                this.hash = hash;
+                this.aggregators = createGroupingAggregators();
+                success = true;
+            } finally {
+                if (success == false) {
+                    Releasables.close(hash);
+                }
+            }
+        }
+
+        void addInput(IntVector docs, Page page) {
+            IntBlock[] ordinals = new IntBlock[currentReaders.length];
+            try {
+                GroupingAggregatorFunction.AddInput[] prepared = new GroupingAggregatorFunction.AddInput[aggregators.size()];
+                for (int i = 0; i < prepared.length; i++) {
+                    prepared[i] = aggregators.get(i).prepareProcessPage(hash, page);
+                }
+                for (int g = 0; g < currentReaders.length; g++) {
+                    if (BlockOrdinalsReader.canReuse(currentReaders[g], docs.getInt(0)) == false) {
+                        currentReaders[g] = new BlockOrdinalsReader(readerFactories.get(g).ordinals(segmentIndex), blockFactory);
+                    }
+                    // 0 is reserved for documents without a value
+                    ordinals[g] = currentReaders[g].readOrdinalsAdded1(docs);
+                }
+                hash.add(new Page(ordinals), new GroupingAggregatorFunction.AddInput() {
+                    @Override
+                    public void add(int positionOffset, IntBlock groupIds) {
+                        IntVector groupIdsVector = groupIds.asVector();
+                        if (groupIdsVector != null) {
+                            add(positionOffset, groupIdsVector);
+                        } else {
+                            for (GroupingAggregatorFunction.AddInput p : prepared) {
+                                p.add(positionOffset, groupIds);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void add(int positionOffset, IntVector groupIds) {
+                        for (GroupingAggregatorFunction.AddInput p : prepared) {
+                            p.add(positionOffset, groupIds);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                Releasables.closeExpectNoException(ordinals);
+                page.releaseBlocks();
+            }
+        }
+
+        /**
+         * Look up the values of the keys of each group in this segment and
+         * add the group's state to the group with those values in {@code merged}.
+         */
+        void mergeInto(BlockHash merged, List<GroupingAggregator> mergedAggregators) throws IOException {
+            Block[] ordinals = hash.getKeys();
+            Block[] keys = new Block[ordinals.length];
+            try {
+                for (int g = 0; g < ordinals.length; g++) {
+                    keys[g] = lookupOrds((IntBlock) ordinals[g], readerFactories.get(g).ordinals(segmentIndex));
+                }
+                merged.add(new Page(keys), new GroupingAggregatorFunction.AddInput() {
+                    @Override
+                    public void add(int positionOffset, IntBlock groupIds) {
+                        for (int p = 0; p < groupIds.getPositionCount(); p++) {
+                            if (groupIds.isNull(p)) {
+                                continue;
+                            }
+                            int start = groupIds.getFirstValueIndex(p);
+                            int end = start + groupIds.getValueCount(p);
+                            for (int i = start; i < end; i++) {
+                                addIntermediateRow(groupIds.getInt(i), positionOffset + p);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void add(int positionOffset, IntVector groupIds) {
+                        for (int p = 0; p < groupIds.getPositionCount(); p++) {
+                            addIntermediateRow(groupIds.getInt(p), positionOffset + p);
+                        }
+                    }
+
+                    private void addIntermediateRow(int mergedGroupId, int groupId) {
+                        for (int i = 0; i < mergedAggregators.size(); i++) {
+                            mergedAggregators.get(i).addIntermediateRow(mergedGroupId, aggregators.get(i), groupId);
+                        }
+                    }
+                });
+            } finally {
+                Releasables.closeExpectNoException(ordinals);
+                Releasables.closeExpectNoException(keys);
+            }
+        }
+
+        private BytesRefBlock lookupOrds(IntBlock ordinals, SortedSetDocValues docValues) throws IOException {
+            try (BytesRefBlock.Builder builder = blockFactory.newBytesRefBlockBuilder(ordinals.getPositionCount())) {
+                for (int p = 0; p < ordinals.getPositionCount(); p++) {
+                    int ord = ordinals.getInt(ordinals.getFirstValueIndex(p));
+                    if (ord == 0) {
+                        builder.appendNull();
+                    } else {
+                        builder.appendBytesRef(docValues.lookupOrd(ord - 1));
+                    }
+                }
+                return builder.build();
+            }
+        }
+
+        @Override
+        public void close() {
+            Releasables.close(hash, () -> Releasables.close(aggregators));
+        }
+    }
+
+    private static class ValuesAggregator implements Releasable {
+        private final ValuesSourceReaderOperator[] extractors;
+        private final HashAggregationOperator aggregator;
+
+        ValuesAggregator(
+            List<GroupingField> groupings,
+            int docChannel,
+            int channelIndex,
+            List<GroupingAggregator.Factory> aggregatorFactories,
+            int maxPageSize,
+            DriverContext driverContext
+        ) {
+            this.extractors = new ValuesSourceReaderOperator[groupings.size()];
+            List<GroupSpec> specs = new ArrayList<>(groupings.size());
+            for (int g = 0; g < extractors.length; g++) {
+                GroupingField grouping = groupings.get(g);
+                extractors[g] = new ValuesSourceReaderOperator(
+                    BlockFactory.getNonBreakingInstance(),
+                    grouping.readerFactories,
+                    docChannel,
+                    grouping.name
+                );
+                specs.add(new GroupSpec(channelIndex + g, grouping.elementType));
+            }
+            this.aggregator = new HashAggregationOperator(
+                aggregatorFactories,
+                () -> BlockHash.build(specs, driverContext, maxPageSize, false),
+                driverContext
+            );
+        }
+
+        void addInput(Page page) {
+            for (ValuesSourceReaderOperator extractor : extractors) {
+                extractor.addInput(page);
+                page = extractor.getOutput();
+                if (page == null) {
+                    return;
+                }
+            }
+            aggregator.addInput(page);
+        }
+
+        void finish() {
+            aggregator.finish();
+        }
+
+        Page getOutput() {
+            return aggregator.getOutput();
+        }
+
+        @Override
+        public void close() {
+            Releasables.close(() -> Releasables.close(extractors), aggregator);
+        }
+    }
+}
@@ -29,7 +29,9 @@ import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportChannel;
+import org.elasticsearch.transport.TransportException;
 import org.elasticsearch.transport.TransportRequest;
 import org.elasticsearch.transport.TransportRequestHandler;
 import org.elasticsearch.transport.TransportRequestOptions;
@@ -40,6 +42,7 @@ import org.elasticsearch.transport.Transports;
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * {@link ExchangeService} is responsible for exchanging pages between exchange sinks and sources on the same or different nodes.
@@ -158,6 +161,27 @@ public final class ExchangeService extends AbstractLifecycleComponent {
         );
     }
 
+    /**
+     * Opens a remote sink handler on the node at the other end of a connection for the
+     * given session ID. Use this to open exchanges on nodes in remote clusters.
+     */
+    public static void openExchange(
+        TransportService transportService,
+        Transport.Connection connection,
+        String sessionId,
+        int exchangeBuffer,
+        Executor responseExecutor,
+        ActionListener<Void> listener
+    ) {
+        transportService.sendRequest(
+            connection,
+            OPEN_EXCHANGE_ACTION_NAME,
+            new OpenExchangeRequest(sessionId, exchangeBuffer),
+            TransportRequestOptions.EMPTY,
+            new ActionListenerResponseHandler<>(listener.map(unused -> null), in -> TransportResponse.Empty.INSTANCE, responseExecutor)
+        );
+    }
+
     private static class OpenExchangeRequest extends TransportRequest {
         private final String sessionId;
         private final int exchangeBuffer;
@@ -254,13 +278,39 @@ public final class ExchangeService extends AbstractLifecycleComponent {
      * @param remoteNode       the node where the remote exchange sink is located
      */
     public RemoteSink newRemoteSink(Task parentTask, String exchangeId, TransportService transportService, DiscoveryNode remoteNode) {
-        return new TransportRemoteSink(transportService, blockFactory, remoteNode, parentTask, exchangeId, executor);
+        // look the connection up on every fetch so we pick up reconnections to the node
+        return new TransportRemoteSink(
+            transportService,
+            blockFactory,
+            () -> transportService.getConnection(remoteNode),
+            parentTask,
+            exchangeId,
+            executor
+        );
+    }
+
+    /**
+     * Creates a new {@link RemoteSink} that fetches pages from an exchange sink located on the node
+     * at the other end of the connection. Use this to fetch pages from nodes in remote clusters.
+     *
+     * @param parentTask       the parent task that initialized the ESQL request
+     * @param exchangeId       the exchange ID
+     * @param transportService the transport service
+     * @param connection       the connection to the node where the remote exchange sink is located
+     */
+    public RemoteSink newRemoteSink(
+        Task parentTask,
+        String exchangeId,
+        TransportService transportService,
+        Transport.Connection connection
+    ) {
+        return new TransportRemoteSink(transportService, blockFactory, () -> connection, parentTask, exchangeId, executor);
     }
 
     record TransportRemoteSink(
         TransportService transportService,
         BlockFactory blockFactory,
-        DiscoveryNode node,
+        Supplier<Transport.Connection> connection,
         Task parentTask,
         String exchangeId,
         Executor responseExecutor
@@ -268,8 +318,15 @@ public final class ExchangeService extends AbstractLifecycleComponent {
 
         @Override
         public void fetchPageAsync(boolean allSourcesFinished, ActionListener<ExchangeResponse> listener) {
+            final Transport.Connection conn;
+            try {
+                conn = connection.get();
+            } catch (TransportException e) {
+                listener.onFailure(e);
+                return;
+            }
             transportService.sendChildRequest(
-                node,
+                conn,
                 EXCHANGE_ACTION_NAME,
                 new ExchangeRequest(exchangeId, allSourcesFinished),
                 parentTask,
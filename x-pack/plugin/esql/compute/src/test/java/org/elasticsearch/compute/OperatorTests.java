@@ -54,6 +54,7 @@ import org.elasticsearch.compute.operator.Driver;
 import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.HashAggregationOperator;
 import org.elasticsearch.compute.operator.LimitOperator;
+import org.elasticsearch.compute.operator.MultiKeyOrdinalsGroupingOperator;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.OperatorTestCase;
 import org.elasticsearch.compute.operator.OrdinalsGroupingOperator;
@@ -70,6 +71,7 @@ import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -273,6 +275,111 @@ public class OperatorTests extends MapperServiceTestCase {
         assertThat(blockFactory.breaker().getUsed(), equalTo(0L));
     }
 
+    public void testGroupingWithOrdinalsOnManyKeys() throws Exception {
+        DriverContext driverContext = driverContext();
+        BlockFactory blockFactory = driverContext.blockFactory();
+        BigArrays bigArrays = driverContext.bigArrays();
+
+        final int numDocs = between(100, 5000);
+        final Map<List<BytesRef>, Long> expectedCounts = new HashMap<>();
+        List<BytesRef> keys = randomList(1, 20, () -> new BytesRef(randomAlphaOfLength(5)));
+        try (BaseDirectoryWrapper dir = newDirectory(); RandomIndexWriter writer = new RandomIndexWriter(random(), dir)) {
+            for (int i = 0; i < numDocs; i++) {
+                Document doc = new Document();
+                Set<BytesRef> g1 = new HashSet<>(randomSubsetOf(between(1, Math.min(3, keys.size())), keys));
+                for (BytesRef k : g1) {
+                    doc.add(new SortedSetDocValuesField("g1", k));
+                }
+                BytesRef g2 = randomBoolean() ? null : randomFrom(keys);
+                if (g2 != null) {
+                    doc.add(new SortedSetDocValuesField("g2", g2));
+                }
+                writer.addDocument(doc);
+                for (BytesRef k : g1) {
+                    expectedCounts.merge(Arrays.asList(k, g2), 1L, Long::sum);
+                }
+            }
+            writer.commit();
+            Map<List<BytesRef>, Long> actualCounts = new HashMap<>();
+            try (DirectoryReader reader = writer.getReader()) {
+                Driver driver = new Driver(
+                    driverContext,
+                    luceneOperatorFactory(reader, new MatchAllDocsQuery(), LuceneOperator.NO_LIMIT).get(driverContext),
+                    List.of(new AbstractPageMappingOperator() {
+                        @Override
+                        protected Page process(Page page) {
+                            return page.appendBlock(IntBlock.newConstantBlockWith(1, page.getPositionCount()));
+                        }
+
+                        @Override
+                        public String toString() {
+                            return "Add(1)";
+                        }
+                    },
+                        new MultiKeyOrdinalsGroupingOperator(
+                            List.of(
+                                new MultiKeyOrdinalsGroupingOperator.GroupingField(
+                                    "g1",
+                                    List.of(
+                                        BlockReaderFactories.loaderToFactory(
+                                            reader,
+                                            new KeywordFieldMapper.KeywordFieldType("g1").blockLoader(null)
+                                        )
+                                    ),
+                                    ElementType.BYTES_REF
+                                ),
+                                new MultiKeyOrdinalsGroupingOperator.GroupingField(
+                                    "g2",
+                                    List.of(
+                                        BlockReaderFactories.loaderToFactory(
+                                            reader,
+                                            new KeywordFieldMapper.KeywordFieldType("g2").blockLoader(null)
+                                        )
+                                    ),
+                                    ElementType.BYTES_REF
+                                )
+                            ),
+                            0,
+                            List.of(CountAggregatorFunction.supplier(bigArrays, List.of(1)).groupingAggregatorFactory(INITIAL)),
+                            randomPageSize(),
+                            driverContext
+                        ),
+                        new HashAggregationOperator(
+                            List.of(CountAggregatorFunction.supplier(bigArrays, List.of(2, 3)).groupingAggregatorFactory(FINAL)),
+                            () -> BlockHash.build(
+                                List.of(
+                                    new HashAggregationOperator.GroupSpec(0, ElementType.BYTES_REF),
+                                    new HashAggregationOperator.GroupSpec(1, ElementType.BYTES_REF)
+                                ),
+                                driverContext,
+                                randomPageSize(),
+                                false
+                            ),
+                            driverContext
+                        )
+                    ),
+                    new PageConsumerOperator(page -> {
+                        BytesRefBlock g1 = page.getBlock(0);
+                        BytesRefBlock g2 = page.getBlock(1);
+                        LongBlock counts = page.getBlock(2);
+                        for (int i = 0; i < page.getPositionCount(); i++) {
+                            BytesRef k1 = BytesRef.deepCopyOf(g1.getBytesRef(i, new BytesRef()));
+                            BytesRef k2 = g2.isNull(i) ? null : BytesRef.deepCopyOf(g2.getBytesRef(i, new BytesRef()));
+                            actualCounts.put(Arrays.asList(k1, k2), counts.getLong(i));
+                        }
+                        page.releaseBlocks();
+                    }),
+                    () -> {}
+                );
+                OperatorTestCase.runDriver(driver);
+                assertThat(actualCounts, equalTo(expectedCounts));
+                assertDriverContext(driverContext);
+                org.elasticsearch.common.util.MockBigArrays.ensureAllArraysAreReleased();
+            }
+        }
+        assertThat(blockFactory.breaker().getUsed(), equalTo(0L));
+    }
+
     public void testLimitOperator() {
         var positions = 100;
         var limit = randomIntBetween(90, 101);
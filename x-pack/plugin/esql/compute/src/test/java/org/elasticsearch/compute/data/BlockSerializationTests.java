@@ -8,8 +8,16 @@
 package org.elasticsearch.compute.data;
 
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
@@ -19,12 +27,15 @@ import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.test.EqualsHashCodeTestUtils;
+import org.elasticsearch.test.TransportVersionUtils;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 
 public class BlockSerializationTests extends SerializationTestCase {
@@ -149,6 +160,74 @@ public class BlockSerializationTests extends SerializationTestCase {
         }
     }
 
+    public void testLongVectorWrapsNetworkBuffer() throws IOException {
+        long[] values = new long[between(1, 5000)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomLong();
+        }
+        LongBlock origBlock = new LongArrayVector(values, values.length).asBlock();
+        AtomicBoolean released = new AtomicBoolean();
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeNamedWriteable(origBlock);
+            LongBlock deserBlock;
+            BytesArray bytes = new BytesArray(BytesReference.toBytes(out.bytes()));
+            ReleasableBytesReference buffer = new ReleasableBytesReference(bytes, () -> released.set(true));
+            try (buffer; StreamInput in = buffer.streamInput()) {
+                deserBlock = (LongBlock) blockStreamInput(in).readNamedWriteable(Block.class);
+            }
+            try (deserBlock) {
+                assertThat(deserBlock.asVector(), instanceOf(LongBytesReferenceVector.class));
+                EqualsHashCodeTestUtils.checkEqualsAndHashCode(origBlock, unused -> deserBlock);
+                assertThat("the vector holds the buffer", released.get(), is(false));
+            }
+            assertThat(released.get(), is(true));
+        }
+    }
+
+    public void testVectorsSpreadOverSeveralBuffersAreCopied() throws IOException {
+        long[] values = new long[between(2, 5000)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomLong();
+        }
+        LongBlock origBlock = new LongArrayVector(values, values.length).asBlock();
+        AtomicBoolean released = new AtomicBoolean();
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeNamedWriteable(origBlock);
+            // Split the values between two buffers like a message that arrived in several network reads
+            byte[] bytes = BytesReference.toBytes(out.bytes());
+            int split = bytes.length - between(Long.BYTES + 1, values.length * Long.BYTES - 1);
+            BytesReference composite = CompositeBytesReference.of(
+                new BytesArray(bytes, 0, split),
+                new BytesArray(bytes, split, bytes.length - split)
+            );
+            LongBlock deserBlock;
+            ReleasableBytesReference buffer = new ReleasableBytesReference(composite, () -> released.set(true));
+            try (buffer; StreamInput in = buffer.streamInput()) {
+                deserBlock = (LongBlock) blockStreamInput(in).readNamedWriteable(Block.class);
+            }
+            try (deserBlock) {
+                assertThat(deserBlock.asVector(), instanceOf(LongArrayVector.class));
+                EqualsHashCodeTestUtils.checkEqualsAndHashCode(origBlock, unused -> deserBlock);
+                assertThat("the copy doesn't hold the buffer", released.get(), is(true));
+            }
+        }
+    }
+
+    public void testVectorsFromOlderNodesAreCopied() throws IOException {
+        TransportVersion version = TransportVersionUtils.getPreviousVersion(TransportVersions.ESQL_ZERO_COPY_VECTORS);
+        IntBlock origBlock = new IntArrayVector(new int[] { 1, 2, 3 }, 3).asBlock();
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.setTransportVersion(version);
+            out.writeNamedWriteable(origBlock);
+            StreamInput in = out.bytes().streamInput();
+            in.setTransportVersion(version);
+            try (IntBlock deserBlock = (IntBlock) blockStreamInput(in).readNamedWriteable(Block.class)) {
+                assertThat(deserBlock.asVector(), instanceOf(IntArrayVector.class));
+                EqualsHashCodeTestUtils.checkEqualsAndHashCode(origBlock, unused -> deserBlock);
+            }
+        }
+    }
+
     // TODO: more types, grouping, etc...
     public void testSimulateAggs() {
         DriverContext driverCtx = driverContext();
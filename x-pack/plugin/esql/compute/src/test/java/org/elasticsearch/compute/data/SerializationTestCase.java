@@ -13,6 +13,7 @@ import org.elasticsearch.common.io.stream.ByteBufferStreamInput;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.NamedWriteableAwareStreamInput;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.MockBigArrays;
@@ -52,10 +53,11 @@ public abstract class SerializationTestCase extends ESTestCase {
     }
 
     BlockStreamInput blockStreamInput(BytesStreamOutput out) {
-        return new BlockStreamInput(
-            new NamedWriteableAwareStreamInput(ByteBufferStreamInput.wrap(BytesReference.toBytes(out.bytes())), registry),
-            blockFactory
-        );
+        return blockStreamInput(ByteBufferStreamInput.wrap(BytesReference.toBytes(out.bytes())));
+    }
+
+    BlockStreamInput blockStreamInput(StreamInput in) {
+        return new BlockStreamInput(new NamedWriteableAwareStreamInput(in, registry), blockFactory);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,182 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.data;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.After;
+import org.junit.Before;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SimdOperationsTests extends ESTestCase {
+    private final CircuitBreaker breaker = new MockBigArrays.LimitedBreaker("esql-test-breaker", ByteSizeValue.ofGb(1));
+    private final BlockFactory blockFactory = BlockFactory.getInstance(
+        breaker,
+        new MockBigArrays(PageCacheRecycler.NON_RECYCLING_INSTANCE, ByteSizeValue.ofGb(1))
+    );
+
+    @Before
+    public void checkEnabled() {
+        assumeTrue("requires the jdk.incubator.vector module", SimdOperations.ENABLED);
+    }
+
+    @After
+    public void checkBreaker() {
+        assertThat(breaker.getUsed(), equalTo(0L));
+    }
+
+    public void testAddLongs() {
+        int positions = between(0, 1000);
+        long[] lhs = randomLongs(positions, Integer.MAX_VALUE);
+        long[] rhs = randomLongs(positions, Integer.MAX_VALUE);
+        try (
+            LongVector l = blockFactory.newLongArrayVector(lhs, positions);
+            LongVector r = blockFactory.newLongArrayVector(rhs, positions);
+            LongVector result = SimdOperations.addLongs(positions, l, r, blockFactory)
+        ) {
+            for (int p = 0; p < positions; p++) {
+                assertThat(result.getLong(p), equalTo(lhs[p] + rhs[p]));
+            }
+        }
+    }
+
+    public void testSubLongsConstant() {
+        int positions = between(1, 1000);
+        long[] lhs = randomLongs(positions, Integer.MAX_VALUE);
+        long constant = randomIntBetween(-1000, 1000);
+        try (
+            LongVector l = blockFactory.newLongArrayVector(lhs, positions);
+            LongVector r = blockFactory.newConstantLongVector(constant, positions);
+            LongVector result = SimdOperations.subLongs(positions, l, r, blockFactory)
+        ) {
+            for (int p = 0; p < positions; p++) {
+                assertThat(result.getLong(p), equalTo(lhs[p] - constant));
+            }
+        }
+    }
+
+    public void testAddLongsOverflow() {
+        int positions = between(1, 1000);
+        long[] lhs = randomLongs(positions, Integer.MAX_VALUE);
+        lhs[between(0, positions - 1)] = Long.MAX_VALUE;
+        try (
+            LongVector l = blockFactory.newLongArrayVector(lhs, positions);
+            LongVector r = blockFactory.newConstantLongVector(1, positions)
+        ) {
+            assertThat(SimdOperations.addLongs(positions, l, r, blockFactory), nullValue());
+        }
+    }
+
+    public void testSubIntsOverflow() {
+        int positions = between(1, 1000);
+        int[] lhs = new int[positions];
+        int[] rhs = new int[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomIntBetween(-1000, 1000);
+            rhs[p] = randomIntBetween(-1000, 1000);
+        }
+        int overflow = between(0, positions - 1);
+        lhs[overflow] = randomIntBetween(0, 1000);
+        rhs[overflow] = Integer.MIN_VALUE;
+        try (
+            IntVector l = blockFactory.newIntArrayVector(lhs, positions);
+            IntVector r = blockFactory.newIntArrayVector(rhs, positions)
+        ) {
+            assertThat(SimdOperations.subInts(positions, l, r, blockFactory), nullValue());
+        }
+    }
+
+    public void testMulDoubles() {
+        int positions = between(0, 1000);
+        double[] lhs = new double[positions];
+        double[] rhs = new double[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomDouble();
+            rhs[p] = randomBoolean() ? Double.NaN : randomDouble();
+        }
+        try (
+            DoubleVector l = blockFactory.newDoubleArrayVector(lhs, positions);
+            DoubleVector r = blockFactory.newDoubleArrayVector(rhs, positions);
+            DoubleVector result = SimdOperations.mulDoubles(positions, l, r, blockFactory)
+        ) {
+            for (int p = 0; p < positions; p++) {
+                assertThat(result.getDouble(p), equalTo(lhs[p] * rhs[p]));
+            }
+        }
+    }
+
+    public void testCompareLongs() {
+        int positions = between(0, 1000);
+        long[] lhs = randomLongs(positions, 10);
+        long[] rhs = randomLongs(positions, 10);
+        SimdOperations.Comparison comparison = randomFrom(SimdOperations.Comparison.values());
+        try (
+            LongVector l = blockFactory.newLongArrayVector(lhs, positions);
+            LongVector r = blockFactory.newLongArrayVector(rhs, positions);
+            BooleanVector result = SimdOperations.compareLongs(comparison, positions, l, r, blockFactory)
+        ) {
+            for (int p = 0; p < positions; p++) {
+                int cmp = Long.compare(lhs[p], rhs[p]);
+                boolean expected = switch (comparison) {
+                    case EQ -> cmp == 0;
+                    case NEQ -> cmp != 0;
+                    case GT -> cmp > 0;
+                    case GTE -> cmp >= 0;
+                    case LT -> cmp < 0;
+                    case LTE -> cmp <= 0;
+                };
+                assertThat(comparison + " " + lhs[p] + " " + rhs[p], result.getBoolean(p), equalTo(expected));
+            }
+        }
+    }
+
+    public void testCompareDoublesNaN() {
+        int positions = between(1, 1000);
+        double[] lhs = new double[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomBoolean() ? Double.NaN : randomIntBetween(0, 2);
+        }
+        try (
+            DoubleVector l = blockFactory.newDoubleArrayVector(lhs, positions);
+            DoubleVector r = blockFactory.newConstantDoubleVector(1, positions);
+            BooleanVector eq = SimdOperations.compareDoubles(SimdOperations.Comparison.EQ, positions, l, r, blockFactory);
+            BooleanVector neq = SimdOperations.compareDoubles(SimdOperations.Comparison.NEQ, positions, l, r, blockFactory);
+            BooleanVector gte = SimdOperations.compareDoubles(SimdOperations.Comparison.GTE, positions, l, r, blockFactory)
+        ) {
+            for (int p = 0; p < positions; p++) {
+                assertThat(eq.getBoolean(p), equalTo(lhs[p] == 1));
+                assertThat(neq.getBoolean(p), equalTo(lhs[p] != 1));
+                assertThat(gte.getBoolean(p), equalTo(lhs[p] >= 1));
+            }
+        }
+    }
+
+    public void testUnsupported() {
+        int positions = between(1, 1000);
+        try (
+            LongVector l = blockFactory.newConstantLongVector(1, positions);
+            LongVector r = blockFactory.newConstantLongVector(2, positions)
+        ) {
+            assertThat(SimdOperations.addLongs(positions, l, r, blockFactory), nullValue());
+            assertThat(SimdOperations.compareLongs(SimdOperations.Comparison.EQ, positions, l, r, blockFactory), nullValue());
+        }
+    }
+
+    private long[] randomLongs(int positions, long bound) {
+        long[] values = new long[positions];
+        for (int p = 0; p < positions; p++) {
+            values[p] = randomLongBetween(-bound, bound);
+        }
+        return values;
+    }
+}
@@ -137,6 +137,12 @@ public class LuceneCountOperatorTests extends AnyOperatorTestCase {
         testCount(contexts, size, limit);
     }
 
+    public void testAdaptive() {
+        int size = between(1_000, 20_000);
+        int limit = randomBoolean() ? between(10, size) : Integer.MAX_VALUE;
+        testCount(this::driverContext, DataPartitioning.ADAPTIVE, size, limit);
+    }
+
     public void testEmpty() {
         testEmpty(this::driverContext);
     }
@@ -157,7 +163,10 @@ public class LuceneCountOperatorTests extends AnyOperatorTestCase {
     }
 
     private void testCount(Supplier<DriverContext> contexts, int size, int limit) {
-        DataPartitioning dataPartitioning = randomFrom(DataPartitioning.values());
+        testCount(contexts, randomFrom(DataPartitioning.values()), size, limit);
+    }
+
+    private void testCount(Supplier<DriverContext> contexts, DataPartitioning dataPartitioning, int size, int limit) {
         LuceneCountOperator.Factory factory = simple(contexts.get().bigArrays(), dataPartitioning, size, limit);
         List<Page> results = new CopyOnWriteArrayList<>();
         List<Driver> drivers = new ArrayList<>();
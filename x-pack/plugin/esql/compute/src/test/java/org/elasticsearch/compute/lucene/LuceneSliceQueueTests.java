@@ -0,0 +1,119 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.lucene;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.After;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class LuceneSliceQueueTests extends ESTestCase {
+    private final Directory directory = newDirectory();
+    private IndexReader reader;
+
+    @After
+    public void closeIndex() throws IOException {
+        IOUtils.close(reader, directory);
+    }
+
+    public void testAdaptiveCoversAllDocs() throws IOException {
+        int numDocs = between(1, 100_000);
+        int commitEvery = randomBoolean() ? numDocs : Math.max(1, numDocs / between(1, 10));
+        LuceneSliceQueue queue = adaptiveQueue(numDocs, commitEvery);
+
+        Map<LeafReaderContext, List<PartialLeafReaderContext>> claimed = new IdentityHashMap<>();
+        LuceneSlice previous = null;
+        int slices = 0;
+        LuceneSlice slice;
+        while ((slice = queue.nextSlice(randomBoolean() ? previous : null, randomBoolean() ? 0 : between(1, 100_000))) != null) {
+            assertThat(slice.leaves(), hasSize(1));
+            PartialLeafReaderContext leaf = slice.getLeaf(0);
+            int maxDoc = leaf.leafReaderContext().reader().maxDoc();
+            int minSize = Math.min(maxDoc, LuceneSliceQueue.MIN_ADAPTIVE_DOCS_PER_SLICE / 2);
+            assertThat(leaf.maxDoc() - leaf.minDoc(), greaterThanOrEqualTo(minSize));
+            claimed.computeIfAbsent(leaf.leafReaderContext(), k -> new ArrayList<>()).add(leaf);
+            previous = slice;
+            slices++;
+        }
+        assertThat(slices, lessThanOrEqualTo(queue.totalSlices()));
+
+        assertThat(claimed.size(), equalTo(reader.leaves().size()));
+        for (Map.Entry<LeafReaderContext, List<PartialLeafReaderContext>> e : claimed.entrySet()) {
+            // Each segment is claimed in order from the start without gaps or overlaps
+            int next = 0;
+            for (PartialLeafReaderContext leaf : e.getValue()) {
+                assertThat(leaf.minDoc(), equalTo(next));
+                next = leaf.maxDoc();
+            }
+            assertThat(next, equalTo(e.getKey().reader().maxDoc()));
+        }
+    }
+
+    public void testAdaptiveSkipUnclaimedDocs() throws IOException {
+        int numDocs = between(LuceneSliceQueue.MIN_ADAPTIVE_DOCS_PER_SLICE * 2, LuceneSliceQueue.MIN_ADAPTIVE_DOCS_PER_SLICE * 4);
+        LuceneSliceQueue queue = adaptiveQueue(numDocs, randomBoolean() ? numDocs : numDocs / 2);
+
+        LuceneSlice first = queue.nextSlice(null, LuceneSliceQueue.MIN_ADAPTIVE_DOCS_PER_SLICE);
+        LeafReaderContext skipped = first.getLeaf(0).leafReaderContext();
+        queue.skipUnclaimedDocs(skipped);
+
+        int claimedDocs = first.numDocs();
+        LuceneSlice slice;
+        while ((slice = queue.nextSlice(randomBoolean() ? first : null, 0)) != null) {
+            assertThat(slice.getLeaf(0).leafReaderContext(), not(sameInstance(skipped)));
+            claimedDocs += slice.numDocs();
+        }
+        // Everything but the rest of the skipped segment was handed out
+        int skippedDocs = skipped.reader().maxDoc() - first.getLeaf(0).maxDoc();
+        assertThat(claimedDocs, equalTo(reader.maxDoc() - skippedDocs));
+    }
+
+    private LuceneSliceQueue adaptiveQueue(int numDocs, int commitEvery) throws IOException {
+        try (
+            RandomIndexWriter writer = new RandomIndexWriter(
+                random(),
+                directory,
+                newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE)
+            )
+        ) {
+            for (int d = 0; d < numDocs; d++) {
+                writer.addDocument(new Document());
+                if (d % commitEvery == 0) {
+                    writer.commit();
+                }
+            }
+            reader = writer.getReader();
+        }
+        return LuceneSliceQueue.create(
+            List.of(LuceneSourceOperatorTests.mockSearchContext(reader)),
+            LuceneOperator.weightFunction(c -> new MatchAllDocsQuery(), ScoreMode.COMPLETE_NO_SCORES),
+            DataPartitioning.ADAPTIVE,
+            between(1, 16)
+        );
+    }
+}
@@ -139,6 +139,12 @@ public class LuceneSourceOperatorTests extends AnyOperatorTestCase {
         testSimple(driverContext(), size, limit);
     }
 
+    public void testAdaptiveDataPartitioning() {
+        int size = between(1_000, 20_000);
+        int limit = between(10, size);
+        testSimple(driverContext(), DataPartitioning.ADAPTIVE, size, limit);
+    }
+
     public void testEmpty() {
         testSimple(driverContext(), 0, between(10, 10_000));
     }
@@ -176,7 +182,11 @@ public class LuceneSourceOperatorTests extends AnyOperatorTestCase {
     }
 
     private void testSimple(DriverContext ctx, int size, int limit) {
-        LuceneSourceOperator.Factory factory = simple(ctx.bigArrays(), DataPartitioning.SHARD, size, limit);
+        testSimple(ctx, DataPartitioning.SHARD, size, limit);
+    }
+
+    private void testSimple(DriverContext ctx, DataPartitioning dataPartitioning, int size, int limit) {
+        LuceneSourceOperator.Factory factory = simple(ctx.bigArrays(), dataPartitioning, size, limit);
         Operator.OperatorFactory readS = ValuesSourceReaderOperatorTests.factory(reader, S_FIELD);
 
         List<Page> results = new ArrayList<>();
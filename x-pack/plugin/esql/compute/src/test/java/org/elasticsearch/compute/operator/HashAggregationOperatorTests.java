@@ -94,6 +94,25 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
         }
     }
 
+    /**
+     * The hash and the aggregator state are released as soon as the output
+     * is built rather than when the driver closes the operator.
+     */
+    public void testReleasesStateOnFinish() {
+        DriverContext driverContext = driverContext();
+        List<Page> input = CannedSourceOperator.collectPages(simpleInput(driverContext.blockFactory(), between(100, 1000)));
+        try (Operator operator = simple(driverContext.bigArrays()).get(driverContext)) {
+            for (Page page : input) {
+                operator.addInput(page);
+            }
+            operator.finish();
+            Page output = operator.getOutput();
+            assertThat(output.getPositionCount(), equalTo(5));
+            output.releaseBlocks();
+            assertThat(driverContext.breaker().getUsed(), equalTo(0L));
+        }
+    }
+
     @Override
     protected ByteSizeValue smallEnoughToCircuitBreak() {
         return ByteSizeValue.ofBytes(between(1, 32));
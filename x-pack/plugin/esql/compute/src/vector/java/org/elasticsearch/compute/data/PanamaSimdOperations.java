@@ -0,0 +1,264 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.data;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels behind {@link SimdOperations}. This lives in the {@code vector} source
+ * set, the only code compiled against the incubating {@code jdk.incubator.vector}
+ * module. {@link SimdOperations} loads it reflectively when that module is in the
+ * boot layer. A {@code null} array means the operand is the constant passed next
+ * to it.
+ */
+final class PanamaSimdOperations implements SimdOperations.Kernels {
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+    PanamaSimdOperations() {}
+
+    @Override
+    public boolean addInts(int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, int[] result, int length) {
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector l = ints(lhs, lhsConstant, i);
+            IntVector r = ints(rhs, rhsConstant, i);
+            IntVector sum = l.add(r);
+            // Overflow if both operands have the opposite sign of the result, see Math.addExact
+            if (l.lanewise(VectorOperators.XOR, sum).and(r.lanewise(VectorOperators.XOR, sum)).compare(VectorOperators.LT, 0).anyTrue()) {
+                return false;
+            }
+            sum.intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            int l = lhs == null ? lhsConstant : lhs[i];
+            int r = rhs == null ? rhsConstant : rhs[i];
+            int sum = l + r;
+            if (((l ^ sum) & (r ^ sum)) < 0) {
+                return false;
+            }
+            result[i] = sum;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean subInts(int[] lhs, int lhsConstant, int[] rhs, int rhsConstant, int[] result, int length) {
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            IntVector l = ints(lhs, lhsConstant, i);
+            IntVector r = ints(rhs, rhsConstant, i);
+            IntVector diff = l.sub(r);
+            // Overflow if the operands have different signs and the result's sign differs from lhs, see Math.subtractExact
+            if (l.lanewise(VectorOperators.XOR, r).and(l.lanewise(VectorOperators.XOR, diff)).compare(VectorOperators.LT, 0).anyTrue()) {
+                return false;
+            }
+            diff.intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            int l = lhs == null ? lhsConstant : lhs[i];
+            int r = rhs == null ? rhsConstant : rhs[i];
+            int diff = l - r;
+            if (((l ^ r) & (l ^ diff)) < 0) {
+                return false;
+            }
+            result[i] = diff;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addLongs(long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, long[] result, int length) {
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            LongVector l = longs(lhs, lhsConstant, i);
+            LongVector r = longs(rhs, rhsConstant, i);
+            LongVector sum = l.add(r);
+            if (l.lanewise(VectorOperators.XOR, sum).and(r.lanewise(VectorOperators.XOR, sum)).compare(VectorOperators.LT, 0).anyTrue()) {
+                return false;
+            }
+            sum.intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            long l = lhs == null ? lhsConstant : lhs[i];
+            long r = rhs == null ? rhsConstant : rhs[i];
+            long sum = l + r;
+            if (((l ^ sum) & (r ^ sum)) < 0) {
+                return false;
+            }
+            result[i] = sum;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean subLongs(long[] lhs, long lhsConstant, long[] rhs, long rhsConstant, long[] result, int length) {
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            LongVector l = longs(lhs, lhsConstant, i);
+            LongVector r = longs(rhs, rhsConstant, i);
+            LongVector diff = l.sub(r);
+            if (l.lanewise(VectorOperators.XOR, r).and(l.lanewise(VectorOperators.XOR, diff)).compare(VectorOperators.LT, 0).anyTrue()) {
+                return false;
+            }
+            diff.intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            long l = lhs == null ? lhsConstant : lhs[i];
+            long r = rhs == null ? rhsConstant : rhs[i];
+            long diff = l - r;
+            if (((l ^ r) & (l ^ diff)) < 0) {
+                return false;
+            }
+            result[i] = diff;
+        }
+        return true;
+    }
+
+    @Override
+    public void addDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length) {
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            doubles(lhs, lhsConstant, i).add(doubles(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (lhs == null ? lhsConstant : lhs[i]) + (rhs == null ? rhsConstant : rhs[i]);
+        }
+    }
+
+    @Override
+    public void subDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length) {
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            doubles(lhs, lhsConstant, i).sub(doubles(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (lhs == null ? lhsConstant : lhs[i]) - (rhs == null ? rhsConstant : rhs[i]);
+        }
+    }
+
+    @Override
+    public void mulDoubles(double[] lhs, double lhsConstant, double[] rhs, double rhsConstant, double[] result, int length) {
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            doubles(lhs, lhsConstant, i).mul(doubles(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (lhs == null ? lhsConstant : lhs[i]) * (rhs == null ? rhsConstant : rhs[i]);
+        }
+    }
+
+    @Override
+    public void compareInts(
+        SimdOperations.Comparison comparison,
+        int[] lhs,
+        int lhsConstant,
+        int[] rhs,
+        int rhsConstant,
+        boolean[] result,
+        int length
+    ) {
+        VectorOperators.Comparison op = op(comparison);
+        int i = 0;
+        for (int bound = INT.loopBound(length); i < bound; i += INT.length()) {
+            ints(lhs, lhsConstant, i).compare(op, ints(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = compare(comparison, Integer.compare(lhs == null ? lhsConstant : lhs[i], rhs == null ? rhsConstant : rhs[i]));
+        }
+    }
+
+    @Override
+    public void compareLongs(
+        SimdOperations.Comparison comparison,
+        long[] lhs,
+        long lhsConstant,
+        long[] rhs,
+        long rhsConstant,
+        boolean[] result,
+        int length
+    ) {
+        VectorOperators.Comparison op = op(comparison);
+        int i = 0;
+        for (int bound = LONG.loopBound(length); i < bound; i += LONG.length()) {
+            longs(lhs, lhsConstant, i).compare(op, longs(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = compare(comparison, Long.compare(lhs == null ? lhsConstant : lhs[i], rhs == null ? rhsConstant : rhs[i]));
+        }
+    }
+
+    @Override
+    public void compareDoubles(
+        SimdOperations.Comparison comparison,
+        double[] lhs,
+        double lhsConstant,
+        double[] rhs,
+        double rhsConstant,
+        boolean[] result,
+        int length
+    ) {
+        VectorOperators.Comparison op = op(comparison);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(length); i < bound; i += DOUBLE.length()) {
+            doubles(lhs, lhsConstant, i).compare(op, doubles(rhs, rhsConstant, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            double l = lhs == null ? lhsConstant : lhs[i];
+            double r = rhs == null ? rhsConstant : rhs[i];
+            // Not Double.compare because NaN never compares equal or ordered, just like the vector comparisons
+            result[i] = switch (comparison) {
+                case EQ -> l == r;
+                case NEQ -> l != r;
+                case GT -> l > r;
+                case GTE -> l >= r;
+                case LT -> l < r;
+                case LTE -> l <= r;
+            };
+        }
+    }
+
+    private static IntVector ints(int[] values, int constant, int offset) {
+        return values == null ? IntVector.broadcast(INT, constant) : IntVector.fromArray(INT, values, offset);
+    }
+
+    private static LongVector longs(long[] values, long constant, int offset) {
+        return values == null ? LongVector.broadcast(LONG, constant) : LongVector.fromArray(LONG, values, offset);
+    }
+
+    private static DoubleVector doubles(double[] values, double constant, int offset) {
+        return values == null ? DoubleVector.broadcast(DOUBLE, constant) : DoubleVector.fromArray(DOUBLE, values, offset);
+    }
+
+    private static VectorOperators.Comparison op(SimdOperations.Comparison comparison) {
+        return switch (comparison) {
+            case EQ -> VectorOperators.EQ;
+            case NEQ -> VectorOperators.NE;
+            case GT -> VectorOperators.GT;
+            case GTE -> VectorOperators.GE;
+            case LT -> VectorOperators.LT;
+            case LTE -> VectorOperators.LE;
+        };
+    }
+
+    private static boolean compare(SimdOperations.Comparison comparison, int cmp) {
+        return switch (comparison) {
+            case EQ -> cmp == 0;
+            case NEQ -> cmp != 0;
+            case GT -> cmp > 0;
+            case GTE -> cmp >= 0;
+            case LT -> cmp < 0;
+            case LTE -> cmp <= 0;
+        };
+    }
+}
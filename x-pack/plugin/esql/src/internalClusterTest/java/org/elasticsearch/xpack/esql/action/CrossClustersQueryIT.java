@@ -0,0 +1,116 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.action;
+
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.internal.Client;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.compute.operator.exchange.ExchangeService;
+import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.test.AbstractMultiClustersTestCase;
+import org.elasticsearch.test.InternalTestCluster;
+import org.elasticsearch.xpack.esql.plugin.EsqlPlugin;
+import org.elasticsearch.xpack.esql.plugin.TransportEsqlQueryAction;
+import org.junit.After;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.xpack.esql.EsqlTestUtils.getValuesList;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CrossClustersQueryIT extends AbstractMultiClustersTestCase {
+    private static final String REMOTE_CLUSTER = "cluster-a";
+
+    @Override
+    protected Collection<String> remoteClusterAlias() {
+        return List.of(REMOTE_CLUSTER);
+    }
+
+    @Override
+    protected Collection<Class<? extends Plugin>> nodePlugins(String clusterAlias) {
+        List<Class<? extends Plugin>> plugins = new ArrayList<>(super.nodePlugins(clusterAlias));
+        plugins.add(EsqlPlugin.class);
+        plugins.add(AbstractEsqlIntegTestCase.InternalExchangePlugin.class);
+        return plugins;
+    }
+
+    @After
+    public void ensureExchangesAreReleased() throws Exception {
+        for (InternalTestCluster cluster : clusters().values()) {
+            for (String node : cluster.getNodeNames()) {
+                ExchangeService exchangeService = cluster.getInstance(TransportEsqlQueryAction.class, node).exchangeService();
+                assertBusy(() -> assertTrue("Leftover exchanges " + exchangeService + " on node " + node, exchangeService.isEmpty()));
+            }
+        }
+    }
+
+    public void testRemoteOnly() {
+        int remoteDocs = indexDocs(client(REMOTE_CLUSTER), "logs-remote");
+        try (EsqlQueryResponse resp = run("from " + REMOTE_CLUSTER + ":logs-* | stats c = count(*), s = sum(v)")) {
+            assertThat(getValuesList(resp), equalTo(List.of(List.of((long) remoteDocs, sum(remoteDocs)))));
+        }
+        try (EsqlQueryResponse resp = run("from " + REMOTE_CLUSTER + ":logs-* | sort v desc | keep v | limit 1")) {
+            assertThat(getValuesList(resp), equalTo(List.of(List.of((long) remoteDocs - 1))));
+        }
+    }
+
+    public void testLocalAndRemote() {
+        int localDocs = indexDocs(client(LOCAL_CLUSTER), "logs-local");
+        int remoteDocs = indexDocs(client(REMOTE_CLUSTER), "logs-remote");
+        try (EsqlQueryResponse resp = run("from logs-*," + REMOTE_CLUSTER + ":logs-* | stats c = count(*), s = sum(v)")) {
+            long expectedSum = sum(localDocs) + sum(remoteDocs);
+            assertThat(getValuesList(resp), equalTo(List.of(List.of((long) localDocs + remoteDocs, expectedSum))));
+        }
+        try (EsqlQueryResponse resp = run("from logs-*," + REMOTE_CLUSTER + ":logs-* | stats c = count(*) by tag | sort tag")) {
+            List<List<Object>> values = getValuesList(resp);
+            long total = 0;
+            for (List<Object> row : values) {
+                total += (long) row.get(0);
+            }
+            assertThat(total, equalTo((long) localDocs + remoteDocs));
+        }
+    }
+
+    private EsqlQueryResponse run(String query) {
+        EsqlQueryRequest request = new EsqlQueryRequest();
+        request.query(query);
+        request.pragmas(AbstractEsqlIntegTestCase.randomPragmas());
+        return client(LOCAL_CLUSTER).execute(EsqlQueryAction.INSTANCE, request).actionGet(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Index documents with a {@code v} field counting up from {@code 0}.
+     * @return the number of documents indexed
+     */
+    private int indexDocs(Client client, String index) {
+        assertAcked(
+            client.admin()
+                .indices()
+                .prepareCreate(index)
+                .setSettings(Settings.builder().put("index.number_of_shards", between(1, 3)))
+                .setMapping("v", "type=long", "tag", "type=keyword")
+        );
+        int numDocs = between(1, 100);
+        BulkRequestBuilder bulk = client.prepareBulk(index).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (int i = 0; i < numDocs; i++) {
+            bulk.add(new IndexRequest().source("v", i, "tag", "tag-" + (i % 3)));
+        }
+        bulk.get();
+        return numDocs;
+    }
+
+    private static long sum(int numDocs) {
+        return (long) numDocs * (numDocs - 1) / 2;
+    }
+}
@@ -14,6 +14,7 @@ import org.elasticsearch.action.CompositeIndicesRequest;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.query.AbstractQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.tasks.CancellableTask;
@@ -64,8 +65,20 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
     private static final ParseField PRAGMA_FIELD = new ParseField("pragma");
     private static final ParseField PARAMS_FIELD = new ParseField("params");
     private static final ParseField LOCALE_FIELD = new ParseField("locale");
+    private static final ParseField WAIT_FOR_COMPLETION_TIMEOUT = new ParseField("wait_for_completion_timeout");
+    private static final ParseField KEEP_ALIVE = new ParseField("keep_alive");
+    private static final ParseField KEEP_ON_COMPLETION = new ParseField("keep_on_completion");
+
+    public static final TimeValue DEFAULT_WAIT_FOR_COMPLETION_TIMEOUT = TimeValue.timeValueSeconds(1);
+    public static final TimeValue DEFAULT_KEEP_ALIVE = TimeValue.timeValueDays(5);
+    static final long MIN_KEEP_ALIVE = TimeValue.timeValueMinutes(1).millis();
 
     private static final ObjectParser<EsqlQueryRequest, Void> PARSER = objectParser(EsqlQueryRequest::new);
+    private static final ObjectParser<EsqlQueryRequest, Void> ASYNC_PARSER = asyncObjectParser(() -> {
+        EsqlQueryRequest request = new EsqlQueryRequest();
+        request.async(true);
+        return request;
+    });
 
     private String query;
     private boolean columnar;
@@ -74,6 +87,10 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
     private QueryBuilder filter;
     private QueryPragmas pragmas = new QueryPragmas(Settings.EMPTY);
     private List<TypedParamValue> params = List.of();
+    private boolean async;
+    private TimeValue waitForCompletionTimeout = DEFAULT_WAIT_FOR_COMPLETION_TIMEOUT;
+    private TimeValue keepAlive = DEFAULT_KEEP_ALIVE;
+    private boolean keepOnCompletion;
 
     public EsqlQueryRequest(StreamInput in) throws IOException {
         super(in);
@@ -88,6 +105,12 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
         if (Build.current().isSnapshot() == false && pragmas.isEmpty() == false) {
             validationException = addValidationError("[pragma] only allowed in snapshot builds", validationException);
         }
+        if (async && keepAlive.getMillis() < MIN_KEEP_ALIVE) {
+            validationException = addValidationError(
+                "[" + KEEP_ALIVE.getPreferredName() + "] must be greater than 1 minute, got:" + keepAlive,
+                validationException
+            );
+        }
         return validationException;
     }
 
@@ -149,10 +172,54 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
         this.params = params;
     }
 
+    /**
+     * Should this query run asynchronously, storing its results in the async results index
+     * if it doesn't finish within {@link #waitForCompletionTimeout}?
+     */
+    public boolean async() {
+        return async;
+    }
+
+    public void async(boolean async) {
+        this.async = async;
+    }
+
+    public TimeValue waitForCompletionTimeout() {
+        return waitForCompletionTimeout;
+    }
+
+    public void waitForCompletionTimeout(TimeValue waitForCompletionTimeout) {
+        this.waitForCompletionTimeout = waitForCompletionTimeout;
+    }
+
+    public TimeValue keepAlive() {
+        return keepAlive;
+    }
+
+    public void keepAlive(TimeValue keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public boolean keepOnCompletion() {
+        return keepOnCompletion;
+    }
+
+    public void keepOnCompletion(boolean keepOnCompletion) {
+        this.keepOnCompletion = keepOnCompletion;
+    }
+
     public static EsqlQueryRequest fromXContent(XContentParser parser) {
         return PARSER.apply(parser, null);
     }
 
+    /**
+     * Parse a request for {@code POST _query/async} which also accepts the
+     * parameters controlling how long to wait for and keep the results.
+     */
+    public static EsqlQueryRequest fromXContentAsync(XContentParser parser) {
+        return ASYNC_PARSER.apply(parser, null);
+    }
+
     private static ObjectParser<EsqlQueryRequest, Void> objectParser(Supplier<EsqlQueryRequest> supplier) {
         ObjectParser<EsqlQueryRequest, Void> parser = new ObjectParser<>("esql/query", false, supplier);
         parser.declareString(EsqlQueryRequest::query, QUERY_FIELD);
@@ -170,6 +237,24 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
         return parser;
     }
 
+    private static ObjectParser<EsqlQueryRequest, Void> asyncObjectParser(Supplier<EsqlQueryRequest> supplier) {
+        ObjectParser<EsqlQueryRequest, Void> parser = objectParser(supplier);
+        parser.declareField(
+            EsqlQueryRequest::waitForCompletionTimeout,
+            (p, c) -> TimeValue.parseTimeValue(p.text(), WAIT_FOR_COMPLETION_TIMEOUT.getPreferredName()),
+            WAIT_FOR_COMPLETION_TIMEOUT,
+            ObjectParser.ValueType.VALUE
+        );
+        parser.declareField(
+            EsqlQueryRequest::keepAlive,
+            (p, c) -> TimeValue.parseTimeValue(p.text(), KEEP_ALIVE.getPreferredName()),
+            KEEP_ALIVE,
+            ObjectParser.ValueType.VALUE
+        );
+        parser.declareBoolean(EsqlQueryRequest::keepOnCompletion, KEEP_ON_COMPLETION);
+        return parser;
+    }
+
     private static List<TypedParamValue> parseParams(XContentParser p) throws IOException {
         List<TypedParamValue> result = new ArrayList<>();
         XContentParser.Token token = p.currentToken();
@@ -248,6 +333,11 @@ public class EsqlQueryRequest extends ActionRequest implements CompositeIndicesR
         return new CancellableTask(id, type, action, query, parentTaskId, headers);
     }
 
+    @Override
+    public String getDescription() {
+        return query;
+    }
+
     static org.elasticsearch.xcontent.XContentLocation fromProto(ContentLocation fromProto) {
         if (fromProto == null) {
             return null;
@@ -8,6 +8,7 @@
 package org.elasticsearch.xpack.esql.action;
 
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.collect.Iterators;
@@ -25,6 +26,9 @@ import org.elasticsearch.compute.data.IntBlock;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.lucene.UnsupportedValueSource;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.search.DocValueFormat;
@@ -44,6 +48,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static org.elasticsearch.xcontent.ConstructingObjectParser.constructorArg;
@@ -52,11 +57,30 @@ import static org.elasticsearch.xpack.ql.util.NumericUtils.asLongUnsigned;
 import static org.elasticsearch.xpack.ql.util.NumericUtils.unsignedLongAsNumber;
 import static org.elasticsearch.xpack.ql.util.StringUtils.parseIP;
 
+/**
+ * The results of an ES|QL query. The pages are tracked by the request circuit breaker so the response is ref counted:
+ * each listener it is handed to owns a reference and releases it once it has sent the response, and anything that
+ * hands the same response to several listeners, like an async query that's waited on, acquires a reference for each.
+ */
 public class EsqlQueryResponse extends ActionResponse implements ChunkedToXContent, Releasable {
 
+    private final RefCounted refCounted = AbstractRefCounted.of(this::closeInternal);
+
     private final List<ColumnInfo> columns;
     private final List<Page> pages;
     private final boolean columnar;
+    /**
+     * The id of an async query or {@code null} if the query wasn't async or
+     * finished before its wait_for_completion_timeout without keep_on_completion.
+     */
+    @Nullable
+    private final String asyncExecutionId;
+    private final boolean isRunning;
+    /**
+     * Was this started with {@code POST _query/async}? Those responses
+     * always report if the query is still running.
+     */
+    private final boolean isAsync;
 
     private static final InstantiatingObjectParser<EsqlQueryResponse, Void> PARSER;
     static {
@@ -70,16 +94,28 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         PARSER = parser.build();
     }
 
-    public EsqlQueryResponse(List<ColumnInfo> columns, List<Page> pages, boolean columnar) {
+    public EsqlQueryResponse(
+        List<ColumnInfo> columns,
+        List<Page> pages,
+        boolean columnar,
+        @Nullable String asyncExecutionId,
+        boolean isRunning,
+        boolean isAsync
+    ) {
         this.columns = columns;
         this.pages = pages;
         this.columnar = columnar;
+        this.asyncExecutionId = asyncExecutionId;
+        this.isRunning = isRunning;
+        this.isAsync = isAsync;
+    }
+
+    public EsqlQueryResponse(List<ColumnInfo> columns, List<Page> pages, boolean columnar) {
+        this(columns, pages, columnar, null, false, false);
     }
 
     public EsqlQueryResponse(List<ColumnInfo> columns, List<List<Object>> values) {
-        this.columns = columns;
-        this.pages = List.of(valuesToPage(columns.stream().map(ColumnInfo::type).toList(), values));
-        this.columnar = false;
+        this(columns, List.of(valuesToPage(columns.stream().map(ColumnInfo::type).toList(), values)), false);
     }
 
     /**
@@ -94,6 +130,15 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         this.columns = in.readCollectionAsList(ColumnInfo::new);
         this.pages = in.readCollectionAsList(Page::new);
         this.columnar = in.readBoolean();
+        if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_ASYNC_QUERY)) {
+            this.asyncExecutionId = in.readOptionalString();
+            this.isRunning = in.readBoolean();
+            this.isAsync = in.readBoolean();
+        } else {
+            this.asyncExecutionId = null;
+            this.isRunning = false;
+            this.isAsync = false;
+        }
     }
 
     @Override
@@ -101,6 +146,11 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         out.writeCollection(columns);
         out.writeCollection(pages);
         out.writeBoolean(columnar);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_ASYNC_QUERY)) {
+            out.writeOptionalString(asyncExecutionId);
+            out.writeBoolean(isRunning);
+            out.writeBoolean(isAsync);
+        }
     }
 
     public List<ColumnInfo> columns() {
@@ -119,6 +169,18 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         return columnar;
     }
 
+    public Optional<String> asyncExecutionId() {
+        return Optional.ofNullable(asyncExecutionId);
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public boolean isAsync() {
+        return isAsync;
+    }
+
     @Override
     public Iterator<? extends ToXContent> toXContentChunked(ToXContent.Params unused) {
         final BytesRef scratch = new BytesRef();
@@ -164,6 +226,12 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
             });
         }
         return Iterators.concat(ChunkedToXContentHelper.startObject(), ChunkedToXContentHelper.singleChunk((builder, params) -> {
+            if (isAsync) {
+                if (asyncExecutionId != null) {
+                    builder.field("id", asyncExecutionId);
+                }
+                builder.field("is_running", isRunning);
+            }
             builder.startArray("columns");
             for (ColumnInfo col : columns) {
                 col.toXContent(builder, params);
@@ -188,12 +256,22 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         EsqlQueryResponse that = (EsqlQueryResponse) o;
         return Objects.equals(columns, that.columns)
             && columnar == that.columnar
+            && Objects.equals(asyncExecutionId, that.asyncExecutionId)
+            && isRunning == that.isRunning
+            && isAsync == that.isAsync
             && Iterators.equals(values(), that.values(), (row1, row2) -> Iterators.equals(row1, row2, Objects::equals));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(columns, Iterators.hashCode(values(), row -> Iterators.hashCode(row, Objects::hashCode)), columnar);
+        return Objects.hash(
+            columns,
+            Iterators.hashCode(values(), row -> Iterators.hashCode(row, Objects::hashCode)),
+            columnar,
+            asyncExecutionId,
+            isRunning,
+            isAsync
+        );
     }
 
     @Override
@@ -201,8 +279,35 @@ public class EsqlQueryResponse extends ActionResponse implements ChunkedToXConte
         return Strings.toString(ChunkedToXContent.wrapAsToXContent(this));
     }
 
+    @Override
+    public void incRef() {
+        refCounted.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted.hasReferences();
+    }
+
+    /**
+     * Release this reference to the response.
+     */
     @Override
     public void close() {
+        decRef();
+    }
+
+    private void closeInternal() {
         Releasables.close(() -> Iterators.map(pages.iterator(), p -> p::releaseBlocks));
     }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.action;
+
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.xpack.core.async.AsyncExecutionId;
+import org.elasticsearch.xpack.core.async.StoredAsyncTask;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The task for an ES|QL query started with {@code POST _query/async}.
+ */
+public class EsqlQueryTask extends StoredAsyncTask<EsqlQueryResponse> {
+    private final boolean columnar;
+
+    public EsqlQueryTask(
+        long id,
+        String type,
+        String action,
+        String description,
+        TaskId parentTaskId,
+        Map<String, String> headers,
+        Map<String, String> originHeaders,
+        AsyncExecutionId asyncExecutionId,
+        TimeValue keepAlive,
+        boolean columnar
+    ) {
+        super(id, type, action, description, parentTaskId, headers, originHeaders, asyncExecutionId, keepAlive);
+        this.columnar = columnar;
+    }
+
+    @Override
+    public EsqlQueryResponse getCurrentResult() {
+        // Like eql we never keep results in the task. We unregister the task as soon as the results are ready
+        // so if the task is still present the query is still running.
+        return new EsqlQueryResponse(List.of(), List.of(), columnar, getExecutionId().getEncoded(), true, true);
+    }
+}
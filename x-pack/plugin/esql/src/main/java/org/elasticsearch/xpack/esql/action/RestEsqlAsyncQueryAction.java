@@ -0,0 +1,66 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.action;
+
+import org.elasticsearch.client.internal.node.NodeClient;
+import org.elasticsearch.logging.LogManager;
+import org.elasticsearch.logging.Logger;
+import org.elasticsearch.rest.BaseRestHandler;
+import org.elasticsearch.rest.RestRequest;
+import org.elasticsearch.xcontent.XContentParser;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.elasticsearch.rest.RestRequest.Method.POST;
+import static org.elasticsearch.xpack.esql.formatter.TextFormat.URL_PARAM_DELIMITER;
+
+/**
+ * Starts an ES|QL query that stores its results in the async results index if
+ * it doesn't finish within its {@code wait_for_completion_timeout}.
+ */
+public class RestEsqlAsyncQueryAction extends BaseRestHandler {
+    private static final Logger LOGGER = LogManager.getLogger(RestEsqlAsyncQueryAction.class);
+
+    @Override
+    public String getName() {
+        return "esql_async_query";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(POST, "/_query/async"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        EsqlQueryRequest esqlRequest;
+        try (XContentParser parser = request.contentOrSourceParamParser()) {
+            esqlRequest = EsqlQueryRequest.fromXContentAsync(parser);
+        }
+
+        LOGGER.info("Beginning execution of async ESQL query.\nQuery string: [{}]", esqlRequest.query());
+
+        /*
+         * We don't cancel the query when the http channel closes because
+         * the whole point of async queries is that they outlive the request.
+         */
+        return channel -> client.execute(
+            EsqlQueryAction.INSTANCE,
+            esqlRequest,
+            new EsqlResponseListener(channel, request, esqlRequest).wrapWithLogging()
+        );
+    }
+
+    @Override
+    protected Set<String> responseParams() {
+        return Collections.singleton(URL_PARAM_DELIMITER);
+    }
+}
@@ -152,7 +152,7 @@ public class Verifier {
 
         // gather metrics
         if (failures.isEmpty()) {
-            gatherMetrics(plan);
+            recordFeatures(gatherMetrics(plan));
         }
 
         return failures;
@@ -259,7 +259,10 @@ public class Verifier {
         });
     }
 
-    private void gatherMetrics(LogicalPlan plan) {
+    /**
+     * The {@link FeatureMetric}s used by a plan, indexed by ordinal.
+     */
+    public static BitSet gatherMetrics(LogicalPlan plan) {
         BitSet b = new BitSet(FeatureMetric.values().length);
         plan.forEachDown(p -> {
             if (p instanceof Dissect) {
@@ -278,6 +281,14 @@ public class Verifier {
                 b.set(WHERE.ordinal());
             }
         });
+        return b;
+    }
+
+    /**
+     * Count the usage of features returned by {@link #gatherMetrics}. Queries
+     * planned from the cache call this directly because they skip verification.
+     */
+    public void recordFeatures(BitSet b) {
         for (int i = b.nextSetBit(0); i >= 0; i = b.nextSetBit(i + 1)) {
             metrics.inc(FeatureMetric.values()[i]);
         }
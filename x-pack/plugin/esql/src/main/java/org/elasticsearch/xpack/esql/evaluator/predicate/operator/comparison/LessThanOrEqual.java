@@ -8,6 +8,12 @@ package org.elasticsearch.xpack.esql.evaluator.predicate.operator.comparison;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.compute.ann.Evaluator;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.BooleanVector;
+import org.elasticsearch.compute.data.DoubleVector;
+import org.elasticsearch.compute.data.IntVector;
+import org.elasticsearch.compute.data.LongVector;
+import org.elasticsearch.compute.data.SimdOperations;
 import org.elasticsearch.xpack.esql.expression.EsqlTypeResolutions;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.TypeResolutions;
@@ -54,21 +60,33 @@ public class LessThanOrEqual extends org.elasticsearch.xpack.ql.expression.predi
         return new GreaterThanOrEqual(source(), left(), right(), zoneId());
     }
 
-    @Evaluator(extraName = "Ints")
+    @Evaluator(extraName = "Ints", vectorized = "vectorizedInts")
     static boolean processInts(int lhs, int rhs) {
         return lhs <= rhs;
     }
 
-    @Evaluator(extraName = "Longs")
+    static BooleanVector vectorizedInts(int positionCount, IntVector lhs, IntVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.compareInts(SimdOperations.Comparison.LTE, positionCount, lhs, rhs, blockFactory);
+    }
+
+    @Evaluator(extraName = "Longs", vectorized = "vectorizedLongs")
     static boolean processLongs(long lhs, long rhs) {
         return lhs <= rhs;
     }
 
-    @Evaluator(extraName = "Doubles")
+    static BooleanVector vectorizedLongs(int positionCount, LongVector lhs, LongVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.compareLongs(SimdOperations.Comparison.LTE, positionCount, lhs, rhs, blockFactory);
+    }
+
+    @Evaluator(extraName = "Doubles", vectorized = "vectorizedDoubles")
     static boolean processDoubles(double lhs, double rhs) {
         return lhs <= rhs;
     }
 
+    static BooleanVector vectorizedDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.compareDoubles(SimdOperations.Comparison.LTE, positionCount, lhs, rhs, blockFactory);
+    }
+
     @Evaluator(extraName = "Keywords")
     static boolean processKeywords(BytesRef lhs, BytesRef rhs) {
         return lhs.compareTo(rhs) <= 0;
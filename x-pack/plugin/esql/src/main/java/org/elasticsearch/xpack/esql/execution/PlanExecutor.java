@@ -19,6 +19,7 @@ import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
 import org.elasticsearch.xpack.esql.planner.Mapper;
 import org.elasticsearch.xpack.esql.session.EsqlConfiguration;
 import org.elasticsearch.xpack.esql.session.EsqlSession;
+import org.elasticsearch.xpack.esql.session.PlanCache;
 import org.elasticsearch.xpack.esql.stats.Metrics;
 import org.elasticsearch.xpack.esql.stats.QueryMetric;
 import org.elasticsearch.xpack.ql.expression.function.FunctionRegistry;
@@ -34,9 +35,15 @@ public class PlanExecutor {
     private final Mapper mapper;
     private final Metrics metrics;
     private final Verifier verifier;
+    private final PlanCache planCache;
 
     public PlanExecutor(IndexResolver indexResolver) {
+        this(indexResolver, new PlanCache(0, null));
+    }
+
+    public PlanExecutor(IndexResolver indexResolver, PlanCache planCache) {
         this.indexResolver = indexResolver;
+        this.planCache = planCache;
         this.preAnalyzer = new PreAnalyzer();
         this.functionRegistry = new EsqlFunctionRegistry();
         this.mapper = new Mapper(functionRegistry);
@@ -60,7 +67,8 @@ public class PlanExecutor {
             functionRegistry,
             new LogicalPlanOptimizer(new LogicalOptimizerContext(cfg)),
             mapper,
-            verifier
+            verifier,
+            planCache
         );
         QueryMetric clientId = QueryMetric.fromString("rest");
         metrics.total(clientId);
@@ -78,4 +86,8 @@ public class PlanExecutor {
     public Metrics metrics() {
         return this.metrics;
     }
+
+    public PlanCache planCache() {
+        return planCache;
+    }
 }
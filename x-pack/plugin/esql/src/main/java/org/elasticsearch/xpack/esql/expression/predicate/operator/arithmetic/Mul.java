@@ -8,6 +8,9 @@
 package org.elasticsearch.xpack.esql.expression.predicate.operator.arithmetic;
 
 import org.elasticsearch.compute.ann.Evaluator;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.DoubleVector;
+import org.elasticsearch.compute.data.SimdOperations;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.predicate.operator.arithmetic.BinaryComparisonInversible;
 import org.elasticsearch.xpack.ql.tree.NodeInfo;
@@ -91,9 +94,13 @@ public class Mul extends EsqlArithmeticOperation implements BinaryComparisonInve
         return unsignedLongMultiplyExact(lhs, rhs);
     }
 
-    @Evaluator(extraName = "Doubles")
+    @Evaluator(extraName = "Doubles", vectorized = "vectorizedDoubles")
     static double processDoubles(double lhs, double rhs) {
         return lhs * rhs;
     }
 
+    static DoubleVector vectorizedDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.mulDoubles(positionCount, lhs, rhs, blockFactory);
+    }
+
 }
@@ -9,6 +9,11 @@ package org.elasticsearch.xpack.esql.expression.predicate.operator.arithmetic;
 
 import org.elasticsearch.compute.ann.Evaluator;
 import org.elasticsearch.compute.ann.Fixed;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.DoubleVector;
+import org.elasticsearch.compute.data.IntVector;
+import org.elasticsearch.compute.data.LongVector;
+import org.elasticsearch.compute.data.SimdOperations;
 import org.elasticsearch.xpack.esql.type.EsqlDataTypes;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.predicate.operator.arithmetic.BinaryComparisonInversible;
@@ -78,26 +83,38 @@ public class Sub extends DateTimeArithmeticOperation implements BinaryComparison
         return Add::new;
     }
 
-    @Evaluator(extraName = "Ints", warnExceptions = { ArithmeticException.class })
+    @Evaluator(extraName = "Ints", warnExceptions = { ArithmeticException.class }, vectorized = "vectorizedInts")
     static int processInts(int lhs, int rhs) {
         return Math.subtractExact(lhs, rhs);
     }
 
-    @Evaluator(extraName = "Longs", warnExceptions = { ArithmeticException.class })
+    static IntVector vectorizedInts(int positionCount, IntVector lhs, IntVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.subInts(positionCount, lhs, rhs, blockFactory);
+    }
+
+    @Evaluator(extraName = "Longs", warnExceptions = { ArithmeticException.class }, vectorized = "vectorizedLongs")
     static long processLongs(long lhs, long rhs) {
         return Math.subtractExact(lhs, rhs);
     }
 
+    static LongVector vectorizedLongs(int positionCount, LongVector lhs, LongVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.subLongs(positionCount, lhs, rhs, blockFactory);
+    }
+
     @Evaluator(extraName = "UnsignedLongs", warnExceptions = { ArithmeticException.class })
     static long processUnsignedLongs(long lhs, long rhs) {
         return unsignedLongSubtractExact(lhs, rhs);
     }
 
-    @Evaluator(extraName = "Doubles")
+    @Evaluator(extraName = "Doubles", vectorized = "vectorizedDoubles")
     static double processDoubles(double lhs, double rhs) {
         return lhs - rhs;
     }
 
+    static DoubleVector vectorizedDoubles(int positionCount, DoubleVector lhs, DoubleVector rhs, BlockFactory blockFactory) {
+        return SimdOperations.subDoubles(positionCount, lhs, rhs, blockFactory);
+    }
+
     @Evaluator(extraName = "Datetimes", warnExceptions = { ArithmeticException.class, DateTimeException.class })
     static long processDatetimes(long datetime, @Fixed TemporalAmount temporalAmount) {
         // using a UTC conversion since `datetime` is always a UTC-Epoch timestamp, either read from ES or converted through a function
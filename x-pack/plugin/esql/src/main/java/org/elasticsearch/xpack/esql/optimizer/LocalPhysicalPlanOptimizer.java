@@ -21,11 +21,13 @@ import org.elasticsearch.xpack.esql.plan.physical.EsQueryExec;
 import org.elasticsearch.xpack.esql.plan.physical.EsSourceExec;
 import org.elasticsearch.xpack.esql.plan.physical.EsStatsQueryExec;
 import org.elasticsearch.xpack.esql.plan.physical.EsStatsQueryExec.Stat;
+import org.elasticsearch.xpack.esql.plan.physical.EvalExec;
 import org.elasticsearch.xpack.esql.plan.physical.ExchangeExec;
 import org.elasticsearch.xpack.esql.plan.physical.FieldExtractExec;
 import org.elasticsearch.xpack.esql.plan.physical.FilterExec;
 import org.elasticsearch.xpack.esql.plan.physical.LimitExec;
 import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.esql.plan.physical.RegexExtractExec;
 import org.elasticsearch.xpack.esql.plan.physical.TopNExec;
 import org.elasticsearch.xpack.esql.plan.physical.UnaryExec;
 import org.elasticsearch.xpack.esql.planner.AbstractPhysicalOperationProviders;
@@ -36,6 +38,7 @@ import org.elasticsearch.xpack.ql.common.Failure;
 import org.elasticsearch.xpack.ql.expression.Alias;
 import org.elasticsearch.xpack.ql.expression.Attribute;
 import org.elasticsearch.xpack.ql.expression.AttributeMap;
+import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.Expressions;
 import org.elasticsearch.xpack.ql.expression.FieldAttribute;
@@ -55,6 +58,7 @@ import org.elasticsearch.xpack.ql.planner.QlTranslatorHandler;
 import org.elasticsearch.xpack.ql.querydsl.query.Query;
 import org.elasticsearch.xpack.ql.rule.ParameterizedRuleExecutor;
 import org.elasticsearch.xpack.ql.rule.Rule;
+import org.elasticsearch.xpack.ql.type.DataTypes;
 import org.elasticsearch.xpack.ql.util.Queries;
 import org.elasticsearch.xpack.ql.util.Queries.Clause;
 import org.elasticsearch.xpack.ql.util.StringUtils;
@@ -99,6 +103,7 @@ public class LocalPhysicalPlanOptimizer extends ParameterizedRuleExecutor<Physic
     protected List<Batch<PhysicalPlan>> rules(boolean optimizeForEsSource) {
         List<Rule<?, PhysicalPlan>> esSourceRules = new ArrayList<>(4);
         esSourceRules.add(new ReplaceAttributeSourceWithDocId());
+        esSourceRules.add(new PushTopNBelowEval());
 
         if (optimizeForEsSource) {
             esSourceRules.add(new PushTopNToSource());
@@ -152,10 +157,12 @@ public class LocalPhysicalPlanOptimizer extends ParameterizedRuleExecutor<Physic
 
                 /*
                  * If there is a single grouping then we'll try to use ords. Either way
-                 * it loads the field lazily. If we have more than one field we need to
-                 * make sure the fields are loaded for the standard hash aggregator.
+                 * it loads the field lazily. If we have more than one field we can only
+                 * use ords if they are all keyword fields that haven't been loaded yet.
+                 * Otherwise we need to make sure the fields are loaded for the standard
+                 * hash aggregator.
                  */
-                if (p instanceof AggregateExec agg && agg.groupings().size() == 1) {
+                if (p instanceof AggregateExec agg && agg.groupings().isEmpty() == false) {
                     var leaves = new LinkedList<>();
                     // TODO: this seems out of place
                     agg.aggregates()
@@ -163,7 +170,9 @@ public class LocalPhysicalPlanOptimizer extends ParameterizedRuleExecutor<Physic
                         .filter(a -> agg.groupings().contains(a) == false)
                         .forEach(a -> leaves.addAll(a.collectLeaves()));
                     var remove = agg.groupings().stream().filter(g -> leaves.contains(g) == false).toList();
-                    missing.removeAll(Expressions.references(remove));
+                    if (agg.groupings().size() == 1 || canGroupOnOrdinals(agg.groupings(), remove, missing)) {
+                        missing.removeAll(Expressions.references(remove));
+                    }
                 }
 
                 // add extractor
@@ -179,6 +188,28 @@ public class LocalPhysicalPlanOptimizer extends ParameterizedRuleExecutor<Physic
             return plan;
         }
 
+        /**
+         * Can we group on many fields using their ordinals? That requires every
+         * grouping to be a {@code keyword} field that we'd otherwise have to load.
+         */
+        private static boolean canGroupOnOrdinals(
+            List<? extends Expression> groupings,
+            List<? extends Expression> remove,
+            Set<Attribute> missing
+        ) {
+            if (remove.size() != groupings.size()) {
+                return false;
+            }
+            for (Expression grouping : groupings) {
+                if (grouping instanceof FieldAttribute == false
+                    || grouping.dataType() != DataTypes.KEYWORD
+                    || missing.contains(grouping) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private static Set<Attribute> missingAttributes(PhysicalPlan p) {
             var missing = new LinkedHashSet<Attribute>();
             var input = p.inputSet();
@@ -281,6 +312,35 @@ public class LocalPhysicalPlanOptimizer extends ParameterizedRuleExecutor<Physic
         }
     }
 
+    /**
+     * Runs the {@link TopNExec} before any {@link EvalExec} or {@link RegexExtractExec} that doesn't
+     * produce one of the sort keys. The logical plan moves those below the sort so it can combine the
+     * sort with the limit, but then they run on every row and load every field they need for every row.
+     * Sorting first means they only run for the rows that survive the {@link TopNExec}, field extraction
+     * loads their inputs for just those rows, and the {@link TopNExec} can be pushed to the source.
+     */
+    private static class PushTopNBelowEval extends OptimizerRule<TopNExec> {
+        @Override
+        protected PhysicalPlan rule(TopNExec topNExec) {
+            List<Attribute> produced;
+            if (topNExec.child() instanceof EvalExec eval) {
+                produced = Expressions.asAttributes(eval.fields());
+            } else if (topNExec.child() instanceof RegexExtractExec extract) {
+                produced = extract.extractedFields();
+            } else {
+                return topNExec;
+            }
+            AttributeSet sortKeys = Expressions.references(topNExec.order());
+            for (Attribute attribute : produced) {
+                if (sortKeys.contains(attribute)) {
+                    return topNExec;
+                }
+            }
+            UnaryExec unary = (UnaryExec) topNExec.child();
+            return unary.replaceChild(topNExec.replaceChild(unary.child()));
+        }
+    }
+
     private static class PushTopNToSource extends OptimizerRule<TopNExec> {
         @Override
         protected PhysicalPlan rule(TopNExec topNExec) {
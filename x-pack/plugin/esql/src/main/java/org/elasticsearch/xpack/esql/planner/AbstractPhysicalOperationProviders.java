@@ -144,13 +144,13 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
                 s -> aggregatorFactories.add(s.supplier.groupingAggregatorFactory(s.mode))
             );
 
-            if (groupSpecs.size() == 1 && groupSpecs.get(0).channel == null) {
+            if (groupSpecs.stream().allMatch(g -> g.channel == null)) {
                 operatorFactory = ordinalGroupingOperatorFactory(
                     source,
                     aggregateExec,
                     aggregatorFactories,
-                    groupSpecs.get(0).attribute,
-                    groupSpecs.get(0).elementType(),
+                    groupSpecs.stream().map(GroupSpec::attribute).toList(),
+                    groupSpecs.stream().map(GroupSpec::elementType).toList(),
                     context
                 );
             } else {
@@ -306,14 +306,15 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
     }
 
     /**
-     * Build a grouping operator that operates on ordinals if possible.
+     * Build a grouping operator that operates on ordinals if possible. The
+     * grouping fields haven't been loaded so the operator has to load them.
      */
     public abstract Operator.OperatorFactory ordinalGroupingOperatorFactory(
         PhysicalOperation source,
         AggregateExec aggregateExec,
         List<GroupingAggregator.Factory> aggregatorFactories,
-        Attribute attrSource,
-        ElementType groupType,
+        List<Attribute> attrSources,
+        List<ElementType> groupTypes,
         LocalExecutionPlannerContext context
     );
 }
@@ -17,6 +17,7 @@ import org.elasticsearch.compute.lucene.LuceneOperator;
 import org.elasticsearch.compute.lucene.LuceneSourceOperator;
 import org.elasticsearch.compute.lucene.LuceneTopNSourceOperator;
 import org.elasticsearch.compute.lucene.ValuesSourceReaderOperator;
+import org.elasticsearch.compute.operator.MultiKeyOrdinalsGroupingOperator;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.OrdinalsGroupingOperator;
 import org.elasticsearch.index.mapper.BlockDocValuesReader;
@@ -164,17 +165,39 @@ public class EsPhysicalOperationProviders extends AbstractPhysicalOperationProvi
         LocalExecutionPlanner.PhysicalOperation source,
         AggregateExec aggregateExec,
         List<GroupingAggregator.Factory> aggregatorFactories,
-        Attribute attrSource,
-        ElementType groupElementType,
+        List<Attribute> attrSources,
+        List<ElementType> groupElementTypes,
         LocalExecutionPlannerContext context
     ) {
         var sourceAttribute = FieldExtractExec.extractSourceAttributesFrom(aggregateExec.child());
         int docChannel = source.layout.get(sourceAttribute.id()).channel();
+        if (attrSources.size() > 1) {
+            List<MultiKeyOrdinalsGroupingOperator.GroupingField> groupings = new ArrayList<>(attrSources.size());
+            for (int i = 0; i < attrSources.size(); i++) {
+                Attribute attrSource = attrSources.get(i);
+                boolean unsupported = EsqlDataTypes.isUnsupported(attrSource.dataType());
+                groupings.add(
+                    new MultiKeyOrdinalsGroupingOperator.GroupingField(
+                        attrSource.name(),
+                        BlockReaderFactories.factories(searchContexts, attrSource.name(), unsupported),
+                        groupElementTypes.get(i)
+                    )
+                );
+            }
+            return new MultiKeyOrdinalsGroupingOperator.MultiKeyOrdinalsGroupingOperatorFactory(
+                groupings,
+                docChannel,
+                aggregatorFactories,
+                context.pageSize(aggregateExec.estimatedRowSize()),
+                context.bigArrays()
+            );
+        }
+        Attribute attrSource = attrSources.get(0);
         // The grouping-by values are ready, let's group on them directly.
         // Costin: why are they ready and not already exposed in the layout?
         return new OrdinalsGroupingOperator.OrdinalsGroupingOperatorFactory(
             BlockReaderFactories.factories(searchContexts, attrSource.name(), EsqlDataTypes.isUnsupported(attrSource.dataType())),
-            groupElementType,
+            groupElementTypes.get(0),
             docChannel,
             attrSource.name(),
             aggregatorFactories,
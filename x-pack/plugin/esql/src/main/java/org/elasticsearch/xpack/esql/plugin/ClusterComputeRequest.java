@@ -0,0 +1,168 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.plugin;
+
+import org.elasticsearch.action.IndicesRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.transport.TransportRequest;
+import org.elasticsearch.xpack.esql.io.stream.PlanNameRegistry;
+import org.elasticsearch.xpack.esql.io.stream.PlanStreamInput;
+import org.elasticsearch.xpack.esql.io.stream.PlanStreamOutput;
+import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.esql.session.EsqlConfiguration;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A request to run the data node part of a plan on a remote cluster. The node
+ * receiving it acts as the coordinator for the data nodes of its own cluster,
+ * sending their intermediate {@link org.elasticsearch.compute.data.Page}s back
+ * to the cluster that received the query.
+ */
+final class ClusterComputeRequest extends TransportRequest implements IndicesRequest {
+    private static final PlanNameRegistry planNameRegistry = new PlanNameRegistry();
+    private final String clusterAlias;
+    private final String sessionId;
+    private final EsqlConfiguration configuration;
+    private final PhysicalPlan plan;
+    private final String[] concreteIndices;
+    private final String[] originalIndices;
+
+    /**
+     * @param clusterAlias    the alias of the remote cluster as seen from the cluster that received the query
+     * @param sessionId       the id of the exchange the remote cluster sends its pages to
+     * @param configuration   the configuration of the query
+     * @param plan            the data node plan
+     * @param concreteIndices the concrete indices to run the plan against, without the cluster prefix
+     * @param originalIndices the index patterns in the query, without the cluster prefix
+     */
+    ClusterComputeRequest(
+        String clusterAlias,
+        String sessionId,
+        EsqlConfiguration configuration,
+        PhysicalPlan plan,
+        String[] concreteIndices,
+        String[] originalIndices
+    ) {
+        this.clusterAlias = clusterAlias;
+        this.sessionId = sessionId;
+        this.configuration = configuration;
+        this.plan = plan;
+        this.concreteIndices = concreteIndices;
+        this.originalIndices = originalIndices;
+    }
+
+    ClusterComputeRequest(StreamInput in) throws IOException {
+        super(in);
+        this.clusterAlias = in.readString();
+        this.sessionId = in.readString();
+        this.configuration = new EsqlConfiguration(in);
+        this.plan = new PlanStreamInput(in, planNameRegistry, in.namedWriteableRegistry(), configuration).readPhysicalPlanNode();
+        this.concreteIndices = in.readStringArray();
+        this.originalIndices = in.readStringArray();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(clusterAlias);
+        out.writeString(sessionId);
+        configuration.writeTo(out);
+        new PlanStreamOutput(out, planNameRegistry).writePhysicalPlanNode(plan);
+        out.writeStringArray(concreteIndices);
+        out.writeStringArray(originalIndices);
+    }
+
+    @Override
+    public String[] indices() {
+        return originalIndices;
+    }
+
+    @Override
+    public IndicesOptions indicesOptions() {
+        return SearchRequest.DEFAULT_INDICES_OPTIONS;
+    }
+
+    @Override
+    public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        if (parentTaskId.isSet() == false) {
+            assert false : "ClusterComputeRequest must have a parent task";
+            throw new IllegalStateException("ClusterComputeRequest must have a parent task");
+        }
+        return new CancellableTask(id, type, action, "", parentTaskId, headers) {
+            @Override
+            public String getDescription() {
+                return ClusterComputeRequest.this.getDescription();
+            }
+        };
+    }
+
+    String clusterAlias() {
+        return clusterAlias;
+    }
+
+    String sessionId() {
+        return sessionId;
+    }
+
+    EsqlConfiguration configuration() {
+        return configuration;
+    }
+
+    PhysicalPlan plan() {
+        return plan;
+    }
+
+    String[] concreteIndices() {
+        return concreteIndices;
+    }
+
+    String[] originalIndices() {
+        return originalIndices;
+    }
+
+    @Override
+    public String getDescription() {
+        return "cluster=" + clusterAlias + " indices=" + Arrays.toString(originalIndices) + " plan=" + plan;
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterComputeRequest{" + getDescription() + "}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClusterComputeRequest request = (ClusterComputeRequest) o;
+        return clusterAlias.equals(request.clusterAlias)
+            && sessionId.equals(request.sessionId)
+            && configuration.equals(request.configuration)
+            && plan.equals(request.plan)
+            && Arrays.equals(concreteIndices, request.concreteIndices)
+            && Arrays.equals(originalIndices, request.originalIndices)
+            && getParentTask().equals(request.getParentTask());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(clusterAlias, sessionId, configuration, plan);
+        result = 31 * result + Arrays.hashCode(concreteIndices);
+        return 31 * result + Arrays.hashCode(originalIndices);
+    }
+}
@@ -7,8 +7,11 @@
 
 package org.elasticsearch.xpack.esql.plugin;
 
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionListenerResponseHandler;
+import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchShardsAction;
 import org.elasticsearch.action.search.SearchShardsGroup;
@@ -52,6 +55,8 @@ import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.RemoteClusterAware;
+import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportChannel;
 import org.elasticsearch.transport.TransportRequestHandler;
 import org.elasticsearch.transport.TransportRequestOptions;
@@ -59,6 +64,8 @@ import org.elasticsearch.transport.TransportResponse;
 import org.elasticsearch.transport.TransportService;
 import org.elasticsearch.xpack.esql.action.EsqlQueryAction;
 import org.elasticsearch.xpack.esql.enrich.EnrichLookupService;
+import org.elasticsearch.xpack.esql.plan.physical.ExchangeSinkExec;
+import org.elasticsearch.xpack.esql.plan.physical.ExchangeSourceExec;
 import org.elasticsearch.xpack.esql.plan.physical.OutputExec;
 import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
 import org.elasticsearch.xpack.esql.planner.EsPhysicalOperationProviders;
@@ -110,6 +117,12 @@ public class ComputeService {
         this.blockFactory = blockFactory;
         this.esqlExecutor = threadPool.executor(ESQL_THREAD_POOL_NAME);
         transportService.registerRequestHandler(DATA_ACTION_NAME, this.esqlExecutor, DataNodeRequest::new, new DataNodeRequestHandler());
+        transportService.registerRequestHandler(
+            CLUSTER_ACTION_NAME,
+            this.esqlExecutor,
+            ClusterComputeRequest::new,
+            new ClusterRequestHandler()
+        );
         this.driverRunner = new DriverTaskRunner(transportService, this.esqlExecutor);
         this.exchangeService = exchangeService;
         this.enrichLookupService = enrichLookupService;
@@ -143,89 +156,210 @@ public class ComputeService {
             runCompute(rootTask, computeContext, coordinatorPlan, listener.map(unused -> collectedPages));
             return;
         }
-        QueryBuilder requestFilter = PlannerUtils.requestFilter(dataNodePlan);
+        // Indices prefixed with a cluster alias live on remote clusters. Each remote cluster plans its own data nodes.
+        var remoteClusterService = transportService.getRemoteClusterService();
+        Map<String, OriginalIndices> clusterToConcreteIndices = remoteClusterService.groupIndices(
+            SearchRequest.DEFAULT_INDICES_OPTIONS,
+            concreteIndices.toArray(String[]::new)
+        );
+        Map<String, OriginalIndices> clusterToOriginalIndices = remoteClusterService.groupIndices(
+            SearchRequest.DEFAULT_INDICES_OPTIONS,
+            PlannerUtils.planOriginalIndices(physicalPlan)
+        );
+        OriginalIndices localConcreteIndices = clusterToConcreteIndices.remove(RemoteClusterAware.LOCAL_CLUSTER_GROUP_KEY);
+        OriginalIndices localOriginalIndices = clusterToOriginalIndices.remove(RemoteClusterAware.LOCAL_CLUSTER_GROUP_KEY);
 
-        LOGGER.debug("Sending data node plan\n{}\n with filter [{}]", dataNodePlan, requestFilter);
+        final ExchangeSourceHandler exchangeSource = exchangeService.createSourceHandler(
+            sessionId,
+            queryPragmas.exchangeBufferSize(),
+            ESQL_THREAD_POOL_NAME
+        );
+        try (
+            Releasable ignored = exchangeSource::decRef;
+            RefCountingListener requestRefs = new RefCountingListener(listener.map(unused -> collectedPages))
+        ) {
+            final AtomicBoolean cancelled = new AtomicBoolean();
+            // wait until the source handler is completed
+            exchangeSource.addCompletionListener(requestRefs.acquire());
+            // run compute on the coordinator
+            var computeContext = new ComputeContext(sessionId, List.of(), configuration, exchangeSource, null);
+            runCompute(rootTask, computeContext, coordinatorPlan, cancelOnFailure(rootTask, cancelled, requestRefs.acquire()));
+            // TODO: This is wrong, we need to be able to cancel
+            Supplier<ActionListener<Void>> remoteListener = () -> cancelOnFailure(rootTask, cancelled, requestRefs.acquire());
+            try (RefCountingRunnable exchangeRefs = blockUntilSinksLinked(exchangeSource)) {
+                // run compute on the data nodes of this cluster
+                if (localConcreteIndices != null && localConcreteIndices.indices().length > 0) {
+                    startComputeOnDataNodes(
+                        sessionId,
+                        rootTask,
+                        configuration,
+                        dataNodePlan,
+                        Set.of(localConcreteIndices.indices()),
+                        localOriginalIndices == null ? localConcreteIndices.indices() : localOriginalIndices.indices(),
+                        exchangeSource,
+                        exchangeRefs,
+                        remoteListener
+                    );
+                }
+                // run compute on remote clusters
+                startComputeOnRemoteClusters(
+                    sessionId,
+                    rootTask,
+                    configuration,
+                    dataNodePlan,
+                    exchangeSource,
+                    clusterToConcreteIndices,
+                    clusterToOriginalIndices,
+                    exchangeRefs,
+                    remoteListener
+                );
+            }
+        }
+    }
 
-        String[] originalIndices = PlannerUtils.planOriginalIndices(physicalPlan);
+    /**
+     * Keeps an exchange source open until we've linked all of its remote sinks. Otherwise
+     * it'd complete as soon as the sinks it already has are finished. Acquire a reference
+     * for each sink that's being linked and close the returned {@link RefCountingRunnable}
+     * once all of them have been acquired.
+     */
+    private static RefCountingRunnable blockUntilSinksLinked(ExchangeSourceHandler exchangeSource) {
+        final SubscribableListener<Void> blockingSinkFuture = new SubscribableListener<>();
+        exchangeSource.addRemoteSink(
+            (sourceFinished, l) -> blockingSinkFuture.addListener(l.map(ignored -> new ExchangeResponse(null, true))),
+            1
+        );
+        return new RefCountingRunnable(() -> blockingSinkFuture.onResponse(null));
+    }
+
+    private void startComputeOnDataNodes(
+        String sessionId,
+        CancellableTask parentTask,
+        EsqlConfiguration configuration,
+        PhysicalPlan dataNodePlan,
+        Set<String> concreteIndices,
+        String[] originalIndices,
+        ExchangeSourceHandler exchangeSource,
+        RefCountingRunnable exchangeRefs,
+        Supplier<ActionListener<Void>> listener
+    ) {
+        QueryBuilder requestFilter = PlannerUtils.requestFilter(dataNodePlan);
+        LOGGER.debug("Sending data node plan\n{}\n with filter [{}]", dataNodePlan, requestFilter);
+        var queryPragmas = configuration.pragmas();
+        // hold the exchange open until we've linked the sinks of all target nodes
+        var targetNodesListener = ActionListener.releaseAfter(listener.get(), exchangeRefs.acquire());
         computeTargetNodes(
-            rootTask,
+            parentTask,
             requestFilter,
             concreteIndices,
             originalIndices,
-            listener.delegateFailureAndWrap((delegate, targetNodes) -> {
-                final ExchangeSourceHandler exchangeSource = exchangeService.createSourceHandler(
-                    sessionId,
-                    queryPragmas.exchangeBufferSize(),
-                    ESQL_THREAD_POOL_NAME
-                );
-                try (
-                    Releasable ignored = exchangeSource::decRef;
-                    RefCountingListener requestRefs = new RefCountingListener(delegate.map(unused -> collectedPages))
-                ) {
-                    final AtomicBoolean cancelled = new AtomicBoolean();
-                    // wait until the source handler is completed
-                    exchangeSource.addCompletionListener(requestRefs.acquire());
-                    // run compute on the coordinator
-                    var computeContext = new ComputeContext(sessionId, List.of(), configuration, exchangeSource, null);
-                    runCompute(rootTask, computeContext, coordinatorPlan, cancelOnFailure(rootTask, cancelled, requestRefs.acquire()));
-                    // run compute on remote nodes
-                    // TODO: This is wrong, we need to be able to cancel
-                    runComputeOnRemoteNodes(
+            targetNodesListener.delegateFailureAndWrap((targetNodesDelegate, targetNodes) -> {
+                // For each target node, first open a remote exchange on the remote node, then link the exchange source to
+                // the new remote exchange sink, and initialize the computation on the target node via data-node-request.
+                for (TargetNode targetNode : targetNodes) {
+                    var targetNodeListener = ActionListener.releaseAfter(listener.get(), exchangeRefs.acquire());
+                    ExchangeService.openExchange(
+                        transportService,
+                        targetNode.node(),
                         sessionId,
-                        rootTask,
-                        configuration,
-                        dataNodePlan,
-                        exchangeSource,
-                        targetNodes,
-                        () -> cancelOnFailure(rootTask, cancelled, requestRefs.acquire()).map(unused -> null)
+                        queryPragmas.exchangeBufferSize(),
+                        esqlExecutor,
+                        targetNodeListener.delegateFailureAndWrap((delegate, unused) -> {
+                            var remoteSink = exchangeService.newRemoteSink(parentTask, sessionId, transportService, targetNode.node);
+                            exchangeSource.addRemoteSink(remoteSink, queryPragmas.concurrentExchangeClients());
+                            transportService.sendChildRequest(
+                                targetNode.node,
+                                DATA_ACTION_NAME,
+                                new DataNodeRequest(sessionId, configuration, targetNode.shardIds, targetNode.aliasFilters, dataNodePlan),
+                                parentTask,
+                                TransportRequestOptions.EMPTY,
+                                new ActionListenerResponseHandler<>(delegate.map(r -> null), DataNodeResponse::new, esqlExecutor)
+                            );
+                        })
                     );
                 }
+                targetNodesDelegate.onResponse(null);
             })
         );
     }
 
-    private void runComputeOnRemoteNodes(
+    /**
+     * Send the data node plan to remote clusters. For each cluster, first open an exchange on the
+     * node we're connected to, then link the exchange source to it, and then ask that node to run
+     * the plan on the data nodes of its cluster. It forwards their intermediate pages so those are
+     * all that cross the connection between the clusters.
+     */
+    private void startComputeOnRemoteClusters(
         String sessionId,
         CancellableTask rootTask,
         EsqlConfiguration configuration,
         PhysicalPlan dataNodePlan,
         ExchangeSourceHandler exchangeSource,
-        List<TargetNode> targetNodes,
-        Supplier<ActionListener<DataNodeResponse>> listener
+        Map<String, OriginalIndices> clusterToConcreteIndices,
+        Map<String, OriginalIndices> clusterToOriginalIndices,
+        RefCountingRunnable exchangeRefs,
+        Supplier<ActionListener<Void>> listener
     ) {
-        // Do not complete the exchange sources until we have linked all remote sinks
-        final SubscribableListener<Void> blockingSinkFuture = new SubscribableListener<>();
-        exchangeSource.addRemoteSink(
-            (sourceFinished, l) -> blockingSinkFuture.addListener(l.map(ignored -> new ExchangeResponse(null, true))),
-            1
-        );
-        try (RefCountingRunnable exchangeRefs = new RefCountingRunnable(() -> blockingSinkFuture.onResponse(null))) {
-            // For each target node, first open a remote exchange on the remote node, then link the exchange source to
-            // the new remote exchange sink, and initialize the computation on the target node via data-node-request.
-            for (TargetNode targetNode : targetNodes) {
-                var targetNodeListener = ActionListener.releaseAfter(listener.get(), exchangeRefs.acquire());
-                var queryPragmas = configuration.pragmas();
-                ExchangeService.openExchange(
-                    transportService,
-                    targetNode.node(),
-                    sessionId,
-                    queryPragmas.exchangeBufferSize(),
-                    esqlExecutor,
-                    targetNodeListener.delegateFailureAndWrap((delegate, unused) -> {
-                        var remoteSink = exchangeService.newRemoteSink(rootTask, sessionId, transportService, targetNode.node);
-                        exchangeSource.addRemoteSink(remoteSink, queryPragmas.concurrentExchangeClients());
-                        transportService.sendChildRequest(
-                            targetNode.node,
-                            DATA_ACTION_NAME,
-                            new DataNodeRequest(sessionId, configuration, targetNode.shardIds, targetNode.aliasFilters, dataNodePlan),
-                            rootTask,
-                            TransportRequestOptions.EMPTY,
-                            new ActionListenerResponseHandler<>(delegate, DataNodeResponse::new, esqlExecutor)
+        var queryPragmas = configuration.pragmas();
+        for (Map.Entry<String, OriginalIndices> e : clusterToConcreteIndices.entrySet()) {
+            String clusterAlias = e.getKey();
+            String[] concreteIndices = e.getValue().indices();
+            OriginalIndices originalIndices = clusterToOriginalIndices.get(clusterAlias);
+            var clusterRequest = new ClusterComputeRequest(
+                clusterAlias,
+                sessionId,
+                configuration,
+                dataNodePlan,
+                concreteIndices,
+                originalIndices == null ? concreteIndices : originalIndices.indices()
+            );
+            var clusterListener = ActionListener.releaseAfter(listener.get(), exchangeRefs.acquire());
+            transportService.getRemoteClusterService()
+                .maybeEnsureConnectedAndGetConnection(
+                    clusterAlias,
+                    true,
+                    clusterListener.delegateFailureAndWrap((connectionDelegate, connection) -> {
+                        ensureClusterComputeSupported(clusterAlias, connection);
+                        ExchangeService.openExchange(
+                            transportService,
+                            connection,
+                            sessionId,
+                            queryPragmas.exchangeBufferSize(),
+                            esqlExecutor,
+                            connectionDelegate.delegateFailureAndWrap((delegate, unused) -> {
+                                var remoteSink = exchangeService.newRemoteSink(rootTask, sessionId, transportService, connection);
+                                exchangeSource.addRemoteSink(remoteSink, queryPragmas.concurrentExchangeClients());
+                                transportService.sendChildRequest(
+                                    connection,
+                                    CLUSTER_ACTION_NAME,
+                                    clusterRequest,
+                                    rootTask,
+                                    TransportRequestOptions.EMPTY,
+                                    new ActionListenerResponseHandler<>(delegate.map(r -> null), DataNodeResponse::new, esqlExecutor)
+                                );
+                            })
                         );
                     })
                 );
-            }
+        }
+    }
+
+    /**
+     * Older remote clusters don't have the action that runs a data node plan across clusters or can't read
+     * its request. Fail with a clear message instead of an opaque transport error from the remote cluster.
+     */
+    static void ensureClusterComputeSupported(String clusterAlias, Transport.Connection connection) {
+        TransportVersion version = connection.getTransportVersion();
+        if (version.before(TransportVersions.ESQL_CLUSTER_COMPUTE)) {
+            throw new IllegalArgumentException(
+                "remote cluster ["
+                    + clusterAlias
+                    + "] is on transport version ["
+                    + version
+                    + "] and doesn't support ES|QL queries across clusters, which require ["
+                    + TransportVersions.ESQL_CLUSTER_COMPUTE
+                    + "]"
+            );
         }
     }
 
@@ -418,6 +552,7 @@ public class ComputeService {
 
     // TODO: Use an internal action here
     public static final String DATA_ACTION_NAME = EsqlQueryAction.NAME + "/data";
+    public static final String CLUSTER_ACTION_NAME = EsqlQueryAction.NAME + "/cluster";
 
     private class DataNodeRequestHandler implements TransportRequestHandler<DataNodeRequest> {
         @Override
@@ -445,6 +580,74 @@ public class ComputeService {
         }
     }
 
+    private class ClusterRequestHandler implements TransportRequestHandler<ClusterComputeRequest> {
+        @Override
+        public void messageReceived(ClusterComputeRequest request, TransportChannel channel, Task task) {
+            final var parentTask = (CancellableTask) task;
+            final var sessionId = request.sessionId();
+            final var exchangeSink = exchangeService.getSinkHandler(sessionId);
+            parentTask.addListener(() -> exchangeService.finishSinkHandler(sessionId, new TaskCancelledException("task cancelled")));
+            final ActionListener<Void> listener = new ChannelActionListener<>(channel).map(nullValue -> new DataNodeResponse());
+            runComputeOnRemoteCluster(request, parentTask, exchangeSink, ActionListener.wrap(unused -> {
+                // don't return until all pages are fetched
+                exchangeSink.addCompletionListener(
+                    ActionListener.releaseAfter(listener, () -> exchangeService.finishSinkHandler(sessionId, null))
+                );
+            }, e -> {
+                exchangeService.finishSinkHandler(sessionId, e);
+                listener.onFailure(e);
+            }));
+        }
+    }
+
+    /**
+     * Runs the data node plan on the data nodes of this cluster on behalf of a remote
+     * cluster that received the query. The pages from the data nodes are already
+     * partially aggregated so this node forwards them, unchanged, to the exchange
+     * sink that the querying cluster reads from.
+     */
+    void runComputeOnRemoteCluster(
+        ClusterComputeRequest request,
+        CancellableTask parentTask,
+        ExchangeSinkHandler exchangeSink,
+        ActionListener<Void> listener
+    ) {
+        final var configuration = request.configuration();
+        // The query's session id belongs to the sink we write to so our data nodes need another one
+        final String localSessionId = request.clusterAlias() + ":" + request.sessionId();
+        final ExchangeSourceHandler exchangeSource = exchangeService.createSourceHandler(
+            localSessionId,
+            configuration.pragmas().exchangeBufferSize(),
+            ESQL_THREAD_POOL_NAME
+        );
+        try (Releasable ignored = exchangeSource::decRef; RefCountingListener refs = new RefCountingListener(listener)) {
+            final AtomicBoolean cancelled = new AtomicBoolean();
+            exchangeSource.addCompletionListener(refs.acquire());
+            var sinkExec = (ExchangeSinkExec) request.plan();
+            var reducePlan = new ExchangeSinkExec(
+                sinkExec.source(),
+                sinkExec.output(),
+                sinkExec.isIntermediateAgg(),
+                new ExchangeSourceExec(sinkExec.source(), sinkExec.output(), sinkExec.isIntermediateAgg())
+            );
+            var computeContext = new ComputeContext(localSessionId, List.of(), configuration, exchangeSource, exchangeSink);
+            runCompute(parentTask, computeContext, reducePlan, cancelOnFailure(parentTask, cancelled, refs.acquire()));
+            try (RefCountingRunnable exchangeRefs = blockUntilSinksLinked(exchangeSource)) {
+                startComputeOnDataNodes(
+                    localSessionId,
+                    parentTask,
+                    configuration,
+                    sinkExec,
+                    Set.of(request.concreteIndices()),
+                    request.originalIndices(),
+                    exchangeSource,
+                    exchangeRefs,
+                    () -> cancelOnFailure(parentTask, cancelled, refs.acquire())
+                );
+            }
+        }
+    }
+
     record ComputeContext(
         String sessionId,
         List<SearchContext> searchContexts,
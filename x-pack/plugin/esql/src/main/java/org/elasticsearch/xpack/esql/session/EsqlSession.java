@@ -40,6 +40,7 @@ import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.MetadataAttribute;
 import org.elasticsearch.xpack.ql.expression.UnresolvedStar;
 import org.elasticsearch.xpack.ql.expression.function.FunctionRegistry;
+import org.elasticsearch.xpack.ql.expression.function.scalar.ConfigurationFunction;
 import org.elasticsearch.xpack.ql.index.IndexResolution;
 import org.elasticsearch.xpack.ql.index.IndexResolver;
 import org.elasticsearch.xpack.ql.index.MappingException;
@@ -78,6 +79,7 @@ public class EsqlSession {
 
     private final Mapper mapper;
     private final PhysicalPlanOptimizer physicalPlanOptimizer;
+    private final PlanCache planCache;
 
     public EsqlSession(
         String sessionId,
@@ -88,7 +90,8 @@ public class EsqlSession {
         FunctionRegistry functionRegistry,
         LogicalPlanOptimizer logicalPlanOptimizer,
         Mapper mapper,
-        Verifier verifier
+        Verifier verifier,
+        PlanCache planCache
     ) {
         this.sessionId = sessionId;
         this.configuration = configuration;
@@ -100,6 +103,7 @@ public class EsqlSession {
         this.mapper = mapper;
         this.logicalPlanOptimizer = logicalPlanOptimizer;
         this.physicalPlanOptimizer = new PhysicalPlanOptimizer(new PhysicalOptimizerContext(configuration));
+        this.planCache = planCache;
     }
 
     public String sessionId() {
@@ -108,22 +112,46 @@ public class EsqlSession {
 
     public void execute(EsqlQueryRequest request, ActionListener<PhysicalPlan> listener) {
         LOGGER.debug("ESQL query:\n{}", request.query());
-        optimizedPhysicalPlan(
-            parse(request.query(), request.params()),
-            listener.map(plan -> EstimatesRowSize.estimateRowSize(0, plan.transformUp(FragmentExec.class, f -> {
-                QueryBuilder filter = request.filter();
-                if (filter != null) {
-                    var fragmentFilter = f.esFilter();
-                    // TODO: have an ESFilter and push down to EsQueryExec / EsSource
-                    // This is an ugly hack to push the filter parameter to Lucene
-                    // TODO: filter integration testing
-                    filter = fragmentFilter != null ? boolQuery().filter(fragmentFilter).must(filter) : filter;
-                    LOGGER.debug("Fold filter {} to EsQueryExec", filter);
-                    f = new FragmentExec(f.source(), f.fragment(), filter, f.estimatedRowSize());
-                }
-                return f;
-            })))
-        );
+        LogicalPlan parsed = parse(request.query(), request.params());
+        preAnalyze(parsed, (indices, policies) -> {
+            PlanCache.Key key = planCache.key(request.query(), request.params(), configuration, indices, policies);
+            PlanCache.Entry cached = planCache.get(key);
+            if (cached != null) {
+                LOGGER.debug("Cached physical plan:\n{}", cached.plan());
+                // the cached plan skips the Verifier so we have to count its features here
+                verifier.recordFeatures(cached.features());
+                planCache.addWarnings(cached);
+                return cached.plan();
+            }
+            List<String> warningsBefore = key == null ? null : planCache.warnings();
+            LogicalPlan analyzed = analyze(parsed, indices, policies);
+            PhysicalPlan plan = optimizePhysical(mapToPhysical(optimizeLogical(analyzed)));
+            if (key != null && usesConfiguration(analyzed) == false) {
+                List<String> warnings = planCache.warnings().stream().filter(w -> warningsBefore.contains(w) == false).toList();
+                planCache.put(key, new PlanCache.Entry(plan, Verifier.gatherMetrics(analyzed), warnings));
+            }
+            return plan;
+        }, listener.map(plan -> EstimatesRowSize.estimateRowSize(0, plan.transformUp(FragmentExec.class, f -> {
+            QueryBuilder filter = request.filter();
+            if (filter != null) {
+                var fragmentFilter = f.esFilter();
+                // TODO: have an ESFilter and push down to EsQueryExec / EsSource
+                // This is an ugly hack to push the filter parameter to Lucene
+                // TODO: filter integration testing
+                filter = fragmentFilter != null ? boolQuery().filter(fragmentFilter).must(filter) : filter;
+                LOGGER.debug("Fold filter {} to EsQueryExec", filter);
+                f = new FragmentExec(f.source(), f.fragment(), filter, f.estimatedRowSize());
+            }
+            return f;
+        }))));
+    }
+
+    /**
+     * Does the plan contain the request's configuration? That holds the user
+     * and the time the query was planned so we can't reuse those plans.
+     */
+    private static boolean usesConfiguration(LogicalPlan plan) {
+        return plan.anyMatch(p -> p.expressions().stream().anyMatch(e -> e.anyMatch(ConfigurationFunction.class::isInstance)));
     }
 
     private LogicalPlan parse(String query, List<TypedParamValue> params) {
@@ -138,12 +166,14 @@ public class EsqlSession {
             return;
         }
 
-        preAnalyze(parsed, (indices, policies) -> {
-            Analyzer analyzer = new Analyzer(new AnalyzerContext(configuration, functionRegistry, indices, policies), verifier);
-            var plan = analyzer.analyze(parsed);
-            LOGGER.debug("Analyzed plan:\n{}", plan);
-            return plan;
-        }, listener);
+        preAnalyze(parsed, (indices, policies) -> analyze(parsed, indices, policies), listener);
+    }
+
+    private LogicalPlan analyze(LogicalPlan parsed, IndexResolution indices, EnrichResolution policies) {
+        Analyzer analyzer = new Analyzer(new AnalyzerContext(configuration, functionRegistry, indices, policies), verifier);
+        var plan = analyzer.analyze(parsed);
+        LOGGER.debug("Analyzed plan:\n{}", plan);
+        return plan;
     }
 
     private <T> void preAnalyze(LogicalPlan parsed, BiFunction<IndexResolution, EnrichResolution, T> action, ActionListener<T> listener) {
@@ -287,27 +317,33 @@ public class EsqlSession {
     }
 
     public void optimizedPlan(LogicalPlan logicalPlan, ActionListener<LogicalPlan> listener) {
-        analyzedPlan(logicalPlan, map(listener, p -> {
-            var plan = logicalPlanOptimizer.optimize(p);
-            LOGGER.debug("Optimized logicalPlan plan:\n{}", plan);
-            return plan;
-        }));
+        analyzedPlan(logicalPlan, map(listener, this::optimizeLogical));
+    }
+
+    private LogicalPlan optimizeLogical(LogicalPlan analyzed) {
+        var plan = logicalPlanOptimizer.optimize(analyzed);
+        LOGGER.debug("Optimized logicalPlan plan:\n{}", plan);
+        return plan;
     }
 
     public void physicalPlan(LogicalPlan optimized, ActionListener<PhysicalPlan> listener) {
-        optimizedPlan(optimized, map(listener, p -> {
-            var plan = mapper.map(p);
-            LOGGER.debug("Physical plan:\n{}", plan);
-            return plan;
-        }));
+        optimizedPlan(optimized, map(listener, this::mapToPhysical));
+    }
+
+    private PhysicalPlan mapToPhysical(LogicalPlan optimized) {
+        var plan = mapper.map(optimized);
+        LOGGER.debug("Physical plan:\n{}", plan);
+        return plan;
     }
 
     public void optimizedPhysicalPlan(LogicalPlan logicalPlan, ActionListener<PhysicalPlan> listener) {
-        physicalPlan(logicalPlan, map(listener, p -> {
-            var plan = physicalPlanOptimizer.optimize(p);
-            LOGGER.debug("Optimized physical plan:\n{}", plan);
-            return plan;
-        }));
+        physicalPlan(logicalPlan, map(listener, this::optimizePhysical));
+    }
+
+    private PhysicalPlan optimizePhysical(PhysicalPlan physical) {
+        var plan = physicalPlanOptimizer.optimize(physical);
+        LOGGER.debug("Optimized physical plan:\n{}", plan);
+        return plan;
     }
 
     public static InvalidMappedField specificValidity(String fieldName, Map<String, FieldCapabilities> types) {
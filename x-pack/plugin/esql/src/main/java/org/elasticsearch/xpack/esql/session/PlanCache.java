@@ -0,0 +1,147 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.session;
+
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.xpack.esql.analysis.EnrichResolution;
+import org.elasticsearch.xpack.esql.parser.TypedParamValue;
+import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.esql.plugin.QueryPragmas;
+import org.elasticsearch.xpack.ql.index.IndexResolution;
+
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Node level cache of optimized physical plans. Dashboards send the same
+ * queries over and over, usually only changing the time range in the
+ * request's {@code filter}. The {@code filter} isn't part of the plan so
+ * those requests skip analysis and optimization entirely.
+ * <p>
+ *     Plans depend on the mappings of the indices they read and on the enrich
+ *     policies they use so the key contains the resolved mappings and policies.
+ *     We still resolve them on every request because {@code field_caps} applies
+ *     the user's field level security. Any change to the mappings, the concrete
+ *     indices behind a pattern, or the visible fields makes a new key and the
+ *     stale plans age out as new plans replace them.
+ * </p>
+ * <p>
+ *     Plans are shared by every user so we never cache plans that contain
+ *     the request's {@link EsqlConfiguration}. And analysis and optimization
+ *     can add warnings to the response so we keep them with the plan and add
+ *     them again when we reuse it.
+ * </p>
+ */
+public final class PlanCache {
+    private static final String WARNING_HEADER = "Warning";
+
+    private final Cache<Key, Entry> cache;
+    private final ThreadContext threadContext;
+
+    /**
+     * Build the cache.
+     * @param size maximum number of plans to keep or {@code 0} to disable the cache
+     * @param threadContext the context that holds the warnings of the request being planned, unused if the cache is disabled
+     */
+    public PlanCache(int size, ThreadContext threadContext) {
+        this.cache = size == 0 ? null : CacheBuilder.<Key, Entry>builder().setMaximumWeight(size).build();
+        this.threadContext = threadContext;
+    }
+
+    /**
+     * Build the key for a query or {@code null} if the cache is disabled. The
+     * key contains the query exactly as sent because the plan's
+     * {@link org.elasticsearch.xpack.ql.tree.Source}s point into it, so even a
+     * change in whitespace moves the locations in warnings and errors.
+     */
+    Key key(
+        String query,
+        List<TypedParamValue> params,
+        EsqlConfiguration configuration,
+        IndexResolution indices,
+        EnrichResolution policies
+    ) {
+        if (cache == null) {
+            return null;
+        }
+        return new Key(
+            query,
+            params,
+            configuration.zoneId(),
+            configuration.locale(),
+            configuration.pragmas(),
+            configuration.resultTruncationMaxSize(),
+            configuration.resultTruncationDefaultSize(),
+            indices,
+            policies
+        );
+    }
+
+    Entry get(Key key) {
+        return key == null ? null : cache.get(key);
+    }
+
+    void put(Key key, Entry entry) {
+        if (key != null) {
+            cache.put(key, entry);
+        }
+    }
+
+    /**
+     * The warnings added to the response of the request being planned so far.
+     */
+    List<String> warnings() {
+        return threadContext.getResponseHeaders().getOrDefault(WARNING_HEADER, List.of());
+    }
+
+    /**
+     * Add the warnings that planning the cached plan added to the response
+     * of the request being planned.
+     */
+    void addWarnings(Entry entry) {
+        for (String warning : entry.warnings()) {
+            threadContext.addResponseHeader(WARNING_HEADER, warning);
+        }
+    }
+
+    /**
+     * The number of cached plans.
+     */
+    public int count() {
+        return cache == null ? 0 : cache.count();
+    }
+
+    /**
+     * Everything the optimized physical plan depends on. Notably this doesn't
+     * contain {@link EsqlConfiguration#now()} or the user so we never cache
+     * plans that contain the configuration.
+     */
+    record Key(
+        String query,
+        List<TypedParamValue> params,
+        ZoneId zoneId,
+        Locale locale,
+        QueryPragmas pragmas,
+        int resultTruncationMaxSize,
+        int resultTruncationDefaultSize,
+        IndexResolution indices,
+        EnrichResolution policies
+    ) {}
+
+    /**
+     * A cached plan.
+     * @param plan the optimized physical plan, before applying the request's {@code filter}
+     * @param features the features the query uses, for the usage metrics
+     * @param warnings the warnings analysis and optimization added to the response
+     */
+    record Entry(PhysicalPlan plan, BitSet features, List<String> warnings) {}
+}
@@ -73,6 +73,60 @@ public class EsqlQueryRequestTests extends ESTestCase {
         }
     }
 
+    public void testParseFieldsForAsync() throws IOException {
+        String query = randomAlphaOfLengthBetween(1, 100);
+        boolean columnar = randomBoolean();
+        TimeValue waitForCompletionTimeout = TimeValue.parseTimeValue(randomTimeValue(), "test");
+        TimeValue keepAlive = TimeValue.parseTimeValue(randomTimeValue(), "test");
+        boolean keepOnCompletion = randomBoolean();
+        String json = String.format(Locale.ROOT, """
+            {
+                "query": "%s",
+                "columnar": %s,
+                "wait_for_completion_timeout": "%s",
+                "keep_alive": "%s",
+                "keep_on_completion": %s
+            }""", query, columnar, waitForCompletionTimeout.getStringRep(), keepAlive.getStringRep(), keepOnCompletion);
+
+        EsqlQueryRequest request = parseEsqlQueryRequestAsync(json);
+
+        assertTrue(request.async());
+        assertEquals(query, request.query());
+        assertEquals(columnar, request.columnar());
+        assertEquals(waitForCompletionTimeout, request.waitForCompletionTimeout());
+        assertEquals(keepAlive, request.keepAlive());
+        assertEquals(keepOnCompletion, request.keepOnCompletion());
+    }
+
+    public void testAsyncDefaults() throws IOException {
+        EsqlQueryRequest request = parseEsqlQueryRequestAsync("""
+            {
+                "query": "foo"
+            }""");
+        assertTrue(request.async());
+        assertEquals(EsqlQueryRequest.DEFAULT_WAIT_FOR_COMPLETION_TIMEOUT, request.waitForCompletionTimeout());
+        assertEquals(EsqlQueryRequest.DEFAULT_KEEP_ALIVE, request.keepAlive());
+        assertFalse(request.keepOnCompletion());
+    }
+
+    public void testShortKeepAliveIsValidationError() throws IOException {
+        EsqlQueryRequest request = parseEsqlQueryRequestAsync("""
+            {
+                "query": "foo",
+                "keep_alive": "30s"
+            }""");
+        assertNotNull(request.validate());
+        assertThat(request.validate().getMessage(), containsString("[keep_alive] must be greater than 1 minute, got:30s"));
+    }
+
+    public void testRejectAsyncFieldsInSyncRequest() {
+        assertParserErrorMessage("""
+            {
+                "query": "foo",
+                "keep_on_completion": true
+            }""", "unknown field [keep_on_completion]");
+    }
+
     public void testRejectUnknownFields() {
         assertParserErrorMessage("""
             {
@@ -198,6 +252,16 @@ public class EsqlQueryRequestTests extends ESTestCase {
         }
     }
 
+    private static EsqlQueryRequest parseEsqlQueryRequestAsync(String json) throws IOException {
+        SearchModule searchModule = new SearchModule(Settings.EMPTY, Collections.emptyList());
+        XContentParserConfiguration config = XContentParserConfiguration.EMPTY.withRegistry(
+            new NamedXContentRegistry(searchModule.getNamedXContents())
+        );
+        try (XContentParser parser = XContentType.JSON.xContent().createParser(config, json)) {
+            return EsqlQueryRequest.fromXContentAsync(parser);
+        }
+    }
+
     private static QueryBuilder randomQueryBuilder() {
         return randomFrom(
             new TermQueryBuilder(randomAlphaOfLength(5), randomAlphaOfLengthBetween(1, 10)),
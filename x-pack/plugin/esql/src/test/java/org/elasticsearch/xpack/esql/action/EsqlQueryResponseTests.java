@@ -44,6 +44,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class EsqlQueryResponseTests extends AbstractChunkedSerializingTestCase<EsqlQueryResponse> {
     private BlockFactory blockFactory;
@@ -68,19 +69,27 @@ public class EsqlQueryResponseTests extends AbstractChunkedSerializingTestCase<E
     protected EsqlQueryResponse createXContextTestInstance(XContentType xContentType) {
         // columnar param can't be different from the default value (false) since the EsqlQueryResponse will be serialized (by some random
         // XContentType, not to a StreamOutput) and parsed back, which doesn't preserve columnar field's value.
-        return randomResponse(false);
+        return randomResponse(false, false);
     }
 
     @Override
     protected EsqlQueryResponse createTestInstance() {
-        return randomResponse(randomBoolean());
+        return randomResponse(randomBoolean(), randomBoolean());
     }
 
     EsqlQueryResponse randomResponse(boolean columnar) {
+        return randomResponse(columnar, false);
+    }
+
+    EsqlQueryResponse randomResponse(boolean columnar, boolean async) {
         int noCols = randomIntBetween(1, 10);
         List<ColumnInfo> columns = randomList(noCols, noCols, this::randomColumnInfo);
         int noPages = randomIntBetween(1, 20);
         List<Page> values = randomList(noPages, noPages, () -> randomPage(columns));
+        if (async) {
+            String id = randomBoolean() ? null : randomAlphaOfLength(10);
+            return new EsqlQueryResponse(columns, values, columnar, id, randomBoolean(), true);
+        }
         return new EsqlQueryResponse(columns, values, columnar);
     }
 
@@ -126,15 +135,45 @@ public class EsqlQueryResponseTests extends AbstractChunkedSerializingTestCase<E
                 allNull = false;
             }
         }
-        return switch (allNull ? between(0, 1) : between(0, 2)) {
+        return switch (allNull ? randomFrom(0, 1, 3) : between(0, 3)) {
             case 0 -> {
                 int mutCol = between(0, instance.columns().size() - 1);
                 List<ColumnInfo> cols = new ArrayList<>(instance.columns());
                 // keep the type the same so the values are still valid but change the name
                 cols.set(mutCol, new ColumnInfo(cols.get(mutCol).name() + "mut", cols.get(mutCol).type()));
-                yield new EsqlQueryResponse(cols, deepCopyOfPages(instance), instance.columnar());
+                yield withAsync(instance, cols, deepCopyOfPages(instance), instance.columnar());
+            }
+            case 1 -> withAsync(instance, instance.columns(), deepCopyOfPages(instance), false == instance.columnar());
+            case 3 -> {
+                String id = instance.asyncExecutionId().orElse(null);
+                yield switch (between(0, 2)) {
+                    case 0 -> new EsqlQueryResponse(
+                        instance.columns(),
+                        deepCopyOfPages(instance),
+                        instance.columnar(),
+                        randomValueOtherThan(id, () -> randomBoolean() ? null : randomAlphaOfLength(10)),
+                        instance.isRunning(),
+                        instance.isAsync()
+                    );
+                    case 1 -> new EsqlQueryResponse(
+                        instance.columns(),
+                        deepCopyOfPages(instance),
+                        instance.columnar(),
+                        id,
+                        false == instance.isRunning(),
+                        instance.isAsync()
+                    );
+                    case 2 -> new EsqlQueryResponse(
+                        instance.columns(),
+                        deepCopyOfPages(instance),
+                        instance.columnar(),
+                        id,
+                        instance.isRunning(),
+                        false == instance.isAsync()
+                    );
+                    default -> throw new IllegalArgumentException();
+                };
             }
-            case 1 -> new EsqlQueryResponse(instance.columns(), deepCopyOfPages(instance), false == instance.columnar());
             case 2 -> {
                 int noPages = instance.pages().size();
                 List<Page> differentPages = List.of();
@@ -142,12 +181,23 @@ public class EsqlQueryResponseTests extends AbstractChunkedSerializingTestCase<E
                     differentPages.forEach(p -> Releasables.closeExpectNoException(p::releaseBlocks));
                     differentPages = randomList(noPages, noPages, () -> randomPage(instance.columns()));
                 } while (differentPages.equals(instance.pages()));
-                yield new EsqlQueryResponse(instance.columns(), differentPages, instance.columnar());
+                yield withAsync(instance, instance.columns(), differentPages, instance.columnar());
             }
             default -> throw new IllegalArgumentException();
         };
     }
 
+    private static EsqlQueryResponse withAsync(EsqlQueryResponse instance, List<ColumnInfo> columns, List<Page> pages, boolean columnar) {
+        return new EsqlQueryResponse(
+            columns,
+            pages,
+            columnar,
+            instance.asyncExecutionId().orElse(null),
+            instance.isRunning(),
+            instance.isAsync()
+        );
+    }
+
     private List<Page> deepCopyOfPages(EsqlQueryResponse response) {
         List<Page> deepCopiedPages = new ArrayList<>(response.pages().size());
         for (Page p : response.pages()) {
@@ -200,6 +250,42 @@ public class EsqlQueryResponseTests extends AbstractChunkedSerializingTestCase<E
         }
     }
 
+    public void testAsyncXContent() {
+        try (
+            EsqlQueryResponse response = new EsqlQueryResponse(
+                List.of(new ColumnInfo("foo", "integer")),
+                List.of(new Page(new IntArrayVector(new int[] { 40, 80 }, 2).asBlock())),
+                false,
+                "abc",
+                false,
+                true
+            )
+        ) {
+            assertThat(Strings.toString(response), equalTo("""
+                {"id":"abc","is_running":false,"columns":[{"name":"foo","type":"integer"}],"values":[[40],[80]]}"""));
+        }
+    }
+
+    public void testAsyncRunningXContent() {
+        try (EsqlQueryResponse response = new EsqlQueryResponse(List.of(), List.of(), false, "abc", true, true)) {
+            assertThat(Strings.toString(response), equalTo("""
+                {"id":"abc","is_running":true,"columns":[],"values":[]}"""));
+        }
+    }
+
+    public void testReleasesPagesOnLastReference() {
+        EsqlQueryResponse response = randomResponse(randomBoolean(), true);
+        long used = blockFactory.breaker().getUsed();
+        assertThat(used, greaterThan(0L));
+        response.incRef();
+        response.close();
+        assertTrue(response.hasReferences());
+        assertThat(blockFactory.breaker().getUsed(), equalTo(used));
+        response.close();
+        assertFalse(response.hasReferences());
+        assertThat(blockFactory.breaker().getUsed(), equalTo(0L));
+    }
+
     private EsqlQueryResponse simple(boolean columnar) {
         return new EsqlQueryResponse(
             List.of(new ColumnInfo("foo", "integer")),
@@ -97,6 +97,7 @@ import static org.elasticsearch.xpack.ql.expression.Expressions.names;
 import static org.elasticsearch.xpack.ql.expression.Order.OrderDirection.ASC;
 import static org.elasticsearch.xpack.ql.expression.function.scalar.FunctionTestUtils.l;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -510,6 +511,60 @@ public class PhysicalPlanOptimizerTests extends ESTestCase {
         assertThat(source.estimatedRowSize(), equalTo(Integer.BYTES + KEYWORD_EST));
     }
 
+    public void testDoNotExtractManyKeywordGroupingFields() {
+        var plan = physicalPlan("""
+            from test
+            | stats x = sum(salary) by first_name, last_name
+            """);
+
+        var optimized = optimizedPlan(plan);
+        var limit = as(optimized, LimitExec.class);
+        var aggregate = as(limit.child(), AggregateExec.class);
+        assertThat(aggregate.groupings(), hasSize(2));
+
+        var exchange = asRemoteExchange(aggregate.child());
+        aggregate = as(exchange.child(), AggregateExec.class);
+        assertThat(aggregate.groupings(), hasSize(2));
+
+        var extract = as(aggregate.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), equalTo(List.of("salary")));
+    }
+
+    public void testExtractManyGroupingFieldsIfNotAllKeywords() {
+        var plan = physicalPlan("""
+            from test
+            | stats x = sum(salary) by first_name, emp_no
+            """);
+
+        var optimized = optimizedPlan(plan);
+        var limit = as(optimized, LimitExec.class);
+        var aggregate = as(limit.child(), AggregateExec.class);
+        assertThat(aggregate.groupings(), hasSize(2));
+
+        var exchange = asRemoteExchange(aggregate.child());
+        aggregate = as(exchange.child(), AggregateExec.class);
+        assertThat(aggregate.groupings(), hasSize(2));
+
+        var extract = as(aggregate.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), containsInAnyOrder("salary", "first_name", "emp_no"));
+    }
+
+    public void testExtractManyGroupingFieldsIfAggd() {
+        var plan = physicalPlan("""
+            from test
+            | stats x = count(first_name) by first_name, last_name
+            """);
+
+        var optimized = optimizedPlan(plan);
+        var limit = as(optimized, LimitExec.class);
+        var aggregate = as(limit.child(), AggregateExec.class);
+        var exchange = asRemoteExchange(aggregate.child());
+        aggregate = as(exchange.child(), AggregateExec.class);
+
+        var extract = as(aggregate.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), containsInAnyOrder("first_name", "last_name"));
+    }
+
     public void testQueryWithAggregation() {
         var plan = physicalPlan("""
             from test
@@ -1039,6 +1094,37 @@ public class PhysicalPlanOptimizerTests extends ESTestCase {
         assertThat(source.estimatedRowSize(), equalTo(allFieldRowSize + Integer.BYTES * 2));
     }
 
+    /**
+     * Expected
+     * TopNExec[[Order[salary{f}#12,ASC,LAST]],10[INTEGER]]
+     * \_ExchangeExec[]
+     *   \_ProjectExec[[_meta_field{f}#13, emp_no{f}#7, first_name{f}#8, ..., x{r}#4]]
+     *     \_FieldExtractExec[_meta_field{f}#13, first_name{f}#8, ..]
+     *       \_EvalExec[[emp_no{f}#7 + 1[INTEGER] AS x]]
+     *         \_FieldExtractExec[emp_no{f}#7]
+     *           \_EsQueryExec[test], query[][_doc{f}#16], limit[10], sort[[salary]]
+     */
+    public void testEvalAfterTopNOnDataNode() throws Exception {
+        var optimized = optimizedPlan(physicalPlan("""
+            from test
+            | eval x = emp_no + 1
+            | sort salary
+            | limit 10
+            """));
+
+        var topN = as(optimized, TopNExec.class);
+        var exchange = asRemoteExchange(topN.child());
+        var project = as(exchange.child(), ProjectExec.class);
+        var extractRest = as(project.child(), FieldExtractExec.class);
+        var eval = as(extractRest.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("x"));
+        var extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("emp_no"));
+        var source = source(extract.child());
+        assertThat(source.limit(), is(topN.limit()));
+        assertThat(source.sorts(), is(sorts(topN.order())));
+    }
+
     public void testQueryJustWithLimit() throws Exception {
         var optimized = optimizedPlan(physicalPlan("""
             from test
@@ -22,6 +22,7 @@ import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.HashAggregationOperator;
+import org.elasticsearch.compute.operator.MultiKeyOrdinalsGroupingOperator;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.OrdinalsGroupingOperator;
 import org.elasticsearch.compute.operator.SourceOperator;
@@ -75,17 +76,17 @@ public class TestPhysicalOperationProviders extends AbstractPhysicalOperationPro
         PhysicalOperation source,
         AggregateExec aggregateExec,
         List<GroupingAggregator.Factory> aggregatorFactories,
-        Attribute attrSource,
-        ElementType groupElementType,
+        List<Attribute> attrSources,
+        List<ElementType> groupElementTypes,
         LocalExecutionPlannerContext context
     ) {
         int channelIndex = source.layout.numberOfChannels();
         return new TestOrdinalsGroupingAggregationOperatorFactory(
             channelIndex,
             aggregatorFactories,
-            groupElementType,
+            groupElementTypes,
             context.bigArrays(),
-            attrSource.name()
+            attrSources.stream().map(Attribute::name).toList()
         );
     }
 
@@ -208,47 +209,50 @@ public class TestPhysicalOperationProviders extends AbstractPhysicalOperationPro
 
     private class TestHashAggregationOperator extends HashAggregationOperator {
 
-        private final String columnName;
+        private final List<String> columnNames;
 
         TestHashAggregationOperator(
             List<GroupingAggregator.Factory> aggregators,
             Supplier<BlockHash> blockHash,
-            String columnName,
+            List<String> columnNames,
             DriverContext driverContext
         ) {
             super(aggregators, blockHash, driverContext);
-            this.columnName = columnName;
+            this.columnNames = columnNames;
         }
 
         @Override
         protected Page wrapPage(Page page) {
-            return page.appendBlock(extractBlockForColumn(page, columnName));
+            for (String columnName : columnNames) {
+                page = page.appendBlock(extractBlockForColumn(page, columnName));
+            }
+            return page;
         }
     }
 
     /**
-     * Pretends to be the {@link OrdinalsGroupingOperator} but always delegates to the
-     * {@link HashAggregationOperator}.
+     * Pretends to be the {@link OrdinalsGroupingOperator} or the {@link MultiKeyOrdinalsGroupingOperator}
+     * but always delegates to the {@link HashAggregationOperator}.
      */
     private class TestOrdinalsGroupingAggregationOperatorFactory implements Operator.OperatorFactory {
         private int groupByChannel;
         private List<GroupingAggregator.Factory> aggregators;
-        private ElementType groupElementType;
+        private List<ElementType> groupElementTypes;
         private BigArrays bigArrays;
-        private String columnName;
+        private List<String> columnNames;
 
         TestOrdinalsGroupingAggregationOperatorFactory(
             int channelIndex,
             List<GroupingAggregator.Factory> aggregatorFactories,
-            ElementType groupElementType,
+            List<ElementType> groupElementTypes,
             BigArrays bigArrays,
-            String name
+            List<String> names
         ) {
             this.groupByChannel = channelIndex;
             this.aggregators = aggregatorFactories;
-            this.groupElementType = groupElementType;
+            this.groupElementTypes = groupElementTypes;
             this.bigArrays = bigArrays;
-            this.columnName = name;
+            this.columnNames = names;
         }
 
         @Override
@@ -258,12 +262,14 @@ public class TestPhysicalOperationProviders extends AbstractPhysicalOperationPro
             return new TestHashAggregationOperator(
                 aggregators,
                 () -> BlockHash.build(
-                    List.of(new HashAggregationOperator.GroupSpec(groupByChannel, groupElementType)),
+                    IntStream.range(0, groupElementTypes.size())
+                        .mapToObj(i -> new HashAggregationOperator.GroupSpec(groupByChannel + i, groupElementTypes.get(i)))
+                        .toList(),
                     driverContext,
                     pageSize,
                     false
                 ),
-                columnName,
+                columnNames,
                 driverContext
             );
         }
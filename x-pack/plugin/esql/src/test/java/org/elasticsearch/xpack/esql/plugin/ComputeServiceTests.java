@@ -0,0 +1,51 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.plugin;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.TransportVersions;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.TransportVersionUtils;
+import org.elasticsearch.transport.Transport;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ComputeServiceTests extends ESTestCase {
+
+    public void testClusterComputeSupported() {
+        TransportVersion version = TransportVersionUtils.randomVersionBetween(
+            random(),
+            TransportVersions.ESQL_CLUSTER_COMPUTE,
+            TransportVersion.current()
+        );
+        ComputeService.ensureClusterComputeSupported("remote", connection(version));
+    }
+
+    public void testClusterComputeUnsupported() {
+        TransportVersion version = TransportVersionUtils.randomVersionBetween(
+            random(),
+            TransportVersions.MINIMUM_COMPATIBLE,
+            TransportVersionUtils.getPreviousVersion(TransportVersions.ESQL_CLUSTER_COMPUTE)
+        );
+        String clusterAlias = randomAlphaOfLength(5);
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> ComputeService.ensureClusterComputeSupported(clusterAlias, connection(version))
+        );
+        assertThat(e.getMessage(), containsString("remote cluster [" + clusterAlias + "]"));
+        assertThat(e.getMessage(), containsString("doesn't support ES|QL queries across clusters"));
+    }
+
+    private static Transport.Connection connection(TransportVersion version) {
+        Transport.Connection connection = mock(Transport.Connection.class);
+        when(connection.getTransportVersion()).thenReturn(version);
+        return connection;
+    }
+}
@@ -10,7 +10,11 @@ package org.elasticsearch.xpack.esql.stats;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.fieldcaps.FieldCapabilities;
 import org.elasticsearch.action.fieldcaps.FieldCapabilitiesResponse;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.client.internal.Client;
+import org.elasticsearch.common.logging.HeaderWarning;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -19,14 +23,19 @@ import org.elasticsearch.xpack.esql.action.EsqlQueryRequest;
 import org.elasticsearch.xpack.esql.analysis.VerificationException;
 import org.elasticsearch.xpack.esql.enrich.EnrichPolicyResolver;
 import org.elasticsearch.xpack.esql.execution.PlanExecutor;
+import org.elasticsearch.xpack.esql.plan.physical.FragmentExec;
 import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.esql.session.EsqlConfiguration;
+import org.elasticsearch.xpack.esql.session.PlanCache;
 import org.elasticsearch.xpack.esql.type.EsqlDataTypeRegistry;
+import org.elasticsearch.xpack.ql.expression.function.scalar.ConfigurationFunction;
 import org.elasticsearch.xpack.ql.index.IndexResolver;
 import org.junit.After;
 import org.junit.Before;
 import org.mockito.stubbing.Answer;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +43,8 @@ import java.util.Set;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static org.elasticsearch.xpack.esql.EsqlTestUtils.withDefaultLimitWarning;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
@@ -43,14 +54,18 @@ import static org.mockito.Mockito.when;
 public class PlanExecutorMetricsTests extends ESTestCase {
 
     private ThreadPool threadPool;
+    private ThreadContext threadContext;
 
     @Before
     public void setUpThreadPool() throws Exception {
         threadPool = new TestThreadPool(PlanExecutorMetricsTests.class.getSimpleName());
+        threadContext = new ThreadContext(Settings.EMPTY);
+        HeaderWarning.setThreadContext(threadContext);
     }
 
     @After
     public void shutdownThreadPool() throws Exception {
+        HeaderWarning.removeThreadContext(threadContext);
         terminate(threadPool);
     }
 
@@ -58,20 +73,8 @@ public class PlanExecutorMetricsTests extends ESTestCase {
         Client client = mock(Client.class);
         IndexResolver idxResolver = new IndexResolver(client, randomAlphaOfLength(10), EsqlDataTypeRegistry.INSTANCE, Set::of);
         var planExecutor = new PlanExecutor(idxResolver);
-        String[] indices = new String[] { "test" };
-        EnrichPolicyResolver enrichResolver = mock(EnrichPolicyResolver.class);
-        when(enrichResolver.allPolicyNames()).thenReturn(Set.of());
-
-        // simulate a valid field_caps response so we can parse and correctly analyze de query
-        FieldCapabilitiesResponse fieldCapabilitiesResponse = mock(FieldCapabilitiesResponse.class);
-        when(fieldCapabilitiesResponse.getIndices()).thenReturn(indices);
-        when(fieldCapabilitiesResponse.get()).thenReturn(fields(indices));
-        doAnswer((Answer<Void>) invocation -> {
-            @SuppressWarnings("unchecked")
-            ActionListener<FieldCapabilitiesResponse> listener = (ActionListener<FieldCapabilitiesResponse>) invocation.getArguments()[1];
-            listener.onResponse(fieldCapabilitiesResponse);
-            return null;
-        }).when(client).fieldCaps(any(), any());
+        EnrichPolicyResolver enrichResolver = mockEnrichResolver();
+        mockFieldCaps(client);
 
         var request = new EsqlQueryRequest();
         // test a failed query: xyz field doesn't exist
@@ -111,6 +114,146 @@ public class PlanExecutorMetricsTests extends ESTestCase {
         assertEquals(1, planExecutor.metrics().stats().get("features.stats"));
     }
 
+    public void testPlanCache() {
+        Client client = mock(Client.class);
+        IndexResolver idxResolver = new IndexResolver(client, randomAlphaOfLength(10), EsqlDataTypeRegistry.INSTANCE, Set::of);
+        var planExecutor = new PlanExecutor(idxResolver, new PlanCache(10, threadContext));
+        EnrichPolicyResolver enrichResolver = mockEnrichResolver();
+        mockFieldCaps(client);
+
+        var request = new EsqlQueryRequest();
+        request.query("from test | stats m = max(foo)");
+        PhysicalPlan first = plan(planExecutor, request, enrichResolver);
+        assertThat(planExecutor.planCache().count(), equalTo(1));
+
+        PhysicalPlan second = plan(planExecutor, request, enrichResolver);
+        assertThat(planExecutor.planCache().count(), equalTo(1));
+        assertThat(second, equalTo(first));
+        // the cached plan still counts towards the usage metrics
+        assertEquals(2, planExecutor.metrics().stats().get("features.stats"));
+        assertEquals(2, planExecutor.metrics().stats().get("queries._all.total"));
+
+        // whitespace moves the plan's sources so it makes a new plan
+        request.query(" from test | stats m = max(foo)\n");
+        plan(planExecutor, request, enrichResolver);
+        assertThat(planExecutor.planCache().count(), equalTo(2));
+
+        // plans that depend on the current time aren't cached
+        request.query("from test | eval n = now() | stats m = max(foo) by n");
+        plan(planExecutor, request, enrichResolver);
+        assertThat(planExecutor.planCache().count(), equalTo(2));
+    }
+
+    public void testPlanCacheAddsWarnings() {
+        Client client = mock(Client.class);
+        IndexResolver idxResolver = new IndexResolver(client, randomAlphaOfLength(10), EsqlDataTypeRegistry.INSTANCE, Set::of);
+        var planExecutor = new PlanExecutor(idxResolver, new PlanCache(10, threadContext));
+        EnrichPolicyResolver enrichResolver = mockEnrichResolver();
+        mockFieldCaps(client);
+
+        var request = new EsqlQueryRequest();
+        request.query("from test | stats m = max(foo)");
+        String warning = "No limit defined, adding default limit of [" + EsqlTestUtils.TEST_CFG.resultTruncationDefaultSize() + "]";
+        for (int i = 0; i < 2; i++) {
+            try (var ignored = threadContext.stashContext()) {
+                plan(planExecutor, request, enrichResolver);
+                List<String> warnings = threadContext.getResponseHeaders()
+                    .get("Warning")
+                    .stream()
+                    .map(w -> HeaderWarning.extractWarningValueFromWarningHeader(w, false))
+                    .toList();
+                assertThat(warnings, contains(warning));
+            }
+        }
+        assertThat(planExecutor.planCache().count(), equalTo(1));
+    }
+
+    public void testPlanCacheWithTwoUsers() {
+        Client client = mock(Client.class);
+        IndexResolver idxResolver = new IndexResolver(client, randomAlphaOfLength(10), EsqlDataTypeRegistry.INSTANCE, Set::of);
+        var planExecutor = new PlanExecutor(idxResolver, new PlanCache(10, threadContext));
+        EnrichPolicyResolver enrichResolver = mockEnrichResolver();
+        mockFieldCaps(client);
+
+        // plans that don't contain the configuration are shared
+        var request = new EsqlQueryRequest();
+        request.query("from test | stats m = max(foo)");
+        PhysicalPlan first = plan(planExecutor, request, configuration("alice"), enrichResolver);
+        PhysicalPlan second = plan(planExecutor, request, configuration("bob"), enrichResolver);
+        assertThat(second, equalTo(first));
+        assertThat(planExecutor.planCache().count(), equalTo(1));
+
+        // plans that contain the configuration, and so the user, aren't cached
+        request.query("from test | eval d = date_format(to_datetime(bar)) | stats m = max(foo) by d");
+        assertThat(configurationUsers(plan(planExecutor, request, configuration("alice"), enrichResolver)), contains("alice"));
+        assertThat(configurationUsers(plan(planExecutor, request, configuration("bob"), enrichResolver)), contains("bob"));
+        assertThat(planExecutor.planCache().count(), equalTo(1));
+    }
+
+    private PhysicalPlan plan(PlanExecutor planExecutor, EsqlQueryRequest request, EnrichPolicyResolver enrichResolver) {
+        return plan(planExecutor, request, EsqlTestUtils.TEST_CFG, enrichResolver);
+    }
+
+    private PhysicalPlan plan(
+        PlanExecutor planExecutor,
+        EsqlQueryRequest request,
+        EsqlConfiguration configuration,
+        EnrichPolicyResolver enrichResolver
+    ) {
+        PlainActionFuture<PhysicalPlan> future = new PlainActionFuture<>();
+        planExecutor.esql(request, randomAlphaOfLength(10), configuration, enrichResolver, future);
+        return future.actionGet();
+    }
+
+    private static EsqlConfiguration configuration(String username) {
+        EsqlConfiguration cfg = EsqlTestUtils.TEST_CFG;
+        return new EsqlConfiguration(
+            cfg.zoneId(),
+            cfg.locale(),
+            username,
+            cfg.clusterName(),
+            cfg.pragmas(),
+            cfg.resultTruncationMaxSize(),
+            cfg.resultTruncationDefaultSize(),
+            cfg.query()
+        );
+    }
+
+    /**
+     * The users of the configurations in the plan, including the fragments sent to the data nodes.
+     */
+    private static Set<String> configurationUsers(PhysicalPlan plan) {
+        Set<String> users = new HashSet<>();
+        plan.forEachExpressionDown(ConfigurationFunction.class, f -> users.add(f.configuration().username()));
+        plan.forEachDown(
+            FragmentExec.class,
+            f -> f.fragment().forEachExpressionDown(ConfigurationFunction.class, c -> users.add(c.configuration().username()))
+        );
+        return users;
+    }
+
+    private EnrichPolicyResolver mockEnrichResolver() {
+        EnrichPolicyResolver enrichResolver = mock(EnrichPolicyResolver.class);
+        when(enrichResolver.allPolicyNames()).thenReturn(Set.of());
+        return enrichResolver;
+    }
+
+    /**
+     * Simulate a valid field_caps response so we can parse and correctly analyze the query.
+     */
+    private void mockFieldCaps(Client client) {
+        String[] indices = new String[] { "test" };
+        FieldCapabilitiesResponse fieldCapabilitiesResponse = mock(FieldCapabilitiesResponse.class);
+        when(fieldCapabilitiesResponse.getIndices()).thenReturn(indices);
+        when(fieldCapabilitiesResponse.get()).thenReturn(fields(indices));
+        doAnswer((Answer<Void>) invocation -> {
+            @SuppressWarnings("unchecked")
+            ActionListener<FieldCapabilitiesResponse> listener = (ActionListener<FieldCapabilitiesResponse>) invocation.getArguments()[1];
+            listener.onResponse(fieldCapabilitiesResponse);
+            return null;
+        }).when(client).fieldCaps(any(), any());
+    }
+
     private Map<String, Map<String, FieldCapabilities>> fields(String[] indices) {
         FieldCapabilities fooField = new FieldCapabilities("foo", "integer", false, true, true, indices, null, null, emptyMap());
         FieldCapabilities barField = new FieldCapabilities("bar", "long", false, true, true, indices, null, null, emptyMap());
@@ -233,8 +233,12 @@ public class AsyncTaskManagementService<
                     acquiredListener.onResponse(response);
                 }
             } else {
-                // We finished after timeout - saving results
-                storeResults(searchTask, new StoredAsyncResponse<>(response, threadPool.absoluteTimeInMillis() + keepAlive.getMillis()));
+                // We finished after timeout - saving results and releasing them once they are stored
+                storeResults(
+                    searchTask,
+                    new StoredAsyncResponse<>(response, threadPool.absoluteTimeInMillis() + keepAlive.getMillis()),
+                    ActionListener.running(response::decRef)
+                );
             }
         }, e -> {
             ActionListener<Response> acquiredListener = exclusiveListener.getAndSet(null);
@@ -304,6 +308,9 @@ public class AsyncTaskManagementService<
             taskManager.unregister(searchTask);
             searchTask.onFailure(exc);
             logger.error(() -> "failed to store eql search results for [" + searchTask.getExecutionId().getEncoded() + "]", exc);
+            if (finalListener != null) {
+                finalListener.onFailure(exc);
+            }
         }
     }
 
@@ -325,10 +332,11 @@ public class AsyncTaskManagementService<
                     threadPool,
                     timeout,
                     threadPool.executor(ThreadPool.Names.SEARCH),
-                    ActionListener.wrap(
-                        r -> listener.onResponse(new StoredAsyncResponse<>(r, task.getExpirationTimeMillis())),
-                        e -> listener.onResponse(new StoredAsyncResponse<>(e, task.getExpirationTimeMillis()))
-                    ),
+                    ActionListener.wrap(r -> {
+                        // the task hands the same response to every waiting listener, each one gets its own reference
+                        r.incRef();
+                        listener.onResponse(new StoredAsyncResponse<>(r, task.getExpirationTimeMillis()));
+                    }, e -> listener.onResponse(new StoredAsyncResponse<>(e, task.getExpirationTimeMillis()))),
                     wrapper -> {
                         // Timeout was triggered
                         task.removeCompletionListener(wrapper);
@@ -109,7 +109,11 @@ public abstract class AbstractTransportQlAsyncGetResultsAction<Response extends
                 node,
                 actionName,
                 request,
-                new ActionListenerResponseHandler<>(listener, responseReader(), EsExecutors.DIRECT_EXECUTOR_SERVICE)
+                // the transport layer releases the response once it's been handled so the listener needs its own reference
+                new ActionListenerResponseHandler<>(listener.delegateFailure((l, r) -> {
+                    r.incRef();
+                    l.onResponse(r);
+                }), responseReader(), EsExecutors.DIRECT_EXECUTOR_SERVICE)
             );
         }
     }
@@ -15,6 +15,8 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskId;
@@ -36,12 +38,14 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.elasticsearch.xpack.ql.async.AsyncTaskManagementService.addCompletionListener;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class AsyncTaskManagementServiceTests extends ESSingleNodeTestCase {
     private ClusterService clusterService;
@@ -84,6 +88,38 @@ public class AsyncTaskManagementServiceTests extends ESSingleNodeTestCase {
         }
     }
 
+    /**
+     * A response that holds resources, like the pages of an ES|QL response, and records when they are released.
+     */
+    public static class RefCountedTestResponse extends TestResponse {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final RefCounted refCounted = AbstractRefCounted.of(() -> assertTrue(released.compareAndSet(false, true)));
+
+        public RefCountedTestResponse(String string, String id) {
+            super(string, id);
+        }
+
+        @Override
+        public void incRef() {
+            refCounted.incRef();
+        }
+
+        @Override
+        public boolean tryIncRef() {
+            return refCounted.tryIncRef();
+        }
+
+        @Override
+        public boolean decRef() {
+            return refCounted.decRef();
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return refCounted.hasReferences();
+        }
+    }
+
     public static class TestTask extends StoredAsyncTask<TestResponse> {
         public volatile AtomicReference<TestResponse> finalResponse = new AtomicReference<>();
 
@@ -326,6 +362,64 @@ public class AsyncTaskManagementServiceTests extends ESSingleNodeTestCase {
         }
     }
 
+    public void testReleasesResponseStoredAfterTimeout() throws Exception {
+        CountDownLatch executionLatch = new CountDownLatch(1);
+        AtomicReference<RefCountedTestResponse> finalResponse = new AtomicReference<>();
+        AsyncTaskManagementService<TestRequest, TestResponse, TestTask> service = createManagementService(new TestOperation() {
+            @Override
+            public void execute(TestRequest request, TestTask task, ActionListener<TestResponse> listener) {
+                executorService.submit(() -> {
+                    try {
+                        assertThat(executionLatch.await(10, TimeUnit.SECONDS), equalTo(true));
+                    } catch (InterruptedException ex) {
+                        fail("Shouldn't be here");
+                    }
+                    RefCountedTestResponse response = new RefCountedTestResponse("response", task.getExecutionId().getEncoded());
+                    finalResponse.set(response);
+                    listener.onResponse(response);
+                });
+            }
+        });
+        boolean waitForCompletion = randomBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<TestResponse> responseHolder = new AtomicReference<>();
+        service.asyncExecute(
+            new TestRequest(randomAlphaOfLength(10)),
+            TimeValue.timeValueMillis(1),
+            TimeValue.timeValueMinutes(10),
+            randomBoolean(),
+            ActionTestUtils.assertNoFailureListener(r -> {
+                assertThat(responseHolder.getAndSet(r), nullValue());
+                latch.countDown();
+            })
+        );
+        assertThat(latch.await(20, TimeUnit.SECONDS), equalTo(true));
+
+        if (waitForCompletion) {
+            AtomicReference<StoredAsyncResponse<TestResponse>> responseRef = new AtomicReference<>();
+            CountDownLatch getResponseCountDown = getResponse(
+                responseHolder.get().id,
+                TimeValue.timeValueSeconds(5),
+                ActionTestUtils.assertNoFailureListener(responseRef::set)
+            );
+            executionLatch.countDown();
+            assertThat(getResponseCountDown.await(10, TimeUnit.SECONDS), equalTo(true));
+
+            // the waiting request owns a reference so the response is only released once it has been sent
+            StoredAsyncResponse<TestResponse> response = responseRef.get();
+            assertThat(response.getResponse(), sameInstance(finalResponse.get()));
+            assertThat(finalResponse.get().released.get(), equalTo(false));
+            response.decRef();
+        } else {
+            executionLatch.countDown();
+        }
+
+        assertBusy(() -> {
+            assertThat(finalResponse.get(), notNullValue());
+            assertThat(finalResponse.get().released.get(), equalTo(true));
+        });
+    }
+
     private StoredAsyncResponse<TestResponse> getResponse(String id, TimeValue timeout) throws InterruptedException {
         AtomicReference<StoredAsyncResponse<TestResponse>> response = new AtomicReference<>();
         assertThat(
@@ -491,6 +491,7 @@ public class Constants {
         "indices:data/read/eql",
         "indices:data/read/eql/async/get",
         "indices:data/read/esql",
+        "indices:data/read/esql/async/get",
         "indices:data/read/explain",
         "indices:data/read/field_caps",
         "indices:data/read/get",